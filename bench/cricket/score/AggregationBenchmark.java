@@ -0,0 +1,85 @@
+package cricket.score;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cricket.Player;
+
+/**
+ * A team's runs and a bowler's legal deliveries summed over every delivery of the data set: with
+ * streams over the scores, as the score board once did, and with {@link DeliveryAggregates} on the
+ * scalar and the Vector API kernels. The fork adds the incubator module, so the vector kernel needs
+ * the {@code vector} source root compiled onto the benchmark class path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class AggregationBenchmark {
+
+	@Param({ "SEASON", "TEN_SEASONS" })
+	public SyntheticMatches.Size size;
+
+	private List<Score> scores;
+	private DeliveryAggregates scalar;
+	private DeliveryAggregates vector;
+	private Player bowler;
+	private String team;
+
+	@Setup
+	public void setup() {
+		scores = SyntheticMatches.scores(size);
+		DeliveryColumns columns = DeliveryColumns.of(scores);
+		scalar = new DeliveryAggregates(columns, AggregationKernel.SCALAR);
+		vector = new DeliveryAggregates(columns, AggregationKernel.best());
+		bowler = scores.get(0).getBowler();
+		team = scores.get(0).getBattingTeamName();
+	}
+
+	@Benchmark
+	public int teamRunsStream() {
+		return scores.stream()
+				.filter(score -> score.getBattingTeamName().equals(team))
+				.mapToInt(score -> score.getRuns() + score.getExtraRuns())
+				.sum();
+	}
+
+	@Benchmark
+	public int teamRunsScalar() {
+		return scalar.getTeamRuns(team);
+	}
+
+	@Benchmark
+	public int teamRunsVector() {
+		return vector.getTeamRuns(team);
+	}
+
+	@Benchmark
+	public long bowlerDeliveriesStream() {
+		return scores.stream()
+				.filter(Score::isNonExtraDelivery)
+				.filter(score -> bowler.equals(score.getBowler()))
+				.count();
+	}
+
+	@Benchmark
+	public int bowlerDeliveriesScalar() {
+		return scalar.getDeliveries(bowler);
+	}
+
+	@Benchmark
+	public int bowlerDeliveriesVector() {
+		return vector.getDeliveries(bowler);
+	}
+
+}
@@ -0,0 +1,34 @@
+package cricket.score;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler, so allocation rates are reported next to throughput.
+ * The benchmark sources need jmh-core and the jmh-generator-annprocess annotation processor on the
+ * compile class path; {@code bench/run.sh} compiles them, with the {@code vector} source root, and runs
+ * this class. Arguments are regular expressions selecting benchmarks; by default all run.
+ */
+public class Benchmarks {
+
+	public static void main(String[] args) throws RunnerException {
+		OptionsBuilder options = new OptionsBuilder();
+		if(args.length == 0) {
+			options.include(Benchmarks.class.getPackage().getName() + ".*Benchmark");
+		}
+		for(String include : args) {
+			options.include(include);
+		}
+		Options built = options
+				.addProfiler(GCProfiler.class)
+				.forks(1)
+				.warmupIterations(3)
+				.measurementIterations(5)
+				.build();
+		new Runner(built).run();
+	}
+
+}
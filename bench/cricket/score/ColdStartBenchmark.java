@@ -0,0 +1,70 @@
+package cricket.score;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import cricket.Player;
+
+/**
+ * Time from a file on disk to the first man of the match, from the CSV text read on one thread or
+ * many, and from a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ColdStartBenchmark {
+
+	@Param({ "SEASON", "TEN_SEASONS" })
+	public SyntheticMatches.Size size;
+
+	private Path csv;
+	private Path snapshot;
+
+	@Setup
+	public void setup() throws IOException {
+		csv = Files.createTempFile("scores", ".txt");
+		Files.write(csv, SyntheticMatches.bytes(size));
+		snapshot = Files.createTempFile("scores", ".snapshot");
+		DeliverySnapshot.write(DeliveryColumns.of(SyntheticMatches.scores(size)), snapshot);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(csv);
+		Files.delete(snapshot);
+	}
+
+	@Benchmark
+	public Set<Player> fromCsv() {
+		try (Stream<Score> scores = ScoreReader.stream(csv)) {
+			return new ScoreBoard(scores).getManOfMatch();
+		}
+	}
+
+	@Benchmark
+	public Set<Player> fromCsvInParallel() {
+		return new ScoreBoard(DeliveryColumns.concat(ParallelScoreReader.readColumns(csv, ForkJoinPool.commonPool())))
+				.getManOfMatch();
+	}
+
+	@Benchmark
+	public Set<Player> fromSnapshot() {
+		return DeliverySnapshot.load(snapshot).toScoreBoard().getManOfMatch();
+	}
+
+}
@@ -0,0 +1,73 @@
+package cricket.score;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parsing and ingest of delivery lines. Each operation handles every delivery of the data set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ParsingBenchmark {
+
+	@Param({ "T20", "SEASON", "TEN_SEASONS" })
+	public SyntheticMatches.Size size;
+
+	private List<String> lines;
+	private byte[][] lineBytes;
+	private byte[] file;
+
+	@Setup
+	public void setup() {
+		lines = SyntheticMatches.lines(size);
+		lineBytes = new byte[lines.size()][];
+		for(int i = 0; i < lines.size(); i++) {
+			lineBytes[i] = lines.get(i).getBytes(StandardCharsets.UTF_8);
+		}
+		file = SyntheticMatches.bytes(size);
+	}
+
+	@Benchmark
+	public void scoreFrom(Blackhole blackhole) {
+		for(String line : lines) {
+			blackhole.consume(Score.from(line));
+		}
+	}
+
+	@Benchmark
+	public void deliveryParser(Blackhole blackhole) {
+		DeliveryParser parser = new DeliveryParser();
+		for(byte[] line : lineBytes) {
+			blackhole.consume(parser.parse(line, 0, line.length));
+		}
+	}
+
+	@Benchmark
+	public long readerUtf8() {
+		try (Stream<Score> scores = ScoreReader.stream(new ByteArrayInputStream(file), StandardCharsets.UTF_8)) {
+			return scores.count();
+		}
+	}
+
+	@Benchmark
+	public long readerDecodingLines() {
+		try (Stream<Score> scores = ScoreReader.stream(new ByteArrayInputStream(file), StandardCharsets.ISO_8859_1)) {
+			return scores.count();
+		}
+	}
+
+}
@@ -0,0 +1,70 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import cricket.Player;
+
+/**
+ * Building a score board and the queries made of it, over all deliveries of the data set as one board.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScoreBoardBenchmark {
+
+	@Param({ "T20", "SEASON", "TEN_SEASONS" })
+	public SyntheticMatches.Size size;
+
+	private List<Score> scores;
+	private DeliveryColumns columns;
+	private ScoreBoard scoreBoard;
+	private Player player;
+	private String team;
+
+	@Setup
+	public void setup() {
+		scores = SyntheticMatches.scores(size);
+		columns = DeliveryColumns.of(scores);
+		scoreBoard = new ScoreBoard(scores);
+		player = scores.get(0).getBatsman();
+		team = scores.get(0).getBattingTeamName();
+	}
+
+	@Benchmark
+	public ScoreBoard newScoreBoard() {
+		return new ScoreBoard(scores);
+	}
+
+	@Benchmark
+	public ScoreBoard newScoreBoardOnColumns() {
+		return new ScoreBoard(columns);
+	}
+
+	@Benchmark
+	public Set<Player> manOfMatch() {
+		return scoreBoard.getManOfMatch();
+	}
+
+	@Benchmark
+	public BigDecimal matchPoints() {
+		return scoreBoard.calculateMatchPoints(player);
+	}
+
+	@Benchmark
+	public BigDecimal teamStrikeRate() {
+		return scoreBoard.getTeamStrikeRate(team);
+	}
+
+}
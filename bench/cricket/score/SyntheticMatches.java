@@ -0,0 +1,121 @@
+package cricket.score;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator of T20 style ball-by-ball data for the benchmarks. The same size always
+ * produces the same deliveries, so results are comparable between runs and between changes.
+ */
+public class SyntheticMatches {
+
+	public enum Size {
+		T20(1), SEASON(60), TEN_SEASONS(600);
+
+		private final int matches;
+
+		Size(int matches) {
+			this.matches = matches;
+		}
+
+		public int matches() {
+			return matches;
+		}
+	}
+
+	private static final String[] TEAMS = { "Kolkata Knight Riders", "Royal Challengers BLR", "Chennai Super Kings",
+			"Mumbai Indians", "Rajasthan Royals", "Delhi Daredevils", "Kings XI Punjab", "Deccan Chargers" };
+	private static final String[] EXTRAS = { "1w", "1lb", "1nb", "2b", "4lb" };
+	private static final String[] KINDS_OF_WICKET = { "bowled", "caught", "lbw", "run out", "stumped" };
+	private static final int PLAYERS_PER_TEAM = 11;
+
+	private SyntheticMatches() {
+	}
+
+	/**
+	 * The delivery lines of the given number of matches, in the format read by {@link Score#from(String)}.
+	 */
+	public static List<String> lines(Size size) {
+		Random random = new Random(size.matches());
+		List<String> lines = new ArrayList<>();
+		for(int match = 0; match < size.matches(); match++) {
+			int home = random.nextInt(TEAMS.length);
+			int away = (home + 1 + random.nextInt(TEAMS.length - 1)) % TEAMS.length;
+			innings(random, lines, 1, home, away);
+			innings(random, lines, 2, away, home);
+		}
+		return lines;
+	}
+
+	public static List<Score> scores(Size size) {
+		List<Score> scores = new ArrayList<>();
+		for(String line : lines(size)) {
+			scores.add(Score.from(line));
+		}
+		return scores;
+	}
+
+	public static byte[] bytes(Size size) {
+		StringBuilder text = new StringBuilder();
+		for(String line : lines(size)) {
+			text.append(line).append('\n');
+		}
+		return text.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	public static String player(int team, int player) {
+		return TEAMS[team] + " " + player;
+	}
+
+	private static void innings(Random random, List<String> lines, int innings, int batting, int bowling) {
+		int striker = 0;
+		int nonStriker = 1;
+		int nextBatsman = 2;
+
+		for(int over = 0; over < 20 && nextBatsman <= PLAYERS_PER_TEAM; over++) {
+			int bowler = 6 + over % 5;
+			int ball = 1;
+			while(ball <= 6 && nextBatsman <= PLAYERS_PER_TEAM) {
+				StringBuilder line = new StringBuilder();
+				line.append(innings).append(',').append(over).append('.').append(ball).append(',')
+						.append(TEAMS[batting]).append(',').append(TEAMS[bowling]).append(',')
+						.append(player(batting, striker)).append(',').append(player(batting, nonStriker)).append(',')
+						.append(player(bowling, bowler)).append(',');
+
+				if(random.nextInt(20) == 0) {
+					line.append(0).append(',').append(EXTRAS[random.nextInt(EXTRAS.length)]).append(",,,");
+					lines.add(line.toString());
+					continue;
+				}
+
+				if(random.nextInt(18) == 0) {
+					String assisting = "";
+					int kind = random.nextInt(KINDS_OF_WICKET.length);
+					if(kind == 1 || kind == 3 || kind == 4) {
+						assisting = player(bowling, random.nextInt(PLAYERS_PER_TEAM));
+					}
+					line.append(0).append(",0,").append(KINDS_OF_WICKET[kind]).append(',')
+							.append(player(batting, striker)).append(',').append(assisting);
+					striker = nextBatsman++;
+				} else {
+					int runs = random.nextInt(10);
+					runs = runs < 4 ? 0 : runs < 7 ? 1 : runs == 7 ? 2 : runs == 8 ? 4 : 6;
+					line.append(runs).append(",0,,,");
+					if(runs % 2 == 1) {
+						int swap = striker;
+						striker = nonStriker;
+						nonStriker = swap;
+					}
+				}
+				lines.add(line.toString());
+				ball++;
+			}
+			int swap = striker;
+			striker = nonStriker;
+			nonStriker = swap;
+		}
+	}
+
+}
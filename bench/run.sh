@@ -0,0 +1,31 @@
+#!/bin/sh
+# Compiles the sources and the benchmarks, then runs the benchmarks.
+#
+#   JMH=jmh-core-1.37.jar:jmh-generator-annprocess-1.37.jar:jopt-simple-5.0.4.jar:commons-math3-3.6.1.jar \
+#       bench/run.sh [regex...]
+#
+# Regular expressions select benchmarks for Benchmarks, which runs them with the GC profiler; by default
+# all run. Arguments starting with a dash go to JMH's own command line instead, for example
+#
+#   bench/run.sh AggregationBenchmark -f 1 -wi 2 -i 3 -p size=TEN_SEASONS
+#
+# jmh-generator-annprocess generates the benchmark harness while the benchmarks compile. The vector
+# source root is compiled too when the JDK has jdk.incubator.vector, so that AggregationBenchmark, whose
+# forks add the module, measures the vector kernel; without it that benchmark measures the scalar loops.
+set -e
+cd "$(dirname "$0")/.."
+: "${JMH:?set JMH to the jmh-core, jmh-generator-annprocess, jopt-simple and commons-math3 jars}"
+OUT="${OUT:-$(mktemp -d)}"
+mkdir -p "$OUT/main" "$OUT/vector" "$OUT/bench"
+javac -nowarn -d "$OUT/main" $(find src -name '*.java')
+MODULES=
+if java --add-modules jdk.incubator.vector -version >/dev/null 2>&1; then
+	javac -nowarn --add-modules jdk.incubator.vector -cp "$OUT/main" -d "$OUT/vector" $(find vector -name '*.java')
+	MODULES="--add-modules jdk.incubator.vector"
+fi
+javac -nowarn -cp "$OUT/main:$JMH" -processorpath "$JMH" -d "$OUT/bench" $(find bench -name '*.java')
+CP="$OUT/bench:$OUT/main:$OUT/vector:$JMH"
+case "$*" in
+	-*|*\ -*) exec java $MODULES -cp "$CP" org.openjdk.jmh.Main "$@" ;;
+	*) exec java $MODULES -cp "$CP" cricket.score.Benchmarks "$@" ;;
+esac
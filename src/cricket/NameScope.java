@@ -0,0 +1,110 @@
+package cricket;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Players and teams read from deliveries, each name given a dense id within the scope. The
+ * {@linkplain #global() global} scope backs {@link PlayerRegistry} and {@link TeamRegistry} and its
+ * names live as long as the JVM; a scope made with {@link #create()}, such as one per request to a
+ * service, is let go together with what was read into it.
+ * <p>
+ * Ids are only meaningful within their scope. Players of different scopes are equal when their names are.
+ */
+public final class NameScope {
+
+	private static final NameScope GLOBAL = new NameScope();
+
+	private final NameTable players = new NameTable();
+	private final NameTable teams = new NameTable();
+	private volatile Player[] canonical = new Player[256];
+
+	private NameScope() {
+	}
+
+	public static NameScope global() {
+		return GLOBAL;
+	}
+
+	public static NameScope create() {
+		return new NameScope();
+	}
+
+	/**
+	 * The canonical player with the name, registering the name in this scope.
+	 */
+	public Player player(String name) {
+		Objects.requireNonNull(name, "Player name");
+		return canonical(players.idOf(name), name);
+	}
+
+	public int playerId(String name) {
+		return name == null ? PlayerRegistry.NO_PLAYER : players.idOf(name);
+	}
+
+	/**
+	 * The id of an already known player without registering the name, or {@link PlayerRegistry#NO_PLAYER}.
+	 */
+	public int findPlayer(String name) {
+		return name == null ? PlayerRegistry.NO_PLAYER : players.find(name);
+	}
+
+	/**
+	 * The id of the player in this scope, without registering the name, whatever scope the player is of.
+	 */
+	public int findPlayer(Player player) {
+		return player.scope == this ? player.id() : findPlayer(player.name());
+	}
+
+	/**
+	 * The canonical player with the given id, or {@code null} if the id is unknown.
+	 */
+	public Player playerById(int id) {
+		if(id < 0 || id >= players.size()) {
+			return null;
+		}
+		return canonical(id, players.name(id));
+	}
+
+	private Player canonical(int id, String name) {
+		Player[] table = canonical;
+		if(id < table.length && table[id] != null) {
+			return table[id];
+		}
+		synchronized (this) {
+			table = canonical;
+			if(table.length <= id) {
+				table = Arrays.copyOf(table, Math.max(table.length * 2, id + 1));
+			}
+			if(table[id] == null) {
+				table[id] = new Player(name, id, this);
+			}
+			canonical = table;
+			return table[id];
+		}
+	}
+
+	public int playerCount() {
+		return players.size();
+	}
+
+	public int teamId(String teamName) {
+		return teams.idOf(teamName);
+	}
+
+	/**
+	 * The id of an already known team without registering it, or {@link TeamRegistry#NO_TEAM}.
+	 */
+	public int findTeam(String teamName) {
+		return teamName == null ? TeamRegistry.NO_TEAM : teams.find(teamName);
+	}
+
+	public String teamName(int teamId) {
+		return teams.name(teamId);
+	}
+
+	public int teamCount() {
+		return teams.size();
+	}
+
+}
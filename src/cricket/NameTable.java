@@ -0,0 +1,53 @@
+package cricket;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe table that gives every distinct name a dense id, starting at zero, in the order the
+ * names are first seen.
+ */
+class NameTable {
+
+	static final int NO_ID = -1;
+
+	private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+	private volatile String[] names = new String[256];
+	private int size;
+
+	int idOf(String name) {
+		Integer id = ids.get(name);
+		if(id != null) {
+			return id;
+		}
+		synchronized (this) {
+			id = ids.get(name);
+			if(id != null) {
+				return id;
+			}
+			
+			String[] table = names;
+			if(size == table.length) {
+				table = Arrays.copyOf(table, table.length * 2);
+			}
+			table[size] = name;
+			names = table;
+			ids.put(name, size);
+			return size++;
+		}
+	}
+	
+	int find(String name) {
+		Integer id = ids.get(name);
+		return id == null ? NO_ID : id;
+	}
+
+	String name(int id) {
+		return names[id];
+	}
+
+	int size() {
+		return ids.size();
+	}
+
+}
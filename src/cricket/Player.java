@@ -3,21 +3,50 @@ package cricket;
 public class Player {
 
 	private final String name;
+	final NameScope scope;
+	// NO_PLAYER until the name turns up in a delivery read.
+	private int id;
 
+	/**
+	 * A player looked up by name. Looking a player up does not register the name; only reading
+	 * deliveries does.
+	 */
 	public Player(String name) {
+		this(name, PlayerRegistry.find(name), NameScope.global());
+	}
+	
+	Player(String name, int id, NameScope scope) {
 		this.name = name;
+		this.id = id;
+		this.scope = scope;
+	}
+	
+	/**
+	 * The canonical player with the name if it has been registered, or else a new player, which is not.
+	 */
+	public static Player of(String name) {
+		Player player = PlayerRegistry.byId(PlayerRegistry.find(name));
+		return player != null ? player : new Player(name, PlayerRegistry.NO_PLAYER, NameScope.global());
 	}
 	
 	public String name() {
 		return name;
 	}
+	
+	/**
+	 * Dense id given to the player's name by {@link PlayerRegistry}, or by the {@link NameScope} the
+	 * player was read into, or {@link PlayerRegistry#NO_PLAYER} if the name has not been registered.
+	 */
+	public int id() {
+		if(id == PlayerRegistry.NO_PLAYER) {
+			id = scope.findPlayer(name);
+		}
+		return id;
+	}
 
 	@Override
 	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + ((name == null) ? 0 : name.hashCode());
-		return result;
+		return name == null ? 0 : name.hashCode();
 	}
 
 	@Override
@@ -29,12 +58,10 @@ public class Player {
 		if (getClass() != obj.getClass())
 			return false;
 		Player other = (Player) obj;
-		if (name == null) {
-			if (other.name != null)
-				return false;
-		} else if (!name.equals(other.name))
-			return false;
-		return true;
+		if(scope == other.scope && id >= 0 && other.id >= 0) {
+			return id == other.id;
+		}
+		return name == null ? other.name == null : name.equals(other.name);
 	}
 
 	@Override
@@ -0,0 +1,47 @@
+package cricket;
+
+/**
+ * Interns players by name in the {@linkplain NameScope#global() global scope}. Each distinct name is
+ * backed by one canonical {@link Player} with a dense id, so per-player data can be kept in arrays
+ * indexed by {@link Player#id()}.
+ * <p>
+ * Names are never released, so only names read from deliveries are interned; looking a player up
+ * with {@link #find(String)} leaves the registry as it is.
+ */
+public final class PlayerRegistry {
+
+	public static final int NO_PLAYER = NameTable.NO_ID;
+
+	private PlayerRegistry() {
+	}
+
+	public static Player intern(String name) {
+		return NameScope.global().player(name);
+	}
+
+	public static int idOf(String name) {
+		return NameScope.global().playerId(name);
+	}
+
+	/**
+	 * Returns the id of an already known player without registering the name, or {@link #NO_PLAYER}.
+	 */
+	public static int find(String name) {
+		return NameScope.global().findPlayer(name);
+	}
+
+	/**
+	 * Returns the canonical player with the given id, or {@code null} if the id is unknown.
+	 */
+	public static Player byId(int id) {
+		return NameScope.global().playerById(id);
+	}
+
+	/**
+	 * Number of players interned so far; every id is below it.
+	 */
+	public static int size() {
+		return NameScope.global().playerCount();
+	}
+
+}
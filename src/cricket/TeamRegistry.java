@@ -0,0 +1,33 @@
+package cricket;
+
+/**
+ * Interns team names in the {@linkplain NameScope#global() global scope}, giving each a dense id so
+ * per-team data can be kept in arrays.
+ */
+public final class TeamRegistry {
+
+	public static final int NO_TEAM = NameTable.NO_ID;
+
+	private TeamRegistry() {
+	}
+
+	public static int idOf(String teamName) {
+		return NameScope.global().teamId(teamName);
+	}
+
+	/**
+	 * Returns the id of an already known team without registering it, or {@link #NO_TEAM}.
+	 */
+	public static int find(String teamName) {
+		return NameScope.global().findTeam(teamName);
+	}
+
+	public static String nameOf(int teamId) {
+		return NameScope.global().teamName(teamId);
+	}
+
+	public static int size() {
+		return NameScope.global().teamCount();
+	}
+
+}
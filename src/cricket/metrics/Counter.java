@@ -0,0 +1,10 @@
+package cricket.metrics;
+
+/**
+ * Events counted while reading scores.
+ */
+public enum Counter {
+	LINES_READ,
+	BLANK_LINES_SKIPPED,
+	PARSE_FAILURES
+}
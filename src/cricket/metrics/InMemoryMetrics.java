@@ -0,0 +1,79 @@
+package cricket.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps counters and latency histograms in memory. Histograms have one bucket per power of two of
+ * nanoseconds, so recording is a few atomic adds and percentiles are accurate to within a factor of two.
+ */
+public class InMemoryMetrics implements MetricsSink {
+
+	static final int BUCKETS = Long.SIZE + 1;
+
+	private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+	private final Map<Latency, Histogram> latencies = new EnumMap<>(Latency.class);
+
+	public InMemoryMetrics() {
+		for(Counter counter : Counter.values()) {
+			counters.put(counter, new LongAdder());
+		}
+		for(Latency latency : Latency.values()) {
+			latencies.put(latency, new Histogram());
+		}
+	}
+
+	@Override
+	public void increment(Counter counter, long delta) {
+		counters.get(counter).add(delta);
+	}
+
+	@Override
+	public void record(Latency latency, long nanos) {
+		latencies.get(latency).record(Math.max(nanos, 0));
+	}
+
+	/**
+	 * The values so far. Values recorded while the snapshot is taken may or may not be in it.
+	 */
+	public MetricsSnapshot snapshot() {
+		Map<Counter, Long> counts = new EnumMap<>(Counter.class);
+		counters.forEach((counter, adder) -> counts.put(counter, adder.sum()));
+		Map<Latency, LatencySnapshot> histograms = new EnumMap<>(Latency.class);
+		latencies.forEach((latency, histogram) -> histograms.put(latency, histogram.snapshot()));
+		return new MetricsSnapshot(counts, histograms);
+	}
+
+	static int bucket(long nanos) {
+		return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+	}
+
+	private static class Histogram {
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final AtomicLong max = new AtomicLong();
+
+		void record(long nanos) {
+			buckets.incrementAndGet(bucket(nanos));
+			count.increment();
+			total.add(nanos);
+			if(nanos > max.get()) {
+				max.accumulateAndGet(nanos, Math::max);
+			}
+		}
+
+		LatencySnapshot snapshot() {
+			long[] counts = new long[BUCKETS];
+			for(int i = 0; i < BUCKETS; i++) {
+				counts[i] = buckets.get(i);
+			}
+			return new LatencySnapshot(count.sum(), total.sum(), max.get(), counts);
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+package cricket.metrics;
+
+/**
+ * Operations whose duration is recorded.
+ */
+public enum Latency {
+	SCORE_BOARD_CONSTRUCTION,
+	PLAYER_POINTS,
+	RANKING
+}
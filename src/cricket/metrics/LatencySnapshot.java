@@ -0,0 +1,71 @@
+package cricket.metrics;
+
+/**
+ * A latency histogram at one moment. All durations are in nanoseconds.
+ */
+public class LatencySnapshot {
+
+	private final long count;
+	private final long totalNanos;
+	private final long maxNanos;
+	private final long[] buckets;
+
+	LatencySnapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+		this.count = count;
+		this.totalNanos = totalNanos;
+		this.maxNanos = maxNanos;
+		this.buckets = buckets;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public long getMaxNanos() {
+		return maxNanos;
+	}
+
+	public long getMeanNanos() {
+		return count == 0 ? 0 : totalNanos / count;
+	}
+
+	/**
+	 * An upper bound, within a factor of two, of the duration that the given fraction of the recorded
+	 * durations did not exceed. 0 when nothing has been recorded.
+	 */
+	public long getPercentileNanos(double fraction) {
+		if(fraction < 0 || fraction > 1) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 1: " + fraction);
+		}
+
+		long total = 0;
+		for(long bucket : buckets) {
+			total += bucket;
+		}
+		if(total == 0) {
+			return 0;
+		}
+
+		long rank = Math.max(1, (long) Math.ceil(fraction * total));
+		long seen = 0;
+		for(int i = 0; i < buckets.length; i++) {
+			seen += buckets[i];
+			if(seen >= rank) {
+				long upperBound = i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(upperBound, maxNanos);
+			}
+		}
+		return maxNanos;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LatencySnapshot [count=%s, meanNanos=%s, p50Nanos=%s, p99Nanos=%s, maxNanos=%s]", count,
+				getMeanNanos(), getPercentileNanos(0.5), getPercentileNanos(0.99), maxNanos);
+	}
+
+}
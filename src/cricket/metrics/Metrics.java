@@ -0,0 +1,55 @@
+package cricket.metrics;
+
+import java.util.Objects;
+
+/**
+ * Where the code reports counts and durations.
+ * <p>
+ * Metrics are off unless the JVM is started with {@code -Dcricket.metrics=true}. Calls are guarded
+ * by the constant {@link #ENABLED}, so when metrics are off the JIT removes them together with the
+ * clock reads around them. When metrics are on, reports go to the sink set with {@link #setSink},
+ * which drops them until a sink is set.
+ */
+public final class Metrics {
+
+	public static final boolean ENABLED = Boolean.getBoolean("cricket.metrics");
+
+	private static volatile MetricsSink sink = MetricsSink.NONE;
+
+	private Metrics() {
+	}
+
+	public static void setSink(MetricsSink sink) {
+		Metrics.sink = Objects.requireNonNull(sink, "Metrics sink");
+	}
+
+	public static MetricsSink getSink() {
+		return sink;
+	}
+
+	public static void increment(Counter counter) {
+		if(ENABLED) {
+			sink.increment(counter, 1);
+		}
+	}
+
+	public static void increment(Counter counter, long delta) {
+		if(ENABLED) {
+			sink.increment(counter, delta);
+		}
+	}
+
+	/**
+	 * A start time for {@link #recordSince(Latency, long)}, or 0 when metrics are off.
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0;
+	}
+
+	public static void recordSince(Latency latency, long start) {
+		if(ENABLED) {
+			sink.record(latency, System.nanoTime() - start);
+		}
+	}
+
+}
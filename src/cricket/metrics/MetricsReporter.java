@@ -0,0 +1,112 @@
+package cricket.metrics;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the values of an {@link InMemoryMetrics} as CSV rows, once per period on a background thread,
+ * to a log file, a writer or {@code System.out}. Every report writes a row per counter and per latency:
+ * <pre>
+ * time,metric,count,mean_ns,p50_ns,p99_ns,max_ns
+ * </pre>
+ * with the latency columns left empty for counters. Counts and latencies are totals since the metrics
+ * were created.
+ */
+public class MetricsReporter implements Closeable {
+
+	static final String HEADER = "time,metric,count,mean_ns,p50_ns,p99_ns,max_ns";
+
+	private final InMemoryMetrics metrics;
+	private final Appendable out;
+	private final Clock clock;
+	private ScheduledExecutorService scheduler;
+
+	public MetricsReporter(InMemoryMetrics metrics, Appendable out) {
+		this(metrics, out, Clock.systemUTC());
+	}
+
+	MetricsReporter(InMemoryMetrics metrics, Appendable out, Clock clock) {
+		this.metrics = metrics;
+		this.out = out;
+		this.clock = clock;
+	}
+
+	/**
+	 * Writes the header, then a report every period until {@link #close()}.
+	 */
+	public synchronized void start(long period, TimeUnit unit) {
+		if(scheduler != null) {
+			throw new IllegalStateException("Reporter already started");
+		}
+		write(HEADER + System.lineSeparator());
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::reportOrWarn, period, period, unit);
+	}
+
+	/**
+	 * Reports, handing a failure to the thread's uncaught exception handler rather than throwing it,
+	 * which would cancel every later report.
+	 */
+	private void reportOrWarn() {
+		try {
+			report();
+		} catch (RuntimeException e) {
+			Thread thread = Thread.currentThread();
+			thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
+		}
+	}
+
+	public void report() {
+		MetricsSnapshot snapshot = metrics.snapshot();
+		String time = clock.instant().toString();
+		StringBuilder rows = new StringBuilder();
+		for(Counter counter : Counter.values()) {
+			rows.append(time).append(',').append(counter).append(',').append(snapshot.getCount(counter))
+					.append(",,,,").append(System.lineSeparator());
+		}
+		for(Latency latency : Latency.values()) {
+			LatencySnapshot histogram = snapshot.getLatency(latency);
+			rows.append(time).append(',').append(latency).append(',').append(histogram.getCount()).append(',')
+					.append(histogram.getMeanNanos()).append(',').append(histogram.getPercentileNanos(0.5)).append(',')
+					.append(histogram.getPercentileNanos(0.99)).append(',').append(histogram.getMaxNanos())
+					.append(System.lineSeparator());
+		}
+		write(rows);
+	}
+
+	private void write(CharSequence text) {
+		synchronized(out) {
+			try {
+				out.append(text);
+				if(out instanceof Flushable) {
+					((Flushable) out).flush();
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Stops the periodic reports after writing a last one.
+	 */
+	@Override
+	public synchronized void close() {
+		if(scheduler != null) {
+			scheduler.shutdownNow();
+			scheduler = null;
+			report();
+		}
+	}
+
+}
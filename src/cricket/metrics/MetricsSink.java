@@ -0,0 +1,23 @@
+package cricket.metrics;
+
+/**
+ * Receives the counts and durations reported through {@link Metrics}. Sinks are called from any
+ * thread and must be thread-safe.
+ */
+public interface MetricsSink {
+
+	MetricsSink NONE = new MetricsSink() {
+		@Override
+		public void increment(Counter counter, long delta) {
+		}
+
+		@Override
+		public void record(Latency latency, long nanos) {
+		}
+	};
+
+	void increment(Counter counter, long delta);
+
+	void record(Latency latency, long nanos);
+
+}
@@ -0,0 +1,32 @@
+package cricket.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * The counters and latencies of an {@link InMemoryMetrics} at one moment.
+ */
+public class MetricsSnapshot {
+
+	private final Map<Counter, Long> counters;
+	private final Map<Latency, LatencySnapshot> latencies;
+
+	MetricsSnapshot(Map<Counter, Long> counters, Map<Latency, LatencySnapshot> latencies) {
+		this.counters = Collections.unmodifiableMap(counters);
+		this.latencies = Collections.unmodifiableMap(latencies);
+	}
+
+	public long getCount(Counter counter) {
+		return counters.get(counter);
+	}
+
+	public LatencySnapshot getLatency(Latency latency) {
+		return latencies.get(latency);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MetricsSnapshot [counters=%s, latencies=%s]", counters, latencies);
+	}
+
+}
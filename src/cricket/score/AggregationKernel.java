@@ -0,0 +1,54 @@
+package cricket.score;
+
+/**
+ * Masked reductions over projected delivery fields: the sum of a field over the positions whose key is
+ * a given id. {@link #best()} picks a kernel on the Vector API when the JVM has it, and the scalar
+ * loops otherwise.
+ */
+interface AggregationKernel {
+
+	/**
+	 * Name of the optional kernel on {@code jdk.incubator.vector}, compiled from the {@code vector}
+	 * source root with {@code --add-modules jdk.incubator.vector}.
+	 */
+	String VECTOR_KERNEL = "cricket.score.VectorAggregationKernel";
+
+	AggregationKernel SCALAR = new ScalarAggregationKernel();
+
+	/**
+	 * The largest magnitude of a value the kernels sum, the runs of two shorts, so that the vector lanes
+	 * can add a block of values before they are moved into a long.
+	 */
+	int MAX_VALUE = 1 << 16;
+
+	/**
+	 * The sum of {@code values[i]} over the positions where {@code keys[i] == key}, every value within
+	 * {@link #MAX_VALUE} either way.
+	 */
+	long sumWhere(int[] keys, int key, int[] values, int length);
+
+	/**
+	 * The kernel on the Vector API if it is on the class path and the {@code jdk.incubator.vector}
+	 * module is loaded, for example with {@code --add-modules jdk.incubator.vector}; the scalar kernel
+	 * otherwise, or when {@code -Dcricket.vector=false}. With {@code -Dcricket.vector=true} the vector
+	 * kernel must load.
+	 *
+	 * @throws IllegalStateException if the vector kernel is required but cannot be loaded
+	 */
+	static AggregationKernel best() {
+		String vector = System.getProperty("cricket.vector");
+		if("false".equals(vector)) {
+			return SCALAR;
+		}
+		try {
+			// Without the module the kernel fails to link, and the scalar loops are used instead.
+			return (AggregationKernel) Class.forName(VECTOR_KERNEL).getDeclaredConstructor().newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			if("true".equals(vector)) {
+				throw new IllegalStateException("The vector kernel was asked for but could not be loaded: " + e, e);
+			}
+			return SCALAR;
+		}
+	}
+
+}
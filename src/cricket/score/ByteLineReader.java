@@ -0,0 +1,110 @@
+package cricket.score;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Splits an input stream into lines without decoding them. Lines end at {@code \n}, {@code \r} or
+ * {@code \r\n}, like {@link java.io.BufferedReader#readLine()}. After a successful
+ * {@link #nextLine()} the current line is {@code buffer()[lineStart(), lineEnd())}; the window is only
+ * valid until the next call.
+ */
+class ByteLineReader implements Closeable {
+
+	private final InputStream in;
+	private byte[] buffer;
+	private int position;
+	private int limit;
+	private boolean endOfStream;
+	private boolean skipLineFeed;
+	private int lineStart;
+	private int lineEnd;
+
+	ByteLineReader(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[bufferSize];
+	}
+
+	boolean nextLine() throws IOException {
+		if(skipLineFeed) {
+			if(position == limit) {
+				fill();
+			}
+			if(position < limit && buffer[position] == '\n') {
+				position++;
+			}
+			skipLineFeed = false;
+		}
+
+		int scanFrom = position;
+		while(true) {
+			for(int i = scanFrom; i < limit; i++) {
+				byte b = buffer[i];
+				if(b == '\n' || b == '\r') {
+					lineStart = position;
+					lineEnd = i;
+					position = i + 1;
+					skipLineFeed = b == '\r';
+					return true;
+				}
+			}
+
+			if(endOfStream) {
+				if(position < limit) {
+					lineStart = position;
+					lineEnd = limit;
+					position = limit;
+					return true;
+				}
+				return false;
+			}
+
+			scanFrom = limit - position;
+			fill();
+			scanFrom += position;
+		}
+	}
+
+	byte[] buffer() {
+		return buffer;
+	}
+
+	int lineStart() {
+		return lineStart;
+	}
+
+	int lineEnd() {
+		return lineEnd;
+	}
+
+	/**
+	 * Moves the unread bytes to the front of the buffer, growing it when a line does not fit, and
+	 * reads more bytes after them.
+	 */
+	private void fill() throws IOException {
+		int remaining = limit - position;
+		if(position > 0) {
+			System.arraycopy(buffer, position, buffer, 0, remaining);
+		} else if(remaining == buffer.length) {
+			byte[] grown = new byte[buffer.length * 2];
+			System.arraycopy(buffer, 0, grown, 0, remaining);
+			buffer = grown;
+		}
+		position = 0;
+		limit = remaining;
+
+		int read = in.read(buffer, limit, buffer.length - limit);
+		if(read < 0) {
+			endOfStream = true;
+		} else {
+			limit += read;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+
+}
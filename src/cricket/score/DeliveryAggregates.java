@@ -0,0 +1,89 @@
+package cricket.score;
+
+import cricket.Player;
+import cricket.TeamRegistry;
+
+/**
+ * Team and bowler totals summed straight from stored deliveries, for ad hoc questions over a season or
+ * more of {@link DeliveryColumns} without building a {@link ScoreBoard}. The answers are those of the
+ * matching {@link ScoreBoard} methods over the same deliveries.
+ * <p>
+ * The fields the totals need are projected once into int arrays, and each total is one masked
+ * reduction over them: the runs of the deliveries whose batting team, bowling team or bowler is the
+ * one asked for, or the number of legal ones. The reductions use the Vector API when the JVM is run
+ * with {@code --add-modules jdk.incubator.vector} and plain loops otherwise.
+ */
+public class DeliveryAggregates {
+
+	private final AggregationKernel kernel;
+	private final int size;
+	private final int[] battingTeam;
+	private final int[] bowlingTeam;
+	private final int[] bowler;
+	// Runs off the bat and extra runs together.
+	private final int[] runs;
+	// 1 for a legal delivery, 0 for an extra.
+	private final int[] legal;
+
+	/**
+	 * @throws IllegalArgumentException if the runs of a delivery are beyond {@value AggregationKernel#MAX_VALUE}
+	 *             either way, which the reductions do not allow for
+	 */
+	public DeliveryAggregates(DeliveryColumns columns) {
+		this(columns, AggregationKernel.best());
+	}
+
+	DeliveryAggregates(DeliveryColumns columns, AggregationKernel kernel) {
+		this.kernel = kernel;
+		this.size = columns.size();
+		this.battingTeam = new int[size];
+		this.bowlingTeam = new int[size];
+		this.bowler = new int[size];
+		this.runs = new int[size];
+		this.legal = new int[size];
+		System.arraycopy(columns.battingTeam, 0, battingTeam, 0, size);
+		System.arraycopy(columns.bowlingTeam, 0, bowlingTeam, 0, size);
+		System.arraycopy(columns.bowler, 0, bowler, 0, size);
+		for(int i = 0; i < size; i++) {
+			runs[i] = columns.runs[i] + columns.extraRuns[i];
+			if(Math.abs(runs[i]) > AggregationKernel.MAX_VALUE) {
+				throw new IllegalArgumentException("The runs of delivery " + i + " are out of range: " + runs[i]);
+			}
+			legal[i] = columns.isLegalDelivery(i) ? 1 : 0;
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public long getTeamBalls(String teamName) {
+		return kernel.sumWhere(battingTeam, TeamRegistry.find(teamName), legal, size);
+	}
+
+	public long getTeamBallsBowled(String teamName) {
+		return kernel.sumWhere(bowlingTeam, TeamRegistry.find(teamName), legal, size);
+	}
+
+	public int getTeamRuns(String teamName) {
+		return (int) kernel.sumWhere(battingTeam, TeamRegistry.find(teamName), runs, size);
+	}
+
+	public int getTeamRunsGiven(String teamName) {
+		return (int) kernel.sumWhere(bowlingTeam, TeamRegistry.find(teamName), runs, size);
+	}
+
+	public int getRunsConceded(Player player) {
+		return (int) kernel.sumWhere(bowler, player.id(), runs, size);
+	}
+
+	public int getDeliveries(Player player) {
+		return (int) kernel.sumWhere(bowler, player.id(), legal, size);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("DeliveryAggregates [deliveries=%s, kernel=%s]", size, kernel);
+	}
+
+}
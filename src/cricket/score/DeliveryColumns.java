@@ -0,0 +1,297 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import cricket.Player;
+import cricket.PlayerRegistry;
+
+/**
+ * Deliveries stored column by column in primitive arrays, about 40 bytes a ball.
+ * <p>
+ * Players and teams are stored as their {@link PlayerRegistry} and {@link cricket.TeamRegistry} ids,
+ * with {@link #NO_PLAYER} for an absent dismissed or assisting player. Extras and kinds of wicket are
+ * stored as codes into small per-store dictionaries, with {@link #NO_WICKET} for a delivery without a
+ * dismissal.
+ */
+public class DeliveryColumns {
+
+	public static final int NO_PLAYER = -1;
+	public static final int NO_WICKET = -1;
+
+	private int size;
+
+	short[] innings;
+	short[] over;
+	short[] ball;
+	short[] runs;
+	short[] extraRuns;
+	short[] extraType;
+	short[] wicketKind;
+	int[] battingTeam;
+	int[] bowlingTeam;
+	int[] batsman;
+	int[] nonStriker;
+	int[] bowler;
+	int[] dismissed;
+	int[] assisting;
+
+	private final List<String> extras = new ArrayList<>();
+	private final Map<String, Integer> extraCodes = new HashMap<>();
+	private boolean[] legalExtras = new boolean[4];
+	private final List<String> wicketKinds = new ArrayList<>();
+	private final Map<String, Integer> wicketKindCodes = new HashMap<>();
+
+	public DeliveryColumns() {
+		this(256);
+	}
+
+	public DeliveryColumns(int capacity) {
+		capacity = Math.max(capacity, 1);
+		innings = new short[capacity];
+		over = new short[capacity];
+		ball = new short[capacity];
+		runs = new short[capacity];
+		extraRuns = new short[capacity];
+		extraType = new short[capacity];
+		wicketKind = new short[capacity];
+		battingTeam = new int[capacity];
+		bowlingTeam = new int[capacity];
+		batsman = new int[capacity];
+		nonStriker = new int[capacity];
+		bowler = new int[capacity];
+		dismissed = new int[capacity];
+		assisting = new int[capacity];
+	}
+
+	public static DeliveryColumns of(List<Score> scores) {
+		DeliveryColumns columns = new DeliveryColumns(scores.size());
+		scores.forEach(columns::add);
+		return columns;
+	}
+
+	public static DeliveryColumns of(Stream<Score> scores) {
+		DeliveryColumns columns = new DeliveryColumns();
+		scores.forEachOrdered(columns::add);
+		return columns;
+	}
+
+	/**
+	 * Joins stores, such as the chunks of {@link ParallelScoreReader#readColumns}, into one, keeping
+	 * their order.
+	 */
+	public static DeliveryColumns concat(List<DeliveryColumns> parts) {
+		int size = 0;
+		for(DeliveryColumns part : parts) {
+			size += part.size;
+		}
+		DeliveryColumns columns = new DeliveryColumns(size);
+		for(DeliveryColumns part : parts) {
+			columns.addAll(part);
+		}
+		return columns;
+	}
+
+	public void addAll(DeliveryColumns other) {
+		while(size + other.size > innings.length) {
+			grow();
+		}
+
+		int n = other.size;
+		System.arraycopy(other.innings, 0, innings, size, n);
+		System.arraycopy(other.over, 0, over, size, n);
+		System.arraycopy(other.ball, 0, ball, size, n);
+		System.arraycopy(other.runs, 0, runs, size, n);
+		System.arraycopy(other.extraRuns, 0, extraRuns, size, n);
+		System.arraycopy(other.battingTeam, 0, battingTeam, size, n);
+		System.arraycopy(other.bowlingTeam, 0, bowlingTeam, size, n);
+		System.arraycopy(other.batsman, 0, batsman, size, n);
+		System.arraycopy(other.nonStriker, 0, nonStriker, size, n);
+		System.arraycopy(other.bowler, 0, bowler, size, n);
+		System.arraycopy(other.dismissed, 0, dismissed, size, n);
+		System.arraycopy(other.assisting, 0, assisting, size, n);
+
+		short[] extraTypes = new short[other.extras.size()];
+		for(int code = 0; code < extraTypes.length; code++) {
+			extraTypes[code] = extraCode(other.extras.get(code), other.legalExtras[code]);
+		}
+		short[] kinds = new short[other.wicketKinds.size()];
+		for(int code = 0; code < kinds.length; code++) {
+			kinds[code] = wicketKindCode(other.wicketKinds.get(code));
+		}
+		for(int i = 0; i < n; i++) {
+			extraType[size + i] = extraTypes[other.extraType[i]];
+			wicketKind[size + i] = other.wicketKind[i] == NO_WICKET ? NO_WICKET : kinds[other.wicketKind[i]];
+		}
+		size += n;
+	}
+
+	public void add(Score score) {
+		if(size == innings.length) {
+			grow();
+		}
+
+		int i = size;
+		innings[i] = toShort(score.getInningsNumber(), "innings number");
+		over[i] = toShort(score.getOverNumber(), "over number");
+		ball[i] = toShort(score.getBallNumber(), "ball number");
+		runs[i] = toShort(score.getRuns(), "runs");
+		extraRuns[i] = toShort(score.getExtraRuns(), "extra runs");
+		extraType[i] = extraCode(score.getExtra(), score.isNonExtraDelivery());
+		wicketKind[i] = score.isDismissalDelivery() ? wicketKindCode(score.getKindOfWicket()) : NO_WICKET;
+		battingTeam[i] = score.getBattingTeamId();
+		bowlingTeam[i] = score.getBowlingTeamId();
+		batsman[i] = score.getBatsman().id();
+		nonStriker[i] = score.getNonStriker().id();
+		bowler[i] = score.getBowler().id();
+		dismissed[i] = score.getDismissedPlayer().isPresent() ? score.getDismissedPlayer().get().id() : NO_PLAYER;
+		assisting[i] = score.getAssistingPlayer().isPresent() ? score.getAssistingPlayer().get().id() : NO_PLAYER;
+		size++;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Rebuilds the score of the delivery at the given position.
+	 */
+	public Score get(int i) {
+		checkIndex(i);
+		return new Score(innings[i], over[i], ball[i], battingTeam[i], bowlingTeam[i], PlayerRegistry.byId(batsman[i]),
+				PlayerRegistry.byId(nonStriker[i]), PlayerRegistry.byId(bowler[i]), runs[i], extras.get(extraType[i]),
+				extraRuns[i], wicketKind[i] == NO_WICKET ? "" : wicketKinds.get(wicketKind[i]), player(dismissed[i]),
+				player(assisting[i]));
+	}
+
+	public int getInningsNumber(int i) {
+		checkIndex(i);
+		return innings[i];
+	}
+
+	public int getOverNumber(int i) {
+		checkIndex(i);
+		return over[i];
+	}
+
+	public int getBallNumber(int i) {
+		checkIndex(i);
+		return ball[i];
+	}
+
+	public int getBattingTeamId(int i) {
+		checkIndex(i);
+		return battingTeam[i];
+	}
+
+	public int getBowlingTeamId(int i) {
+		checkIndex(i);
+		return bowlingTeam[i];
+	}
+
+	public int getBatsmanId(int i) {
+		checkIndex(i);
+		return batsman[i];
+	}
+
+	public int getBowlerId(int i) {
+		checkIndex(i);
+		return bowler[i];
+	}
+
+	public int getRuns(int i) {
+		checkIndex(i);
+		return runs[i];
+	}
+
+	public int getExtraRuns(int i) {
+		checkIndex(i);
+		return extraRuns[i];
+	}
+
+	/**
+	 * Feeds every delivery to the visitor through one cursor, in order.
+	 */
+	public void replay(DeliveryVisitor visitor) {
+		DeliveryCursor cursor = new DeliveryCursor();
+		for(int i = 0; i < size; i++) {
+			cursor.set(innings[i], over[i], ball[i], battingTeam[i], bowlingTeam[i], batsman[i], nonStriker[i], bowler[i],
+					runs[i], extras.get(extraType[i]), legalExtras[extraType[i]], extraRuns[i],
+					wicketKind[i] == NO_WICKET ? "" : wicketKinds.get(wicketKind[i]), dismissed[i], assisting[i]);
+			visitor.visit(cursor);
+		}
+	}
+
+	boolean isLegalDelivery(int i) {
+		return legalExtras[extraType[i]];
+	}
+
+	boolean isDismissalDelivery(int i) {
+		return wicketKind[i] != NO_WICKET;
+	}
+
+	private static Optional<Player> player(int playerId) {
+		return playerId == NO_PLAYER ? Optional.empty() : Optional.of(PlayerRegistry.byId(playerId));
+	}
+
+	private short extraCode(String extra, boolean legal) {
+		Integer code = extraCodes.get(extra);
+		if(code == null) {
+			code = extras.size();
+			extras.add(extra);
+			extraCodes.put(extra, code);
+			if(code == legalExtras.length) {
+				legalExtras = Arrays.copyOf(legalExtras, code * 2);
+			}
+			legalExtras[code] = legal;
+		}
+		return toShort(code, "number of kinds of extra");
+	}
+
+	private short wicketKindCode(String kindOfWicket) {
+		Integer code = wicketKindCodes.get(kindOfWicket);
+		if(code == null) {
+			code = wicketKinds.size();
+			wicketKinds.add(kindOfWicket);
+			wicketKindCodes.put(kindOfWicket, code);
+		}
+		return toShort(code, "number of kinds of wicket");
+	}
+
+	private static short toShort(int value, String field) {
+		if(value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Value of " + field + " out of range: " + value);
+		}
+		return (short) value;
+	}
+
+	private void checkIndex(int i) {
+		if(i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Delivery " + i + " of " + size);
+		}
+	}
+
+	private void grow() {
+		int capacity = innings.length * 2;
+		innings = Arrays.copyOf(innings, capacity);
+		over = Arrays.copyOf(over, capacity);
+		ball = Arrays.copyOf(ball, capacity);
+		runs = Arrays.copyOf(runs, capacity);
+		extraRuns = Arrays.copyOf(extraRuns, capacity);
+		extraType = Arrays.copyOf(extraType, capacity);
+		wicketKind = Arrays.copyOf(wicketKind, capacity);
+		battingTeam = Arrays.copyOf(battingTeam, capacity);
+		bowlingTeam = Arrays.copyOf(bowlingTeam, capacity);
+		batsman = Arrays.copyOf(batsman, capacity);
+		nonStriker = Arrays.copyOf(nonStriker, capacity);
+		bowler = Arrays.copyOf(bowler, capacity);
+		dismissed = Arrays.copyOf(dismissed, capacity);
+		assisting = Arrays.copyOf(assisting, capacity);
+	}
+
+}
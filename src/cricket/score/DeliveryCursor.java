@@ -0,0 +1,171 @@
+package cricket.score;
+
+import java.util.Optional;
+
+import cricket.NameScope;
+import cricket.Player;
+
+/**
+ * One delivery, refilled in place for every delivery of a replay and handed to a
+ * {@link DeliveryVisitor}. Players and teams are held as their registry ids and names are shared with
+ * the source, so moving the cursor on allocates nothing.
+ * <p>
+ * The values are only valid during the visit; a visitor that needs to keep a delivery copies what it
+ * needs, for example with {@link #toScore()}.
+ */
+public final class DeliveryCursor {
+
+	public static final int NO_PLAYER = -1;
+
+	private int inningsNumber;
+	private int overNumber;
+	private int ballNumber;
+	private int battingTeamId;
+	private int bowlingTeamId;
+	private int batsmanId;
+	private int nonStrikerId;
+	private int bowlerId;
+	private int runs;
+	private int extraRuns;
+	private String extra;
+	private boolean legalDelivery;
+	private String kindOfWicket;
+	private int dismissedPlayerId;
+	private int assistingPlayerId;
+	private NameScope names = NameScope.global();
+
+	/**
+	 * The scope the ids of the cursor are in, the global one unless the source reads into its own.
+	 */
+	void names(NameScope names) {
+		this.names = names;
+	}
+
+	void set(int inningsNumber, int overNumber, int ballNumber, int battingTeamId, int bowlingTeamId, int batsmanId,
+			int nonStrikerId, int bowlerId, int runs, String extra, boolean legalDelivery, int extraRuns,
+			String kindOfWicket, int dismissedPlayerId, int assistingPlayerId) {
+		this.inningsNumber = inningsNumber;
+		this.overNumber = overNumber;
+		this.ballNumber = ballNumber;
+		this.battingTeamId = battingTeamId;
+		this.bowlingTeamId = bowlingTeamId;
+		this.batsmanId = batsmanId;
+		this.nonStrikerId = nonStrikerId;
+		this.bowlerId = bowlerId;
+		this.runs = runs;
+		this.extra = extra;
+		this.legalDelivery = legalDelivery;
+		this.extraRuns = extraRuns;
+		this.kindOfWicket = kindOfWicket;
+		this.dismissedPlayerId = dismissedPlayerId;
+		this.assistingPlayerId = assistingPlayerId;
+	}
+
+	public int getInningsNumber() {
+		return inningsNumber;
+	}
+
+	public int getOverNumber() {
+		return overNumber;
+	}
+
+	public int getBallNumber() {
+		return ballNumber;
+	}
+
+	public int getBattingTeamId() {
+		return battingTeamId;
+	}
+
+	public int getBowlingTeamId() {
+		return bowlingTeamId;
+	}
+
+	public String getBattingTeamName() {
+		return names.teamName(battingTeamId);
+	}
+
+	public String getBowlingTeamName() {
+		return names.teamName(bowlingTeamId);
+	}
+
+	public int getBatsmanId() {
+		return batsmanId;
+	}
+
+	public int getNonStrikerId() {
+		return nonStrikerId;
+	}
+
+	public int getBowlerId() {
+		return bowlerId;
+	}
+
+	/**
+	 * The id of the dismissed player, or {@link #NO_PLAYER}.
+	 */
+	public int getDismissedPlayerId() {
+		return dismissedPlayerId;
+	}
+
+	/**
+	 * The id of the assisting player, or {@link #NO_PLAYER}.
+	 */
+	public int getAssistingPlayerId() {
+		return assistingPlayerId;
+	}
+
+	public Player getBatsman() {
+		return names.playerById(batsmanId);
+	}
+
+	public Player getNonStriker() {
+		return names.playerById(nonStrikerId);
+	}
+
+	public Player getBowler() {
+		return names.playerById(bowlerId);
+	}
+
+	public int getRuns() {
+		return runs;
+	}
+
+	public int getExtraRuns() {
+		return extraRuns;
+	}
+
+	String getExtra() {
+		return extra;
+	}
+
+	public String getKindOfWicket() {
+		return kindOfWicket;
+	}
+
+	public boolean isDismissalDelivery() {
+		return !kindOfWicket.isEmpty();
+	}
+
+	/**
+	 * Same as {@link Score#isNonExtraDelivery()}: the delivery counts as a ball faced and bowled.
+	 */
+	public boolean isLegalDelivery() {
+		return legalDelivery;
+	}
+
+	/**
+	 * A score with the values the cursor holds now. Scores hold global team ids, so only a cursor of the
+	 * global scope can make one.
+	 */
+	public Score toScore() {
+		if(names != NameScope.global()) {
+			throw new IllegalStateException("A delivery read into its own name scope cannot be made a score");
+		}
+		return new Score(inningsNumber, overNumber, ballNumber, battingTeamId, bowlingTeamId, getBatsman(),
+				getNonStriker(), getBowler(), runs, extra, extraRuns, kindOfWicket,
+				Optional.ofNullable(names.playerById(dismissedPlayerId)),
+				Optional.ofNullable(names.playerById(assistingPlayerId)));
+	}
+
+}
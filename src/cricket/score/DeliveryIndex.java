@@ -0,0 +1,348 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import cricket.Player;
+import cricket.TeamRegistry;
+
+/**
+ * Indexes the deliveries held in {@link DeliveryColumns} so that slices by innings, over and ball
+ * range, team and player can be selected without looking at every delivery.
+ * <p>
+ * The deliveries are cut into innings segments: runs of consecutive deliveries with the same innings
+ * number and teams, looked up by innings, batting team and bowling team. Within a segment deliveries
+ * are in over and ball order, so an over or ball range is found by binary search. Each player has a posting list of the deliveries they took part in, as
+ * batsman, non-striker, bowler or fielder, which is intersected with the segment ranges.
+ */
+public class DeliveryIndex {
+
+	private static final int[] NO_DELIVERIES = new int[0];
+
+	private final DeliveryColumns columns;
+	private final List<Segment> segments = new ArrayList<>();
+	// Segments in delivery order, by innings number and by team id.
+	private final Map<Integer, List<Segment>> segmentsByInnings = new HashMap<>();
+	private final Map<Integer, List<Segment>> segmentsByBattingTeam = new HashMap<>();
+	private final Map<Integer, List<Segment>> segmentsByBowlingTeam = new HashMap<>();
+	private final int[][] postings;
+
+	public DeliveryIndex(DeliveryColumns columns) {
+		this.columns = columns;
+
+		int size = columns.size();
+		int segmentStart = 0;
+		for(int i = 1; i <= size; i++) {
+			if(i == size || columns.innings[i] != columns.innings[segmentStart]
+					|| columns.battingTeam[i] != columns.battingTeam[segmentStart]
+					|| columns.bowlingTeam[i] != columns.bowlingTeam[segmentStart]) {
+				if(segmentStart < size) {
+					Segment segment = new Segment(segmentStart, i);
+					segments.add(segment);
+					segmentsByInnings.computeIfAbsent(segment.innings, key -> new ArrayList<>()).add(segment);
+					segmentsByBattingTeam.computeIfAbsent(segment.battingTeam, key -> new ArrayList<>()).add(segment);
+					segmentsByBowlingTeam.computeIfAbsent(segment.bowlingTeam, key -> new ArrayList<>()).add(segment);
+				}
+				segmentStart = i;
+			}
+		}
+
+		int maxPlayer = -1;
+		for(int i = 0; i < size; i++) {
+			maxPlayer = Math.max(maxPlayer, Math.max(Math.max(columns.batsman[i], columns.nonStriker[i]),
+					Math.max(columns.bowler[i], columns.assisting[i])));
+		}
+		int[] counts = new int[maxPlayer + 1];
+		for(int i = 0; i < size; i++) {
+			forEachPlayer(i, (player, row) -> counts[player]++);
+		}
+		postings = new int[maxPlayer + 1][];
+		for(int player = 0; player <= maxPlayer; player++) {
+			postings[player] = counts[player] == 0 ? NO_DELIVERIES : new int[counts[player]];
+		}
+		int[] filled = new int[maxPlayer + 1];
+		for(int i = 0; i < size; i++) {
+			forEachPlayer(i, (player, row) -> postings[player][filled[player]++] = row);
+		}
+	}
+
+	private interface PlayerVisitor {
+		void visit(int player, int row);
+	}
+
+	/**
+	 * Visits each distinct player taking part in the delivery once.
+	 */
+	private void forEachPlayer(int row, PlayerVisitor visitor) {
+		int batsman = columns.batsman[row];
+		int nonStriker = columns.nonStriker[row];
+		int bowler = columns.bowler[row];
+		int assisting = columns.assisting[row];
+
+		visitor.visit(batsman, row);
+		if(nonStriker != batsman) {
+			visitor.visit(nonStriker, row);
+		}
+		if(bowler != batsman && bowler != nonStriker) {
+			visitor.visit(bowler, row);
+		}
+		if(assisting != DeliveryColumns.NO_PLAYER && assisting != batsman && assisting != nonStriker && assisting != bowler) {
+			visitor.visit(assisting, row);
+		}
+	}
+
+	public DeliveryColumns getColumns() {
+		return columns;
+	}
+
+	public Query query() {
+		return new Query();
+	}
+
+	/**
+	 * The segments that may match, from the smallest of the lookups by the filters that are set.
+	 */
+	private List<Segment> candidates(int innings, int battingTeam, int bowlingTeam) {
+		List<Segment> candidates = segments;
+		if(innings >= 0) {
+			candidates = smaller(candidates, segmentsByInnings.get(innings));
+		}
+		if(battingTeam != TeamRegistry.NO_TEAM) {
+			candidates = smaller(candidates, segmentsByBattingTeam.get(battingTeam));
+		}
+		if(bowlingTeam != TeamRegistry.NO_TEAM) {
+			candidates = smaller(candidates, segmentsByBowlingTeam.get(bowlingTeam));
+		}
+		return candidates;
+	}
+
+	private static List<Segment> smaller(List<Segment> candidates, List<Segment> lookedUp) {
+		if(lookedUp == null) {
+			return Collections.emptyList();
+		}
+		return lookedUp.size() < candidates.size() ? lookedUp : candidates;
+	}
+
+	/**
+	 * Filters for a slice of deliveries. Unset filters match every delivery, and setting a filter again
+	 * replaces it. Over and ball numbers are the ones in the data, so the first over of an innings is
+	 * over 0.
+	 */
+	public class Query {
+
+		// A team or player that was asked for but is not known matches no delivery.
+		private static final int UNKNOWN = Integer.MIN_VALUE;
+
+		private int innings = -1;
+		private int battingTeam = TeamRegistry.NO_TEAM;
+		private int bowlingTeam = TeamRegistry.NO_TEAM;
+		private int player = -1;
+		private long from = Long.MIN_VALUE;
+		private long to = Long.MAX_VALUE;
+
+		private Query() {
+		}
+
+		public Query innings(int innings) {
+			this.innings = innings;
+			return this;
+		}
+
+		/**
+		 * Deliveries from the first ball of {@code fromOver} to the last ball of {@code toOver}, both included.
+		 */
+		public Query overs(int fromOver, int toOver) {
+			return between(fromOver, Integer.MIN_VALUE, toOver, Integer.MAX_VALUE);
+		}
+
+		/**
+		 * Deliveries from {@code fromOver.fromBall} to {@code toOver.toBall}, both included.
+		 */
+		public Query between(int fromOver, int fromBall, int toOver, int toBall) {
+			this.from = key(fromOver, fromBall);
+			this.to = key(toOver, toBall);
+			return this;
+		}
+
+		public Query battingTeam(String teamName) {
+			this.battingTeam = team(teamName);
+			return this;
+		}
+
+		public Query bowlingTeam(String teamName) {
+			this.bowlingTeam = team(teamName);
+			return this;
+		}
+
+		/**
+		 * Deliveries the player took part in as batsman, non-striker, bowler or fielder.
+		 */
+		public Query involving(Player player) {
+			int id = player.id();
+			this.player = id < 0 ? UNKNOWN : id;
+			return this;
+		}
+
+		private int team(String teamName) {
+			int team = TeamRegistry.find(teamName);
+			return team == TeamRegistry.NO_TEAM ? UNKNOWN : team;
+		}
+
+		public DeliverySlice select() {
+			if(battingTeam == UNKNOWN || bowlingTeam == UNKNOWN || player == UNKNOWN || player >= postings.length
+					|| from > to) {
+				return new DeliverySlice(columns, NO_DELIVERIES);
+			}
+
+			int[] posting = player < 0 ? null : postings[player];
+			int[] rows = new int[16];
+			int size = 0;
+
+			for(Segment segment : candidates(innings, battingTeam, bowlingTeam)) {
+				if(!segment.matches(innings, battingTeam, bowlingTeam)) {
+					continue;
+				}
+
+				int start = segment.lowerBound(from);
+				int end = segment.upperBound(to);
+				if(start >= end) {
+					continue;
+				}
+
+				if(posting == null) {
+					if(segment.sorted) {
+						if(size + end - start > rows.length) {
+							rows = Arrays.copyOf(rows, Math.max(rows.length * 2, size + end - start));
+						}
+						for(int row = start; row < end; row++) {
+							rows[size++] = row;
+						}
+						continue;
+					}
+					for(int row = start; row < end; row++) {
+						if(segment.contains(row, from, to)) {
+							if(size == rows.length) {
+								rows = Arrays.copyOf(rows, size * 2);
+							}
+							rows[size++] = row;
+						}
+					}
+				} else {
+					for(int p = firstAtLeast(posting, start); p < posting.length && posting[p] < end; p++) {
+						int row = posting[p];
+						if(segment.sorted || segment.contains(row, from, to)) {
+							if(size == rows.length) {
+								rows = Arrays.copyOf(rows, size * 2);
+							}
+							rows[size++] = row;
+						}
+					}
+				}
+			}
+			return new DeliverySlice(columns, Arrays.copyOf(rows, size));
+		}
+	}
+
+	private static long key(int over, int ball) {
+		return ((long) over << 32) + ball;
+	}
+
+	private long key(int row) {
+		return key(columns.over[row], columns.ball[row]);
+	}
+
+	private static int firstAtLeast(int[] sorted, int value) {
+		int low = 0;
+		int high = sorted.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(sorted[middle] < value) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private class Segment {
+
+		final int start;
+		final int end;
+		final int innings;
+		final int battingTeam;
+		final int bowlingTeam;
+		// Segments out of over and ball order are rare, but are then scanned rather than searched.
+		final boolean sorted;
+
+		Segment(int start, int end) {
+			this.start = start;
+			this.end = end;
+			this.innings = columns.innings[start];
+			this.battingTeam = columns.battingTeam[start];
+			this.bowlingTeam = columns.bowlingTeam[start];
+
+			boolean inOrder = true;
+			for(int row = start + 1; row < end && inOrder; row++) {
+				inOrder = key(row - 1) <= key(row);
+			}
+			this.sorted = inOrder;
+		}
+
+		boolean matches(int innings, int battingTeam, int bowlingTeam) {
+			return (innings < 0 || this.innings == innings)
+					&& (battingTeam == TeamRegistry.NO_TEAM || this.battingTeam == battingTeam)
+					&& (bowlingTeam == TeamRegistry.NO_TEAM || this.bowlingTeam == bowlingTeam);
+		}
+
+		boolean contains(int row, long from, long to) {
+			long key = key(row);
+			return key >= from && key <= to;
+		}
+
+		/**
+		 * First row whose over and ball are at or after the key.
+		 */
+		int lowerBound(long from) {
+			if(!sorted) {
+				return start;
+			}
+			int low = start;
+			int high = end;
+			while(low < high) {
+				int middle = (low + high) >>> 1;
+				if(key(middle) < from) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+
+		/**
+		 * First row whose over and ball are after the key.
+		 */
+		int upperBound(long to) {
+			if(!sorted) {
+				return end;
+			}
+			int low = start;
+			int high = end;
+			while(low < high) {
+				int middle = (low + high) >>> 1;
+				if(key(middle) <= to) {
+					low = middle + 1;
+				} else {
+					high = middle;
+				}
+			}
+			return low;
+		}
+	}
+
+}
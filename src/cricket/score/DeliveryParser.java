@@ -0,0 +1,334 @@
+package cricket.score;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import cricket.NameScope;
+import cricket.Player;
+
+/**
+ * Parses UTF-8 encoded delivery lines straight from bytes, accepting the same lines as
+ * {@link Score#from(String)} and producing the same scores.
+ * <p>
+ * Fields are located with a single scan for commas and numbers are read digit by digit, so no
+ * intermediate strings are created. Team names, player names, extras and kinds of wicket are
+ * decoded once, the first time they are seen, and reused for every later delivery.
+ * <p>
+ * A parser keeps its name cache between calls and is not thread-safe.
+ */
+public class DeliveryParser {
+
+	private static final int FIELDS = 12;
+	private static final int MANDATORY_FIELDS = 9;
+
+	private final int[] fieldStart = new int[FIELDS];
+	private final int[] fieldEnd = new int[FIELDS];
+	private final NameCache names;
+	private final DeliveryCursor cursor = new DeliveryCursor();
+
+	private byte[] scratch = new byte[256];
+
+	public DeliveryParser() {
+		this(NameScope.global());
+	}
+
+	/**
+	 * A parser that registers names in the given scope rather than the global one. Such a parser can
+	 * only parse into a cursor; a score can only be made of global names.
+	 */
+	public DeliveryParser(NameScope scope) {
+		this.names = new NameCache(scope);
+	}
+
+	public Score parse(ByteBuffer buffer) {
+		return parse(buffer, buffer.position(), buffer.limit());
+	}
+
+	/**
+	 * Parses the line held in the window {@code [from, to)} of the buffer, without moving its position.
+	 */
+	public Score parse(ByteBuffer buffer, int from, int to) {
+		if(buffer.hasArray()) {
+			return parse(buffer.array(), buffer.arrayOffset() + from, buffer.arrayOffset() + to);
+		}
+
+		int length = to - from;
+		if(scratch.length < length) {
+			scratch = new byte[Math.max(length, scratch.length * 2)];
+		}
+		for(int i = 0; i < length; i++) {
+			scratch[i] = buffer.get(from + i);
+		}
+		return parse(scratch, 0, length);
+	}
+
+	/**
+	 * Parses the line held in {@code line[from, to)}. The line must not contain its line terminator.
+	 */
+	public Score parse(byte[] line, int from, int to) {
+		parse(line, from, to, cursor);
+		return cursor.toScore();
+	}
+
+	/**
+	 * Parses the line held in {@code line[from, to)} into the cursor, allocating nothing once the names
+	 * on the line have been seen before.
+	 */
+	public void parse(byte[] line, int from, int to, DeliveryCursor cursor) {
+		cursor.names(names.scope);
+		int fields = split(line, from, to);
+		if(fields < MANDATORY_FIELDS) {
+			throw new IllegalArgumentException("Expected at least " + MANDATORY_FIELDS + " fields but found "
+					+ fields + " in: " + new String(line, from, to - from, StandardCharsets.UTF_8));
+		}
+
+		int inningsNumber = parseInt(line, fieldStart[0], fieldEnd[0]);
+
+		int overStart = fieldStart[1];
+		int overEnd = fieldEnd[1];
+		int dot = indexOf(line, overStart, overEnd, (byte) '.');
+		if(dot < 0) {
+			throw new NumberFormatException("Expected over.ball but found: "
+					+ new String(line, overStart, overEnd - overStart, StandardCharsets.UTF_8));
+		}
+		int overNumber = parseInt(line, overStart, dot);
+		int ballEnd = indexOf(line, dot + 1, overEnd, (byte) '.');
+		int ballNumber = parseInt(line, dot + 1, ballEnd < 0 ? overEnd : ballEnd);
+
+		int battingTeamId = names.team(line, fieldStart[2], fieldEnd[2]);
+		int bowlingTeamId = names.team(line, fieldStart[3], fieldEnd[3]);
+		int batsmanId = names.player(line, fieldStart[4], fieldEnd[4]).id();
+		int nonStrikerId = names.player(line, fieldStart[5], fieldEnd[5]).id();
+		int bowlerId = names.player(line, fieldStart[6], fieldEnd[6]).id();
+		int runs = parseInt(line, fieldStart[7], fieldEnd[7]);
+
+		if(fieldStart[8] == fieldEnd[8]) {
+			throw new IllegalArgumentException("Missing extras in: " + new String(line, from, to - from, StandardCharsets.UTF_8));
+		}
+		String extra = names.name(line, fieldStart[8], fieldEnd[8]);
+		int extraRuns = digit(line[fieldStart[8]]);
+
+		String kindOfWicket = fields > 9 ? names.name(line, fieldStart[9], fieldEnd[9]) : "";
+		int dismissedPlayerId = fields > 10 ? optionalPlayer(line, fieldStart[10], fieldEnd[10]) : DeliveryCursor.NO_PLAYER;
+		int assistingPlayerId = fields > 11 ? optionalPlayer(line, fieldStart[11], fieldEnd[11]) : DeliveryCursor.NO_PLAYER;
+
+		cursor.set(inningsNumber, overNumber, ballNumber, battingTeamId, bowlingTeamId, batsmanId, nonStrikerId,
+				bowlerId, runs, extra, extra.length() == 1, extraRuns, kindOfWicket, dismissedPlayerId, assistingPlayerId);
+	}
+
+	/**
+	 * Records the trimmed bounds of each comma separated field and returns the number of fields,
+	 * not counting trailing empty ones, the same way {@link String#split(String)} does.
+	 */
+	private int split(byte[] line, int from, int to) {
+		int fields = 0;
+		int nonEmptyFields = 0;
+		int start = from;
+		for(int i = from; i <= to && fields < FIELDS; i++) {
+			if(i == to || line[i] == ',') {
+				int fieldFrom = start;
+				int fieldTo = i;
+				while(fieldFrom < fieldTo && isWhitespace(line[fieldFrom])) {
+					fieldFrom++;
+				}
+				while(fieldTo > fieldFrom && isWhitespace(line[fieldTo - 1])) {
+					fieldTo--;
+				}
+				fieldStart[fields] = fieldFrom;
+				fieldEnd[fields] = fieldTo;
+				fields++;
+				// String.split only drops trailing fields that are empty before trimming.
+				if(i > start) {
+					nonEmptyFields = fields;
+				}
+				start = i + 1;
+			}
+		}
+		return nonEmptyFields;
+	}
+
+	private int optionalPlayer(byte[] line, int from, int to) {
+		return from == to ? DeliveryCursor.NO_PLAYER : names.player(line, from, to).id();
+	}
+
+	private static boolean isWhitespace(byte b) {
+		// Same as String.trim(); bytes of multi-byte UTF-8 characters are negative and never trimmed.
+		return b >= 0 && b <= ' ';
+	}
+
+	private static int indexOf(byte[] line, int from, int to, byte b) {
+		for(int i = from; i < to; i++) {
+			if(line[i] == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static int digit(byte b) {
+		if(b < '0' || b > '9') {
+			throw new NumberFormatException("Not a digit: " + (char) b);
+		}
+		return b - '0';
+	}
+
+	private static int parseInt(byte[] line, int from, int to) {
+		if(from == to) {
+			throw new NumberFormatException("Empty number");
+		}
+
+		boolean negative = false;
+		int i = from;
+		if(line[i] == '-' || line[i] == '+') {
+			negative = line[i] == '-';
+			i++;
+			if(i == to) {
+				throw new NumberFormatException("Sign without digits");
+			}
+		}
+
+		long value = 0;
+		for(; i < to; i++) {
+			value = value * 10 + digit(line[i]);
+			if(value > Integer.MAX_VALUE + 1L) {
+				throw new NumberFormatException("Number out of range: "
+						+ new String(line, from, to - from, StandardCharsets.UTF_8));
+			}
+		}
+		value = negative ? -value : value;
+		if(value > Integer.MAX_VALUE) {
+			throw new NumberFormatException("Number out of range: " + new String(line, from, to - from, StandardCharsets.UTF_8));
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Open addressing table from the bytes of a name to its decoded string, player and team id.
+	 */
+	private static class NameCache {
+
+		private static final int UNKNOWN = Integer.MIN_VALUE;
+
+		final NameScope scope;
+
+		private byte[][] keys = new byte[64][];
+		private String[] names = new String[64];
+		private Player[] players = new Player[64];
+		private int[] teams = newTeams(64);
+		private int size;
+
+		NameCache(NameScope scope) {
+			this.scope = scope;
+		}
+
+		String name(byte[] bytes, int from, int to) {
+			// slot() may grow the table, so the arrays are read after it.
+			int slot = slot(bytes, from, to);
+			return names[slot];
+		}
+
+		Player player(byte[] bytes, int from, int to) {
+			int slot = slot(bytes, from, to);
+			Player player = players[slot];
+			if(player == null) {
+				player = scope.player(names[slot]);
+				players[slot] = player;
+			}
+			return player;
+		}
+		
+		int team(byte[] bytes, int from, int to) {
+			int slot = slot(bytes, from, to);
+			int teamId = teams[slot];
+			if(teamId == UNKNOWN) {
+				teamId = scope.teamId(names[slot]);
+				teams[slot] = teamId;
+			}
+			return teamId;
+		}
+
+		private int slot(byte[] bytes, int from, int to) {
+			int hash = 1;
+			for(int i = from; i < to; i++) {
+				hash = 31 * hash + bytes[i];
+			}
+
+			int mask = keys.length - 1;
+			int slot = mix(hash) & mask;
+			while(keys[slot] != null) {
+				if(matches(keys[slot], bytes, from, to)) {
+					return slot;
+				}
+				slot = (slot + 1) & mask;
+			}
+
+			if(size * 2 >= keys.length) {
+				grow();
+				return slot(bytes, from, to);
+			}
+
+			byte[] key = new byte[to - from];
+			System.arraycopy(bytes, from, key, 0, key.length);
+			keys[slot] = key;
+			names[slot] = new String(key, StandardCharsets.UTF_8);
+			size++;
+			return slot;
+		}
+
+		private static int[] newTeams(int length) {
+			int[] teams = new int[length];
+			Arrays.fill(teams, UNKNOWN);
+			return teams;
+		}
+		
+		private static boolean matches(byte[] key, byte[] bytes, int from, int to) {
+			if(key.length != to - from) {
+				return false;
+			}
+			for(int i = 0; i < key.length; i++) {
+				if(key[i] != bytes[from + i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int mix(int hash) {
+			return hash ^ (hash >>> 16);
+		}
+
+		private void grow() {
+			byte[][] oldKeys = keys;
+			String[] oldNames = names;
+			Player[] oldPlayers = players;
+			int[] oldTeams = teams;
+
+			keys = new byte[oldKeys.length * 2][];
+			names = new String[keys.length];
+			players = new Player[keys.length];
+			teams = newTeams(keys.length);
+
+			int mask = keys.length - 1;
+			for(int i = 0; i < oldKeys.length; i++) {
+				byte[] key = oldKeys[i];
+				if(key == null) {
+					continue;
+				}
+				int hash = 1;
+				for(byte b : key) {
+					hash = 31 * hash + b;
+				}
+				int slot = mix(hash) & mask;
+				while(keys[slot] != null) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = key;
+				names[slot] = oldNames[i];
+				players[slot] = oldPlayers[i];
+				teams[slot] = oldTeams[i];
+			}
+		}
+	}
+
+}
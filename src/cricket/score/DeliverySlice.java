@@ -0,0 +1,90 @@
+package cricket.score;
+
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * The deliveries selected by a {@link DeliveryIndex.Query}, in the order they were bowled.
+ */
+public class DeliverySlice {
+
+	private final DeliveryColumns columns;
+	private final int[] rows;
+
+	DeliverySlice(DeliveryColumns columns, int[] rows) {
+		this.columns = columns;
+		this.rows = rows;
+	}
+
+	public int size() {
+		return rows.length;
+	}
+
+	public boolean isEmpty() {
+		return rows.length == 0;
+	}
+
+	/**
+	 * Position in the indexed {@link DeliveryColumns} of the i-th delivery of the slice.
+	 */
+	public int position(int i) {
+		return rows[i];
+	}
+
+	/**
+	 * The scores of the slice, rebuilt as they are read.
+	 */
+	public List<Score> getScores() {
+		return new AbstractList<Score>() {
+			@Override
+			public Score get(int i) {
+				return columns.get(rows[i]);
+			}
+
+			@Override
+			public int size() {
+				return rows.length;
+			}
+		};
+	}
+
+	/**
+	 * Runs off the bat plus extras.
+	 */
+	public int getRuns() {
+		int total = 0;
+		for(int i : rows) {
+			total += columns.runs[i] + columns.extraRuns[i];
+		}
+		return total;
+	}
+
+	public int getLegalDeliveries() {
+		int total = 0;
+		for(int i : rows) {
+			if(columns.isLegalDelivery(i)) {
+				total++;
+			}
+		}
+		return total;
+	}
+
+	public int getWickets() {
+		int total = 0;
+		for(int i : rows) {
+			if(columns.isDismissalDelivery(i)) {
+				total++;
+			}
+		}
+		return total;
+	}
+
+	/**
+	 * Scores the slice as if it were a whole match: player points and team rates only count the
+	 * deliveries of the slice.
+	 */
+	public ScoreBoard toScoreBoard() {
+		return new ScoreBoard(columns, rows);
+	}
+
+}
@@ -0,0 +1,349 @@
+package cricket.score;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import cricket.Player;
+import cricket.PlayerRegistry;
+import cricket.TeamRegistry;
+
+/**
+ * Parsed deliveries saved in a compact binary file, so that they can be loaded again without parsing.
+ * <p>
+ * The file starts with a magic number and a version, then dictionaries of the player names, team
+ * names, extras and kinds of wicket, then the number of deliveries followed by one fixed-width record
+ * per delivery. Records refer to players, teams, extras and kinds of wicket by their position in the
+ * dictionaries. {@link #load(Path)} maps the file into memory and reads deliveries straight from the
+ * mapped records, so a delivery is never parsed.
+ * <p>
+ * A file is mapped as one buffer, which cannot be larger than 2 GB, so a snapshot holds at most
+ * {@link #MAX_DELIVERIES}, about 51 million deliveries. Larger histories are split over several files.
+ */
+public class DeliverySnapshot {
+
+	static final int MAGIC = 0x4D4F4D44; // "MOMD"
+	static final int VERSION = 1;
+
+	/**
+	 * batsman, non-striker, bowler, dismissed, assisting, batting team, bowling team as ints, then
+	 * innings, over, ball, runs, extra runs, extra type and kind of wicket as shorts.
+	 */
+	static final int RECORD_SIZE = 7 * Integer.BYTES + 7 * Short.BYTES;
+
+	/**
+	 * The most deliveries a snapshot holds, leaving room for the dictionaries within one mapping.
+	 */
+	public static final int MAX_DELIVERIES = (Integer.MAX_VALUE - (1 << 20)) / RECORD_SIZE;
+
+	private static final int NONE = -1;
+
+	private final ByteBuffer records;
+	private final int size;
+	private final Player[] players;
+	private final int[] teams;
+	private final String[] extras;
+	private final boolean[] legalExtras;
+	private final String[] wicketKinds;
+
+	private DeliverySnapshot(ByteBuffer records, int size, Player[] players, int[] teams, String[] extras,
+			boolean[] legalExtras, String[] wicketKinds) {
+		this.records = records;
+		this.size = size;
+		this.players = players;
+		this.teams = teams;
+		this.extras = extras;
+		this.legalExtras = legalExtras;
+		this.wicketKinds = wicketKinds;
+	}
+
+	/**
+	 * Writes the deliveries to a snapshot file, replacing the file if it exists.
+	 */
+	public static void write(DeliveryColumns columns, Path file) {
+		write(columns::replay, columns.size(), file);
+	}
+
+	/**
+	 * Writes the {@code size} deliveries of a replay to a snapshot file. The replay is run twice, first
+	 * to number the names and then to write the records.
+	 */
+	static void write(Consumer<DeliveryVisitor> deliveries, int size, Path file) {
+		if(size > MAX_DELIVERIES) {
+			throw new IllegalArgumentException("A snapshot holds at most " + MAX_DELIVERIES + " deliveries, not " + size);
+		}
+		LocalIds players = new LocalIds(PlayerRegistry.size());
+		LocalIds teams = new LocalIds(TeamRegistry.size());
+		Map<String, Integer> extraCodes = new LinkedHashMap<>();
+		Map<String, Boolean> legalExtras = new HashMap<>();
+		Map<String, Integer> wicketKindCodes = new LinkedHashMap<>();
+		deliveries.accept(delivery -> {
+			players.add(delivery.getBatsmanId());
+			players.add(delivery.getNonStrikerId());
+			players.add(delivery.getBowlerId());
+			players.add(delivery.getDismissedPlayerId());
+			players.add(delivery.getAssistingPlayerId());
+			teams.add(delivery.getBattingTeamId());
+			teams.add(delivery.getBowlingTeamId());
+			extraCodes.putIfAbsent(delivery.getExtra(), extraCodes.size());
+			legalExtras.putIfAbsent(delivery.getExtra(), delivery.isLegalDelivery());
+			if(delivery.isDismissalDelivery()) {
+				wicketKindCodes.putIfAbsent(delivery.getKindOfWicket(), wicketKindCodes.size());
+			}
+		});
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), 1 << 16))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+
+			out.writeInt(players.count);
+			for(int i = 0; i < players.count; i++) {
+				writeName(out, PlayerRegistry.byId(players.ids[i]).name());
+			}
+			out.writeInt(teams.count);
+			for(int i = 0; i < teams.count; i++) {
+				writeName(out, TeamRegistry.nameOf(teams.ids[i]));
+			}
+			out.writeInt(extraCodes.size());
+			for(String extra : extraCodes.keySet()) {
+				writeName(out, extra);
+				out.writeBoolean(legalExtras.get(extra));
+			}
+			out.writeInt(wicketKindCodes.size());
+			for(String wicketKind : wicketKindCodes.keySet()) {
+				writeName(out, wicketKind);
+			}
+
+			out.writeInt(size);
+			if(out.size() + (long) size * RECORD_SIZE > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("A snapshot of " + size + " deliveries and " + out.size()
+						+ " bytes of names is larger than 2 GB: " + file);
+			}
+			RecordWriter records = new RecordWriter(out, players, teams, extraCodes, wicketKindCodes);
+			deliveries.accept(records);
+			if(records.written != size) {
+				throw new IllegalStateException("Expected " + size + " deliveries but replayed " + records.written);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not write snapshot file: " + file, e);
+		} catch (UncheckedIOException e) {
+			throw new IllegalStateException("Could not write snapshot file: " + file, e.getCause());
+		}
+	}
+
+	private static class RecordWriter implements DeliveryVisitor {
+
+		private final DataOutputStream out;
+		private final LocalIds players;
+		private final LocalIds teams;
+		private final Map<String, Integer> extraCodes;
+		private final Map<String, Integer> wicketKindCodes;
+		int written;
+
+		RecordWriter(DataOutputStream out, LocalIds players, LocalIds teams, Map<String, Integer> extraCodes,
+				Map<String, Integer> wicketKindCodes) {
+			this.out = out;
+			this.players = players;
+			this.teams = teams;
+			this.extraCodes = extraCodes;
+			this.wicketKindCodes = wicketKindCodes;
+		}
+
+		@Override
+		public void visit(DeliveryCursor delivery) {
+			try {
+				out.writeInt(players.of(delivery.getBatsmanId()));
+				out.writeInt(players.of(delivery.getNonStrikerId()));
+				out.writeInt(players.of(delivery.getBowlerId()));
+				out.writeInt(players.of(delivery.getDismissedPlayerId()));
+				out.writeInt(players.of(delivery.getAssistingPlayerId()));
+				out.writeInt(teams.of(delivery.getBattingTeamId()));
+				out.writeInt(teams.of(delivery.getBowlingTeamId()));
+				out.writeShort(delivery.getInningsNumber());
+				out.writeShort(delivery.getOverNumber());
+				out.writeShort(delivery.getBallNumber());
+				out.writeShort(delivery.getRuns());
+				out.writeShort(delivery.getExtraRuns());
+				out.writeShort(extraCodes.get(delivery.getExtra()));
+				out.writeShort(delivery.isDismissalDelivery() ? wicketKindCodes.get(delivery.getKindOfWicket())
+						: DeliveryColumns.NO_WICKET);
+				written++;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * Numbers the registry ids found in the deliveries from 0, in the order they are first seen.
+	 */
+	private static class LocalIds {
+
+		private final int[] index;
+		private int[] ids = new int[16];
+		private int count;
+
+		LocalIds(int registrySize) {
+			index = new int[registrySize];
+			Arrays.fill(index, NONE);
+		}
+
+		void add(int id) {
+			if(id != NONE && index[id] == NONE) {
+				if(count == ids.length) {
+					ids = Arrays.copyOf(ids, count * 2);
+				}
+				index[id] = count;
+				ids[count++] = id;
+			}
+		}
+
+		int of(int id) {
+			return id == NONE ? NONE : index[id];
+		}
+	}
+
+	private static void writeName(DataOutputStream out, String name) throws IOException {
+		byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	/**
+	 * Maps a snapshot file into memory. Only the dictionaries are read up front.
+	 */
+	public static DeliverySnapshot load(Path file) {
+		if(!Files.isRegularFile(file)) {
+			throw new IllegalArgumentException("Snapshot file name: " + file + " does not exist");
+		}
+
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			if(channel.size() > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Snapshot file is larger than 2 GB: " + file);
+			}
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read snapshot file: " + file, e);
+		}
+
+		try {
+			if(buffer.getInt() != MAGIC) {
+				throw new IllegalArgumentException("Not a snapshot file: " + file);
+			}
+			int version = buffer.getInt();
+			if(version != VERSION) {
+				throw new IllegalArgumentException("Unsupported snapshot version " + version + ": " + file);
+			}
+
+			Player[] players = new Player[buffer.getInt()];
+			for(int i = 0; i < players.length; i++) {
+				players[i] = PlayerRegistry.intern(readName(buffer));
+			}
+			int[] teams = new int[buffer.getInt()];
+			for(int i = 0; i < teams.length; i++) {
+				teams[i] = TeamRegistry.idOf(readName(buffer));
+			}
+			String[] extras = new String[buffer.getInt()];
+			boolean[] legalExtras = new boolean[extras.length];
+			for(int i = 0; i < extras.length; i++) {
+				extras[i] = readName(buffer);
+				legalExtras[i] = buffer.get() != 0;
+			}
+			String[] wicketKinds = new String[buffer.getInt()];
+			for(int i = 0; i < wicketKinds.length; i++) {
+				wicketKinds[i] = readName(buffer);
+			}
+
+			int size = buffer.getInt();
+			if(size < 0 || buffer.remaining() != (long) size * RECORD_SIZE) {
+				throw new IllegalArgumentException("Snapshot file has the wrong length: " + file);
+			}
+			return new DeliverySnapshot(buffer.slice(), size, players, teams, extras, legalExtras, wicketKinds);
+		} catch (BufferUnderflowException | NegativeArraySizeException e) {
+			throw new IllegalArgumentException("Truncated snapshot file: " + file, e);
+		}
+	}
+
+	private static String readName(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getInt()];
+		buffer.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Rebuilds the score of the delivery at the given position.
+	 */
+	public Score get(int i) {
+		if(i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Delivery " + i + " of " + size);
+		}
+		int at = i * RECORD_SIZE;
+		int shorts = at + 7 * Integer.BYTES;
+		short wicketKind = records.getShort(shorts + 12);
+		return new Score(records.getShort(shorts), records.getShort(shorts + 2), records.getShort(shorts + 4),
+				teams[records.getInt(at + 20)], teams[records.getInt(at + 24)], players[records.getInt(at)],
+				players[records.getInt(at + 4)], players[records.getInt(at + 8)], records.getShort(shorts + 6),
+				extras[records.getShort(shorts + 10)], records.getShort(shorts + 8),
+				wicketKind == DeliveryColumns.NO_WICKET ? "" : wicketKinds[wicketKind], player(records.getInt(at + 12)),
+				player(records.getInt(at + 16)));
+	}
+
+	private Optional<Player> player(int index) {
+		return index == NONE ? Optional.empty() : Optional.of(players[index]);
+	}
+
+	public DeliveryColumns toColumns() {
+		DeliveryColumns columns = new DeliveryColumns(size);
+		for(int i = 0; i < size; i++) {
+			columns.add(get(i));
+		}
+		return columns;
+	}
+
+	public ScoreBoard toScoreBoard() {
+		return new ScoreBoard(this);
+	}
+
+	/**
+	 * Feeds every delivery to the visitor through one cursor, reading the records in place.
+	 */
+	public void replay(DeliveryVisitor visitor) {
+		DeliveryCursor cursor = new DeliveryCursor();
+		for(int i = 0, at = 0; i < size; i++, at += RECORD_SIZE) {
+			int shorts = at + 7 * Integer.BYTES;
+			short extraType = records.getShort(shorts + 10);
+			short wicketKind = records.getShort(shorts + 12);
+			cursor.set(records.getShort(shorts), records.getShort(shorts + 2), records.getShort(shorts + 4),
+					teams[records.getInt(at + 20)], teams[records.getInt(at + 24)], players[records.getInt(at)].id(),
+					players[records.getInt(at + 4)].id(), players[records.getInt(at + 8)].id(),
+					records.getShort(shorts + 6), extras[extraType], legalExtras[extraType], records.getShort(shorts + 8),
+					wicketKind == DeliveryColumns.NO_WICKET ? "" : wicketKinds[wicketKind],
+					playerId(records.getInt(at + 12)), playerId(records.getInt(at + 16)));
+			visitor.visit(cursor);
+		}
+	}
+
+	private int playerId(int index) {
+		return index == NONE ? DeliveryCursor.NO_PLAYER : players[index].id();
+	}
+
+}
@@ -0,0 +1,12 @@
+package cricket.score;
+
+/**
+ * Receives the deliveries of a replay, one at a time, through a {@link DeliveryCursor} that is
+ * reused for every delivery.
+ */
+@FunctionalInterface
+public interface DeliveryVisitor {
+
+	void visit(DeliveryCursor delivery);
+
+}
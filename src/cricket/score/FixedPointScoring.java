@@ -0,0 +1,263 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+
+import cricket.TeamRegistry;
+
+/**
+ * Points arithmetic on scaled longs. Points are held in ten-thousandths and strike and economy rates
+ * in hundredths, rounded half up like {@code divide(..., 2, RoundingMode.HALF_UP)}. With point values
+ * and bonus factors of at most two decimal places every result is exact, so the numbers, including
+ * which side of a "markedly different" threshold a rate falls, are the same as with BigDecimal.
+ * <p>
+ * The scale a BigDecimal result would have had is derived separately, from which terms contribute,
+ * so that {@link #toBigDecimal(long, int)} gives back identical values at the public API.
+ */
+final class FixedPointScoring {
+
+	static final int POINTS_SCALE = 4;
+	static final int RATE_SCALE = 2;
+
+	private static final long POINTS_ONE = 10_000;
+	private static final long RATE_ONE = 100;
+	private static final int MAX_RULE_SCALE = 2;
+
+	private final long battingBonusFactor;
+	private final int battingBonusFactorScale;
+	private final long bowlingBonusFactor;
+	private final int bowlingBonusFactorScale;
+	private final long nonAssistBowlingPoints;
+	private final int nonAssistBowlingPointsScale;
+	private final long assistBowlingPoints;
+	private final int assistBowlingPointsScale;
+
+	FixedPointScoring(BigDecimal battingBonusFactor, BigDecimal bowlingBonusFactor, BigDecimal nonAssistBowlingPoints,
+			BigDecimal assistBowlingPoints) {
+		this.battingBonusFactor = scaled(battingBonusFactor, RATE_SCALE, "batting bonus factor");
+		this.battingBonusFactorScale = battingBonusFactor.scale();
+		this.bowlingBonusFactor = scaled(bowlingBonusFactor, RATE_SCALE, "bowling bonus factor");
+		this.bowlingBonusFactorScale = bowlingBonusFactor.scale();
+		this.nonAssistBowlingPoints = scaled(nonAssistBowlingPoints, POINTS_SCALE, "non assist bowling points");
+		this.nonAssistBowlingPointsScale = nonAssistBowlingPoints.scale();
+		this.assistBowlingPoints = scaled(assistBowlingPoints, POINTS_SCALE, "assist bowling points");
+		this.assistBowlingPointsScale = assistBowlingPoints.scale();
+	}
+
+	private static long scaled(BigDecimal value, int scale, String name) {
+		if(value.stripTrailingZeros().scale() > MAX_RULE_SCALE) {
+			throw new IllegalArgumentException("The " + name + " can have at most " + MAX_RULE_SCALE
+					+ " decimal places: " + value.toPlainString());
+		}
+		return value.setScale(scale).unscaledValue().longValueExact();
+	}
+
+	/**
+	 * The rule values, written out with their scales, so that two scorings give the same text exactly
+	 * when they give the same points at the same scales.
+	 */
+	String rules() {
+		return "battingBonusFactor=" + rule(battingBonusFactor, RATE_SCALE, battingBonusFactorScale)
+				+ ",bowlingBonusFactor=" + rule(bowlingBonusFactor, RATE_SCALE, bowlingBonusFactorScale)
+				+ ",nonAssistBowlingPoints=" + rule(nonAssistBowlingPoints, POINTS_SCALE, nonAssistBowlingPointsScale)
+				+ ",assistBowlingPoints=" + rule(assistBowlingPoints, POINTS_SCALE, assistBowlingPointsScale);
+	}
+
+	private static String rule(long value, int scale, int ruleScale) {
+		return BigDecimal.valueOf(value, scale).setScale(ruleScale).toString();
+	}
+
+	static BigDecimal toBigDecimal(long value, int scale) {
+		return BigDecimal.valueOf(value, POINTS_SCALE).setScale(scale);
+	}
+
+	static BigDecimal rateToBigDecimal(long rate) {
+		return BigDecimal.valueOf(rate, RATE_SCALE);
+	}
+
+	/**
+	 * Whether the player's points are defined. They are not when a team rate the bonuses are measured
+	 * against has no balls to go on, or the player's rate sits exactly on a bonus threshold; working
+	 * them out then throws, as the BigDecimal scoring did.
+	 */
+	boolean isDefined(MatchStats match, PlayerStats player) {
+		TeamStats team = match.team(teamOf(match, player));
+		if(player.ballsFaced > 0) {
+			if(team.balls == 0) {
+				return false;
+			}
+			long teamStrikeRate = teamStrikeRate(team);
+			long diff = playerStrikeRate(player) - teamStrikeRate;
+			if(Math.abs(diff) * RATE_ONE == Math.abs(teamStrikeRate * battingBonusFactor)) {
+				return false;
+			}
+		}
+		if(team.ballsBowled == 0) {
+			return false;
+		}
+		long teamEconomyRate = teamEconomyRate(team);
+		long diff = teamEconomyRate - playerEconomyRate(player);
+		return diff == 0 || Math.abs(diff) * RATE_ONE != teamEconomyRate * bowlingBonusFactor;
+	}
+
+	long matchPoints(MatchStats match, PlayerStats player) {
+		return basePoints(player) + bonusPoints(match, player);
+	}
+
+	int matchPointsScale(MatchStats match, PlayerStats player) {
+		return Math.max(basePointsScale(player), bonusPointsScale(match, player));
+	}
+
+	long basePoints(PlayerStats player) {
+		return player.runs * POINTS_ONE + baseBowlingPoints(player) + baseFieldingPoints(player);
+	}
+
+	int basePointsScale(PlayerStats player) {
+		return Math.max(baseBowlingPointsScale(player), baseFieldingPointsScale(player));
+	}
+
+	long bonusPoints(MatchStats match, PlayerStats player) {
+		return bonusBattingPoints(match, player) + bonusBowlingPoints(match, player);
+	}
+
+	int bonusPointsScale(MatchStats match, PlayerStats player) {
+		return Math.max(bonusBattingPointsScale(match, player), bonusBowlingPointsScale(match, player));
+	}
+
+	long baseBowlingPoints(PlayerStats player) {
+		return player.unassistedWickets * nonAssistBowlingPoints + player.assistedWickets * assistBowlingPoints;
+	}
+
+	int baseBowlingPointsScale(PlayerStats player) {
+		int scale = 0;
+		if(player.unassistedWickets > 0) {
+			scale = Math.max(scale, nonAssistBowlingPointsScale);
+		}
+		if(player.assistedWickets > 0) {
+			scale = Math.max(scale, assistBowlingPointsScale);
+		}
+		return scale;
+	}
+
+	long baseFieldingPoints(PlayerStats player) {
+		return player.fieldingAssists * assistBowlingPoints;
+	}
+
+	int baseFieldingPointsScale(PlayerStats player) {
+		return player.fieldingAssists > 0 ? assistBowlingPointsScale : 0;
+	}
+
+	long bonusBattingPoints(MatchStats match, PlayerStats player) {
+		return battingBonusDirection(match, player) * player.runs * battingBonusFactor * (POINTS_ONE / RATE_ONE);
+	}
+
+	int bonusBattingPointsScale(MatchStats match, PlayerStats player) {
+		return battingBonusDirection(match, player) == 0 ? 0 : battingBonusFactorScale;
+	}
+
+	/**
+	 * 1 when the player's strike rate is markedly above the team's, -1 when markedly below, 0 otherwise.
+	 */
+	private int battingBonusDirection(MatchStats match, PlayerStats player) {
+		if(player.ballsFaced == 0) {
+			return 0;
+		}
+
+		long teamStrikeRate = teamStrikeRate(match.team(teamOf(match, player)));
+		long playerStrikeRate = playerStrikeRate(player);
+
+		long diff = playerStrikeRate - teamStrikeRate;
+
+		if(isGreater(Math.abs(diff) * RATE_ONE, Math.abs(teamStrikeRate * battingBonusFactor))) {
+			return diff > 0 ? 1 : -1;
+		} else {
+			return 0;
+		}
+	}
+
+	long bonusBowlingPoints(MatchStats match, PlayerStats player) {
+		return bowlingBonusDirection(match, player) * baseBowlingPoints(player) * bowlingBonusFactor / RATE_ONE;
+	}
+
+	int bonusBowlingPointsScale(MatchStats match, PlayerStats player) {
+		return bowlingBonusDirection(match, player) == 0 ? 0 : baseBowlingPointsScale(player) + bowlingBonusFactorScale;
+	}
+
+	/**
+	 * 1 when the player's economy rate is markedly below the team's, -1 when markedly above, 0 otherwise.
+	 */
+	private int bowlingBonusDirection(MatchStats match, PlayerStats player) {
+		long teamEconomyRate = teamEconomyRate(match.team(teamOf(match, player)));
+		long playerEconomyRate = playerEconomyRate(player);
+
+		long diff = teamEconomyRate - playerEconomyRate;
+		long threshold = teamEconomyRate * bowlingBonusFactor;
+
+		if(diff > 0) {
+			if(isGreater(diff * RATE_ONE, threshold)) {
+				return 1;
+			}
+		}
+
+		if(diff < 0) {
+			if(isGreater(-diff * RATE_ONE, threshold)) {
+				return -1;
+			}
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Like the BigDecimal comparison it replaces, equal values give {@code null}.
+	 */
+	private static Boolean isGreater(long a, long b) {
+		if(a == b) {
+			return null;
+		}
+		return a > b;
+	}
+
+	private static int teamOf(MatchStats match, PlayerStats player) {
+		if(player.team == TeamRegistry.NO_TEAM) {
+			throw new RuntimeException("No team found for " + match.playerOf(player.playerId));
+		}
+		return player.team;
+	}
+
+	static long playerStrikeRate(PlayerStats player) {
+		return player.ballsFaced == 0 ? 0 : rate(player.runs, player.ballsFaced);
+	}
+
+	static long playerEconomyRate(PlayerStats player) {
+		return player.ballsBowled == 0 ? 0 : rate(player.runsConceded, player.ballsBowled);
+	}
+
+	static long teamStrikeRate(TeamStats team) {
+		return rate(team.runs, team.balls);
+	}
+
+	static long teamEconomyRate(TeamStats team) {
+		return rate(team.runsGiven, team.ballsBowled);
+	}
+
+	/**
+	 * runs / balls in hundredths, rounded half up (away from zero on a tie). Throws
+	 * {@link ArithmeticException} when there are no balls.
+	 */
+	static long rate(long runs, long balls) {
+		if(balls == 0) {
+			throw new ArithmeticException("Division by zero");
+		}
+		long numerator = runs * RATE_ONE;
+		if(balls < 0) {
+			numerator = -numerator;
+			balls = -balls;
+		}
+		if(numerator >= 0) {
+			return (2 * numerator + balls) / (2 * balls);
+		} else {
+			return -((-2 * numerator + balls) / (2 * balls));
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package cricket.score;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing table from registry ids to dense slots, starting at zero, in the order the ids are
+ * first added, so that per-match arrays are sized by the players and teams of the match rather than by
+ * every name the registries have handed out.
+ * <p>
+ * Not thread-safe.
+ */
+final class IdSlots {
+
+	static final int NO_SLOT = -1;
+
+	private int[] ids = newIds(16);
+	private int[] slots = new int[16];
+	private int size;
+
+	/**
+	 * The slot of the id, or {@link #NO_SLOT} if it has not been added.
+	 */
+	int slot(int id) {
+		if(id < 0) {
+			return NO_SLOT;
+		}
+		int mask = ids.length - 1;
+		for(int at = mix(id) & mask; ids[at] != NO_SLOT; at = (at + 1) & mask) {
+			if(ids[at] == id) {
+				return slots[at];
+			}
+		}
+		return NO_SLOT;
+	}
+
+	/**
+	 * The slot of the id, giving it the next slot if it has not been added.
+	 */
+	int add(int id) {
+		if(id < 0) {
+			throw new IllegalArgumentException("Not a registry id: " + id);
+		}
+		int mask = ids.length - 1;
+		int at = mix(id) & mask;
+		for(; ids[at] != NO_SLOT; at = (at + 1) & mask) {
+			if(ids[at] == id) {
+				return slots[at];
+			}
+		}
+		if(size * 2 >= ids.length) {
+			grow();
+			return add(id);
+		}
+		ids[at] = id;
+		slots[at] = size;
+		return size++;
+	}
+
+	int size() {
+		return size;
+	}
+
+	private void grow() {
+		int[] oldIds = ids;
+		int[] oldSlots = slots;
+		ids = newIds(oldIds.length * 2);
+		slots = new int[oldIds.length * 2];
+		int mask = ids.length - 1;
+		for(int i = 0; i < oldIds.length; i++) {
+			if(oldIds[i] != NO_SLOT) {
+				int at = mix(oldIds[i]) & mask;
+				while(ids[at] != NO_SLOT) {
+					at = (at + 1) & mask;
+				}
+				ids[at] = oldIds[i];
+				slots[at] = oldSlots[i];
+			}
+		}
+	}
+
+	private static int[] newIds(int length) {
+		int[] ids = new int[length];
+		Arrays.fill(ids, NO_SLOT);
+		return ids;
+	}
+
+	private static int mix(int id) {
+		int h = id * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
@@ -0,0 +1,37 @@
+package cricket.score;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The scores read by a {@link LenientScoreReader} and the lines it rejected, both in file order.
+ */
+public class IngestResult {
+
+	private final List<Score> scores;
+	private final List<RejectedLine> rejectedLines;
+	private final long linesRead;
+
+	IngestResult(List<Score> scores, List<RejectedLine> rejectedLines, long linesRead) {
+		this.scores = Collections.unmodifiableList(scores);
+		this.rejectedLines = Collections.unmodifiableList(rejectedLines);
+		this.linesRead = linesRead;
+	}
+
+	public List<Score> getScores() {
+		return scores;
+	}
+
+	public List<RejectedLine> getRejectedLines() {
+		return rejectedLines;
+	}
+
+	public long getLinesRead() {
+		return linesRead;
+	}
+
+	public boolean isComplete() {
+		return rejectedLines.isEmpty();
+	}
+
+}
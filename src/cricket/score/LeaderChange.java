@@ -0,0 +1,43 @@
+package cricket.score;
+
+import java.util.Set;
+
+import cricket.Player;
+
+/**
+ * The leaders of a match changing after a delivery, as listed by {@link StandingsTimeline#getLeaderChanges()}.
+ */
+public final class LeaderChange {
+
+	private final int deliveries;
+	private final Set<Player> previousLeaders;
+	private final Set<Player> leaders;
+
+	LeaderChange(int deliveries, Set<Player> previousLeaders, Set<Player> leaders) {
+		this.deliveries = deliveries;
+		this.previousLeaders = previousLeaders;
+		this.leaders = leaders;
+	}
+
+	/**
+	 * The number of deliveries bowled when the leaders changed.
+	 */
+	public int getDeliveries() {
+		return deliveries;
+	}
+
+	public Set<Player> getPreviousLeaders() {
+		return previousLeaders;
+	}
+
+	public Set<Player> getLeaders() {
+		return leaders;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("LeaderChange [deliveries=%s, previousLeaders=%s, leaders=%s]", deliveries, previousLeaders,
+				leaders);
+	}
+
+}
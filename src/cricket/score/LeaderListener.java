@@ -0,0 +1,14 @@
+package cricket.score;
+
+import java.util.Set;
+
+import cricket.Player;
+
+/**
+ * Told by a {@link LiveScoreBoard} whenever the set of players leading the match changes.
+ */
+public interface LeaderListener {
+
+	void leadersChanged(Set<Player> previousLeaders, Set<Player> leaders, int deliveries);
+
+}
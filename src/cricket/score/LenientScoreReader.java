@@ -0,0 +1,133 @@
+package cricket.score;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import cricket.metrics.Counter;
+import cricket.metrics.Metrics;
+
+/**
+ * Reads score files that may contain bad lines. A line that cannot be read as a score is rejected
+ * with its line number and the reason, reported to the {@link RejectionSink} and to the
+ * {@link IngestResult}, and reading goes on with the next line. Lines are split, skipped when blank
+ * and parsed as by {@link ScoreReader}.
+ * <p>
+ * Once more lines than the error budget have been rejected the file is taken to be of the wrong
+ * kind altogether and reading stops with an {@link IllegalStateException}. A file that cannot be
+ * read fails the same way.
+ */
+public class LenientScoreReader {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final long errorBudget;
+	private final RejectionSink sink;
+
+	/**
+	 * A reader that rejects any number of lines.
+	 */
+	public LenientScoreReader() {
+		this(Long.MAX_VALUE, RejectionSink.NONE);
+	}
+
+	public LenientScoreReader(long errorBudget) {
+		this(errorBudget, RejectionSink.NONE);
+	}
+
+	public LenientScoreReader(long errorBudget, RejectionSink sink) {
+		if(errorBudget < 0) {
+			throw new IllegalArgumentException("Error budget must not be negative: " + errorBudget);
+		}
+		this.errorBudget = errorBudget;
+		this.sink = sink;
+	}
+
+	public IngestResult read(Path scoreFile) {
+		return read(scoreFile, StandardCharsets.UTF_8);
+	}
+
+	public IngestResult read(Path scoreFile, Charset charset) {
+		if(!Files.isRegularFile(scoreFile)) {
+			throw new IllegalArgumentException("Score file name: " + scoreFile + " does not exist");
+		}
+
+		try (InputStream is = Files.newInputStream(scoreFile)) {
+			return read(is, charset);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		}
+	}
+
+	/**
+	 * Reads all of the stream, without closing it.
+	 */
+	public IngestResult read(InputStream is, Charset charset) throws IOException {
+		Ingest ingest = new Ingest();
+		if(StandardCharsets.UTF_8.equals(charset)) {
+			ByteLineReader rd = new ByteLineReader(is, BUFFER_SIZE);
+			DeliveryParser parser = new DeliveryParser();
+			while(rd.nextLine()) {
+				ingest.lineNumber++;
+				Metrics.increment(Counter.LINES_READ);
+				if(ScoreReader.isBlank(rd.buffer(), rd.lineStart(), rd.lineEnd())) {
+					Metrics.increment(Counter.BLANK_LINES_SKIPPED);
+					continue;
+				}
+				try {
+					ingest.scores.add(parser.parse(rd.buffer(), rd.lineStart(), rd.lineEnd()));
+				} catch (RuntimeException e) {
+					ingest.reject(new String(rd.buffer(), rd.lineStart(), rd.lineEnd() - rd.lineStart(), StandardCharsets.UTF_8), e);
+				}
+			}
+		} else {
+			BufferedReader rd = new BufferedReader(new InputStreamReader(is, charset), BUFFER_SIZE);
+			String line;
+			while((line = rd.readLine()) != null) {
+				ingest.lineNumber++;
+				Metrics.increment(Counter.LINES_READ);
+				if(line.trim().isEmpty()) {
+					Metrics.increment(Counter.BLANK_LINES_SKIPPED);
+					continue;
+				}
+				try {
+					ingest.scores.add(Score.from(line.trim()));
+				} catch (RuntimeException e) {
+					ingest.reject(line, e);
+				}
+			}
+		}
+		return new IngestResult(ingest.scores, ingest.rejected, ingest.lineNumber);
+	}
+
+	private class Ingest {
+
+		final List<Score> scores = new ArrayList<>();
+		final List<RejectedLine> rejected = new ArrayList<>();
+		long lineNumber;
+
+		void reject(String line, RuntimeException e) {
+			Metrics.increment(Counter.PARSE_FAILURES);
+			RejectedLine rejectedLine = new RejectedLine(lineNumber, line, reason(e));
+			rejected.add(rejectedLine);
+			sink.reject(rejectedLine);
+			if(rejected.size() > errorBudget) {
+				throw new IllegalStateException("More than " + errorBudget + " lines rejected, last at line "
+						+ lineNumber + ": " + rejectedLine.getReason());
+			}
+		}
+	}
+
+	private static String reason(RuntimeException e) {
+		String message = e.getMessage();
+		return message == null ? e.getClass().getSimpleName() : e.getClass().getSimpleName() + ": " + message;
+	}
+
+}
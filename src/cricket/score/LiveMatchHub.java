@@ -0,0 +1,234 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Takes in the deliveries of several live matches at once, from any number of producer threads.
+ * <p>
+ * Every match has its own bounded queue and its own totals. The totals are only ever touched by one
+ * drain task at a time, which is run on the executor whenever the queue has deliveries and no task is
+ * already draining it, so the totals need no lock and matches are scored in parallel with each other.
+ * After each batch of deliveries the drain task publishes an immutable {@link MatchSnapshot} through a
+ * volatile reference, so readers never block the writers and always see the standings after a whole
+ * number of deliveries.
+ * <p>
+ * When a match's queue is full, {@link #offer(String, Score)} turns the delivery down and
+ * {@link #put(String, Score)} waits for room.
+ */
+public class LiveMatchHub implements AutoCloseable {
+
+	private static final int BATCH_SIZE = 256;
+
+	private final int queueCapacity;
+	private final Executor executor;
+	private final ConcurrentMap<String, Match> matches = new ConcurrentHashMap<>();
+	private volatile boolean closed;
+
+	/**
+	 * A hub draining the matches on the common fork-join pool.
+	 */
+	public LiveMatchHub(int queueCapacity) {
+		this(queueCapacity, ForkJoinPool.commonPool());
+	}
+
+	public LiveMatchHub(int queueCapacity, Executor executor) {
+		if(queueCapacity < 1) {
+			throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+		}
+		this.queueCapacity = queueCapacity;
+		this.executor = executor;
+	}
+
+	/**
+	 * Queues the delivery for its match if there is room, and returns whether there was. Throws
+	 * {@link IllegalStateException} if the match was finished while the delivery was being queued.
+	 */
+	public boolean offer(String matchId, Score score) {
+		Match match = match(matchId);
+		if(!match.queue.offer(score)) {
+			return false;
+		}
+		match.queued();
+		return true;
+	}
+
+	/**
+	 * Queues the delivery for its match, waiting for room if need be. Throws
+	 * {@link IllegalStateException} if the match was finished while the delivery was being queued.
+	 */
+	public void put(String matchId, Score score) throws InterruptedException {
+		Match match = match(matchId);
+		match.queue.put(score);
+		match.queued();
+	}
+
+	/**
+	 * The latest published standings of the match, with no deliveries for a match not heard of yet.
+	 */
+	public MatchSnapshot snapshot(String matchId) {
+		Match match = matches.get(matchId);
+		return match == null ? new MatchSnapshot(matchId, 0, null) : match.snapshot;
+	}
+
+	/**
+	 * The latest published standings of every match.
+	 */
+	public List<MatchSnapshot> snapshots() {
+		List<MatchSnapshot> snapshots = new ArrayList<>();
+		for(Match match : matches.values()) {
+			snapshots.add(match.snapshot);
+		}
+		return Collections.unmodifiableList(snapshots);
+	}
+
+	/**
+	 * Stops following a match that is over and lets go of its queue and totals, returning its last
+	 * published standings. Call {@link #awaitDrained(long, TimeUnit)} first for the standings to take in
+	 * every delivery queued. Deliveries queued for the match later start it afresh.
+	 */
+	public MatchSnapshot finish(String matchId) {
+		Match match = matches.remove(matchId);
+		if(match == null) {
+			return new MatchSnapshot(matchId, 0, null);
+		}
+		match.finished = true;
+		return match.snapshot;
+	}
+
+	/**
+	 * Waits until every delivery queued so far has been taken into the published snapshots, or the
+	 * timeout runs out, and returns whether it has.
+	 */
+	public boolean awaitDrained(long timeout, TimeUnit unit) throws InterruptedException {
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		for(Match match : matches.values()) {
+			while(!match.isIdle()) {
+				if(System.nanoTime() - deadline >= 0) {
+					return false;
+				}
+				if(Thread.interrupted()) {
+					throw new InterruptedException();
+				}
+				LockSupport.parkNanos(100_000);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Stops taking deliveries. Deliveries already queued are still drained.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	private Match match(String matchId) {
+		if(closed) {
+			throw new IllegalStateException("The hub is closed");
+		}
+		return matches.computeIfAbsent(matchId, Match::new);
+	}
+
+	private class Match implements Runnable {
+
+		final String matchId;
+		final ArrayBlockingQueue<Score> queue = new ArrayBlockingQueue<>(queueCapacity);
+		final AtomicBoolean scheduled = new AtomicBoolean();
+		final List<Score> batch = new ArrayList<>(BATCH_SIZE);
+
+		// Only touched by the drain task that holds scheduled.
+		final MatchStats stats = new MatchStats();
+		long deliveries;
+
+		volatile MatchSnapshot snapshot;
+		// Set once the match is taken off the map; producers that found the match before then check it.
+		volatile boolean finished;
+
+		Match(String matchId) {
+			this.matchId = matchId;
+			this.snapshot = new MatchSnapshot(matchId, 0, null);
+		}
+
+		/**
+		 * Drains a delivery just queued, unless the match was finished meanwhile and its last standings
+		 * may already have been handed out without it.
+		 */
+		void queued() {
+			if(finished) {
+				throw new IllegalStateException("The match " + matchId + " is finished");
+			}
+			schedule();
+		}
+
+		void schedule() {
+			if(scheduled.compareAndSet(false, true)) {
+				executor.execute(this);
+			}
+		}
+
+		boolean isIdle() {
+			return queue.isEmpty() && !scheduled.get();
+		}
+
+		/**
+		 * Takes in the queued deliveries. A delivery that cannot be taken in is dropped, the rest are
+		 * still taken in and published, and the first failure is thrown once the queue is drained.
+		 */
+		@Override
+		public void run() {
+			RuntimeException failure = null;
+			try {
+				while(queue.drainTo(batch, BATCH_SIZE) > 0) {
+					try {
+						for(Score score : batch) {
+							try {
+								stats.add(score);
+								deliveries++;
+							} catch (RuntimeException e) {
+								if(failure == null) {
+									failure = e;
+								} else {
+									failure.addSuppressed(e);
+								}
+							}
+						}
+					} finally {
+						// Never apply a delivery twice.
+						batch.clear();
+					}
+					stats.resolveTeams();
+					snapshot = new MatchSnapshot(matchId, deliveries, result());
+				}
+			} finally {
+				scheduled.set(false);
+				// A producer may have queued a delivery after the last drain but before the flag was cleared.
+				if(!queue.isEmpty()) {
+					schedule();
+				}
+			}
+			if(failure != null) {
+				throw failure;
+			}
+		}
+
+		private MatchResult result() {
+			if(!Rankings.isDefined(stats, ScoreBoard.SCORING)) {
+				// Points are not defined for this part of the match.
+				return null;
+			}
+			return MatchResult.of(stats, ScoreBoard.SCORING);
+		}
+	}
+
+}
@@ -0,0 +1,108 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import cricket.Player;
+
+/**
+ * A score board that is updated one delivery at a time while a match is played.
+ * <p>
+ * Each delivery updates the player and team totals in constant time. Points are then re-derived from
+ * those totals, including the team strike and economy rates, without looking at earlier deliveries
+ * again. All results are the same as those of a {@link ScoreBoard} built over the deliveries accepted
+ * so far, including the cases where that board cannot work out points yet, for example while a team
+ * has not bowled a legal delivery.
+ * <p>
+ * The leaders are worked out after every delivery and {@link LeaderListener}s are told when they
+ * change. While points cannot be worked out for every player the published leaders are empty.
+ * <p>
+ * A live score board is meant to be fed by a single thread.
+ */
+public class LiveScoreBoard implements DeliveryVisitor {
+
+	private final MatchStats stats = new MatchStats();
+	private final List<LeaderListener> listeners = new CopyOnWriteArrayList<>();
+	private Set<Player> leaders = Collections.emptySet();
+	private int deliveries;
+
+	public void accept(Score score) {
+		stats.add(score);
+		delivered();
+	}
+	
+	/**
+	 * Accepts the delivery the cursor is on, so that a live board can be fed by a replay.
+	 */
+	@Override
+	public void visit(DeliveryCursor delivery) {
+		stats.visit(delivery);
+		delivered();
+	}
+	
+	private void delivered() {
+		deliveries++;
+		stats.resolveTeams();
+		
+		Set<Player> currentLeaders = currentLeaders();
+		if(!currentLeaders.equals(leaders)) {
+			Set<Player> previousLeaders = leaders;
+			leaders = currentLeaders;
+			for(LeaderListener listener : listeners) {
+				listener.leadersChanged(previousLeaders, currentLeaders, deliveries);
+			}
+		}
+	}
+	
+	private Set<Player> currentLeaders() {
+		if(!Rankings.isDefined(stats, ScoreBoard.SCORING)) {
+			// Points are not defined for this part of the match, as a rate has no balls to go on or
+			// sits exactly on a bonus threshold.
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(Rankings.leaders(stats, Rankings.points(stats, ScoreBoard.SCORING)));
+	}
+	
+	public void addListener(LeaderListener listener) {
+		listeners.add(listener);
+	}
+	
+	public void removeListener(LeaderListener listener) {
+		listeners.remove(listener);
+	}
+	
+	/**
+	 * The leaders as of the last delivery, or an empty set while they cannot be worked out.
+	 */
+	public Set<Player> getLeaders() {
+		return leaders;
+	}
+	
+	public int getDeliveries() {
+		return deliveries;
+	}
+	
+	public Set<Player> getManOfMatch() {
+		return Rankings.leaders(stats, Rankings.points(stats, ScoreBoard.SCORING));
+	}
+	
+	public List<PlayerPoints> getTopPlayers(int n) {
+		return Rankings.top(stats, ScoreBoard.SCORING, Rankings.points(stats, ScoreBoard.SCORING), n);
+	}
+	
+	public BigDecimal calculateMatchPoints(Player player) {
+		return Rankings.matchPoints(stats, ScoreBoard.SCORING, stats.player(player));
+	}
+	
+	public BigDecimal getTeamStrikeRate(String teamName) {
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.teamStrikeRate(stats.team(teamName)));
+	}
+	
+	public BigDecimal getTeamEconomyRate(String teamName) {
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.teamEconomyRate(stats.team(teamName)));
+	}
+
+}
@@ -0,0 +1,75 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import cricket.Player;
+
+/**
+ * The man of the match and every player's points of a scored match, as kept by {@link ScoreBoardCache}.
+ * Points have the same values and scales as the {@link ScoreBoard} methods of the same names.
+ */
+public class MatchResult {
+
+	private final Set<Player> manOfMatch;
+	private final Map<Player, BigDecimal[]> points;
+
+	MatchResult(Set<Player> manOfMatch, Map<Player, BigDecimal[]> points) {
+		this.manOfMatch = Collections.unmodifiableSet(manOfMatch);
+		this.points = points;
+	}
+
+	static MatchResult of(MatchStats stats, FixedPointScoring scoring) {
+		Set<Player> manOfMatch = Rankings.leaders(stats, Rankings.points(stats, scoring));
+
+		Map<Player, BigDecimal[]> points = new LinkedHashMap<>();
+		for(int i = 0; i < stats.participantCount(); i++) {
+			int playerId = stats.participant(i);
+			PlayerStats player = stats.player(playerId);
+			points.put(stats.playerOf(playerId), new BigDecimal[] {
+					Rankings.matchPoints(stats, scoring, player),
+					FixedPointScoring.toBigDecimal(scoring.basePoints(player), scoring.basePointsScale(player)),
+					FixedPointScoring.toBigDecimal(scoring.bonusPoints(stats, player), scoring.bonusPointsScale(stats, player)) });
+		}
+		return new MatchResult(manOfMatch, points);
+	}
+
+	public Set<Player> getManOfMatch() {
+		return manOfMatch;
+	}
+
+	/**
+	 * The players of the match, in the order they first took part.
+	 */
+	public Set<Player> getPlayers() {
+		return Collections.unmodifiableSet(points.keySet());
+	}
+
+	public BigDecimal getMatchPoints(Player player) {
+		return breakdown(player)[0];
+	}
+
+	public BigDecimal getBasePoints(Player player) {
+		return breakdown(player)[1];
+	}
+
+	public BigDecimal getBonusPoints(Player player) {
+		return breakdown(player)[2];
+	}
+
+	private BigDecimal[] breakdown(Player player) {
+		BigDecimal[] breakdown = points.get(player);
+		if(breakdown == null) {
+			throw new IllegalArgumentException(player + " did not play in the match");
+		}
+		return breakdown;
+	}
+
+	Map<Player, BigDecimal[]> points() {
+		return points;
+	}
+
+}
@@ -0,0 +1,61 @@
+package cricket.score;
+
+import java.util.Collections;
+import java.util.Set;
+
+import cricket.Player;
+
+/**
+ * The standings of a live match after a number of deliveries, as published by a {@link LiveMatchHub}.
+ * A snapshot never changes; later deliveries are published as new snapshots.
+ */
+public final class MatchSnapshot {
+
+	private final String matchId;
+	private final long deliveries;
+	private final MatchResult result;
+
+	MatchSnapshot(String matchId, long deliveries, MatchResult result) {
+		this.matchId = matchId;
+		this.deliveries = deliveries;
+		this.result = result;
+	}
+
+	public String getMatchId() {
+		return matchId;
+	}
+
+	public long getDeliveries() {
+		return deliveries;
+	}
+
+	/**
+	 * Whether points could be worked out for every player, which they cannot while, for example, a team
+	 * has not bowled a legal delivery yet.
+	 */
+	public boolean isScored() {
+		return result != null;
+	}
+
+	/**
+	 * The leaders of the match so far, empty while it is not scored, like {@link LiveScoreBoard#getLeaders()}.
+	 */
+	public Set<Player> getManOfMatch() {
+		return result == null ? Collections.emptySet() : result.getManOfMatch();
+	}
+
+	public MatchResult getResult() {
+		if(result == null) {
+			throw new IllegalStateException("The points of match " + matchId + " are undefined after " + deliveries
+					+ " deliveries");
+		}
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("MatchSnapshot [matchId=%s, deliveries=%s, manOfMatch=%s]", matchId, deliveries,
+				getManOfMatch());
+	}
+
+}
@@ -0,0 +1,260 @@
+package cricket.score;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import cricket.NameScope;
+import cricket.Player;
+import cricket.PlayerRegistry;
+import cricket.TeamRegistry;
+
+/**
+ * Per-player and per-team totals of a match. The ids handed out by {@link PlayerRegistry} and
+ * {@link TeamRegistry} are mapped to dense slots of the match, so the arrays grow with the players and
+ * teams of the match and not with every name the registries have seen. The ids are those of the
+ * {@link NameScope} the deliveries were read into, the global one unless the recorder says otherwise.
+ * <p>
+ * Whoever records the deliveries calls {@link #resolveTeams()} once they are all in, before the totals
+ * are scored, so that reading the totals never changes them.
+ */
+class MatchStats implements DeliveryVisitor {
+
+	static final PlayerStats NO_STATS = new PlayerStats(-1);
+	static final TeamStats NO_TEAM_STATS = new TeamStats();
+
+	private final NameScope names;
+
+	// Player slots are given in the order the players first took part.
+	private final IdSlots playerSlots = new IdSlots();
+	private PlayerStats[] players = new PlayerStats[32];
+	private int[] participants = new int[32];
+	private int participantCount;
+	
+	private final IdSlots teamSlots = new IdSlots();
+	private TeamStats[] teams = new TeamStats[4];
+	private int[] teamIds = new int[4];
+	private int teamCount;
+	
+	// Team names in the order they were first seen, used to settle the team of a player who turned out for more than one.
+	private final Map<String, Integer> teamOrder = new HashMap<>();
+	private boolean teamsResolved;
+
+	MatchStats() {
+		this(NameScope.global());
+	}
+
+	MatchStats(NameScope names) {
+		this.names = names;
+	}
+
+	void add(Score score) {
+		int assistingPlayer = score.getAssistingPlayer().isPresent() ? score.getAssistingPlayer().get().id() : -1;
+		record(score.getBatsman().id(), score.getNonStriker().id(), score.getBowler().id(), assistingPlayer,
+				score.getBattingTeamId(), score.getBowlingTeamId(), score.getRuns(), score.getExtraRuns(),
+				score.isNonExtraDelivery(), score.isDismissalDelivery());
+	}
+
+	@Override
+	public void visit(DeliveryCursor delivery) {
+		record(delivery.getBatsmanId(), delivery.getNonStrikerId(), delivery.getBowlerId(),
+				delivery.getAssistingPlayerId(), delivery.getBattingTeamId(), delivery.getBowlingTeamId(),
+				delivery.getRuns(), delivery.getExtraRuns(), delivery.isLegalDelivery(), delivery.isDismissalDelivery());
+	}
+
+	void record(int batsmanId, int nonStrikerId, int bowlerId, int assistingPlayerId, int battingTeamId,
+			int bowlingTeamId, int runs, int extraRuns, boolean legalDelivery, boolean dismissal) {
+		
+		teamsResolved = false;
+		int totalRuns = runs + extraRuns;
+		
+		PlayerStats batsman = statsFor(batsmanId);
+		batsman.joinTeam(battingTeamId);
+		batsman.runs += runs;
+		if(legalDelivery) {
+			batsman.ballsFaced++;
+		}
+		
+		PlayerStats bowler = statsFor(bowlerId);
+		bowler.joinTeam(bowlingTeamId);
+		bowler.runsConceded += totalRuns;
+		if(legalDelivery) {
+			bowler.ballsBowled++;
+		}
+		
+		statsFor(nonStrikerId).joinTeam(battingTeamId);
+		
+		if(dismissal) {
+			if(assistingPlayerId < 0 || assistingPlayerId == bowlerId) {
+				bowler.unassistedWickets++;
+			} else {
+				bowler.assistedWickets++;
+			}
+		}
+		if(assistingPlayerId >= 0) {
+			PlayerStats assistant = statsFor(assistingPlayerId);
+			assistant.joinTeam(bowlingTeamId);
+			if(assistingPlayerId != bowlerId) {
+				assistant.fieldingAssists++;
+			}
+		}
+		
+		TeamStats battingTeam = teamStatsFor(battingTeamId);
+		battingTeam.runs += totalRuns;
+		if(legalDelivery) {
+			battingTeam.balls++;
+		}
+		
+		TeamStats bowlingTeam = teamStatsFor(bowlingTeamId);
+		bowlingTeam.runsGiven += totalRuns;
+		if(legalDelivery) {
+			bowlingTeam.ballsBowled++;
+		}
+	}
+	
+	private PlayerStats statsFor(int playerId) {
+		int slot = playerSlots.add(playerId);
+		if(slot < participantCount) {
+			return players[slot];
+		}
+		if(participantCount == participants.length) {
+			participants = Arrays.copyOf(participants, participantCount * 2);
+			players = Arrays.copyOf(players, participantCount * 2);
+		}
+		PlayerStats stats = new PlayerStats(playerId);
+		players[slot] = stats;
+		participants[slot] = playerId;
+		participantCount++;
+		return stats;
+	}
+	
+	private TeamStats teamStatsFor(int teamId) {
+		int slot = teamSlots.add(teamId);
+		if(slot < teamCount) {
+			return teams[slot];
+		}
+		if(teamCount == teams.length) {
+			teams = Arrays.copyOf(teams, teamCount * 2);
+			teamIds = Arrays.copyOf(teamIds, teamCount * 2);
+		}
+		TeamStats stats = new TeamStats();
+		teams[slot] = stats;
+		teamIds[slot] = teamId;
+		teamCount++;
+		teamOrder.put(names.teamName(teamId), teamId);
+		return stats;
+	}
+	
+	/**
+	 * The totals of a player as they stand, without settling teams, or null if the player has not taken part.
+	 */
+	PlayerStats totals(int playerId) {
+		int slot = playerSlots.slot(playerId);
+		return slot == IdSlots.NO_SLOT ? null : players[slot];
+	}
+	
+	/**
+	 * The slot of a player in this match, the index of the player among the participants, or
+	 * {@link IdSlots#NO_SLOT} if the player has not taken part.
+	 */
+	int playerSlot(int playerId) {
+		return playerSlots.slot(playerId);
+	}
+	
+	/**
+	 * The slot of a team in this match, in the order the teams were first seen, or {@link IdSlots#NO_SLOT}.
+	 */
+	int teamSlot(int teamId) {
+		return teamSlots.slot(teamId);
+	}
+	
+	/**
+	 * Adds a player whose totals were worked out elsewhere, for the caller to fill in.
+	 */
+	PlayerStats restorePlayer(int playerId) {
+		teamsResolved = false;
+		return statsFor(playerId);
+	}
+	
+	TeamStats restoreTeam(int teamId) {
+		return teamStatsFor(teamId);
+	}
+	
+	PlayerStats player(Player player) {
+		return player(names.findPlayer(player));
+	}
+	
+	PlayerStats player(int playerId) {
+		int slot = playerSlots.slot(playerId);
+		return slot == IdSlots.NO_SLOT ? NO_STATS : players[slot];
+	}
+	
+	TeamStats team(String teamName) {
+		return team(names.findTeam(teamName));
+	}
+	
+	TeamStats team(int teamId) {
+		int slot = teamSlots.slot(teamId);
+		return slot == IdSlots.NO_SLOT ? NO_TEAM_STATS : teams[slot];
+	}
+	
+	int participantCount() {
+		return participantCount;
+	}
+	
+	int participant(int index) {
+		return participants[index];
+	}
+	
+	Player playerOf(int playerId) {
+		return names.playerById(playerId);
+	}
+	
+	String teamName(int teamId) {
+		return names.teamName(teamId);
+	}
+	
+	int teamCount() {
+		return teamCount;
+	}
+	
+	int teamId(int slot) {
+		return teamIds[slot];
+	}
+	
+	Set<Player> teamPlayers(String teamName) {
+		int teamId = names.findTeam(teamName);
+		Set<Player> players = new HashSet<>();
+		for(int i = 0; i < participantCount; i++) {
+			if(this.players[i].playsFor(teamId)) {
+				players.add(names.playerById(participants[i]));
+			}
+		}
+		return players;
+	}
+	
+	/**
+	 * A player's team is the first team, in hash map order of the team names, that the player turned
+	 * out for. This is the order a team name to players map has always been searched in.
+	 */
+	void resolveTeams() {
+		if(teamsResolved) {
+			return;
+		}
+		for(int i = 0; i < participantCount; i++) {
+			players[i].team = TeamRegistry.NO_TEAM;
+		}
+		for(int teamId : teamOrder.values()) {
+			for(int i = 0; i < participantCount; i++) {
+				PlayerStats stats = players[i];
+				if(stats.team == TeamRegistry.NO_TEAM && stats.playsFor(teamId)) {
+					stats.team = teamId;
+				}
+			}
+		}
+		teamsResolved = true;
+	}
+
+}
@@ -0,0 +1,225 @@
+package cricket.score;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deliveries kept outside the Java heap, in fixed-width records in direct buffers, so that many seasons
+ * of history can be held without adding to the heap or to the old generation the collector scans. The
+ * heap only holds a buffer per {@value #CHUNK_RECORDS} deliveries and the few distinct extras and kinds
+ * of wicket; players and teams are recorded by their registry ids.
+ * <p>
+ * Deliveries are appended with {@link #add(Score)}, or straight from a replay as a
+ * {@link DeliveryVisitor}, for example {@code ScoreReader.replay(file, deliveries)}. They are read back
+ * through a {@link DeliveryCursor} with {@link #replay(DeliveryVisitor)}, which is also how a
+ * {@link ScoreBoard} is built over them. {@link #write(Path)} saves them as a {@link DeliverySnapshot},
+ * which maps the file back into memory, still off the heap, when loaded.
+ * <p>
+ * The buffers are direct memory, which the JVM caps at {@code -XX:MaxDirectMemorySize}, by default the
+ * maximum heap size, and which is only given back when the collector finds the buffers unreachable. A
+ * store larger than the heap needs the cap raised, for example {@code -XX:MaxDirectMemorySize=8g};
+ * past the cap, adding a delivery throws {@link OutOfMemoryError}. A snapshot file is mapped memory
+ * and not under the cap.
+ * <p>
+ * Deliveries can be read by several threads while none is appending.
+ */
+public class OffHeapDeliveries implements DeliveryVisitor {
+
+	static final int CHUNK_RECORDS = 1 << 15;
+
+	/**
+	 * batsman, non-striker, bowler, dismissed, assisting, batting team, bowling team as ints, then
+	 * innings, over, ball, runs, extra runs, extra type and kind of wicket as shorts.
+	 */
+	private static final int RECORD_SIZE = DeliverySnapshot.RECORD_SIZE;
+
+	private final int chunkRecords;
+	private final List<ByteBuffer> chunks = new ArrayList<>();
+	private int size;
+
+	private final List<String> extras = new ArrayList<>();
+	private final Map<String, Integer> extraCodes = new HashMap<>();
+	private boolean[] legalExtras = new boolean[4];
+	private final List<String> wicketKinds = new ArrayList<>();
+	private final Map<String, Integer> wicketKindCodes = new HashMap<>();
+
+	public OffHeapDeliveries() {
+		this(CHUNK_RECORDS);
+	}
+
+	OffHeapDeliveries(int chunkRecords) {
+		this.chunkRecords = chunkRecords;
+	}
+
+	public void add(Score score) {
+		append(score.getBatsman().id(), score.getNonStriker().id(), score.getBowler().id(),
+				score.getDismissedPlayer().isPresent() ? score.getDismissedPlayer().get().id() : DeliveryCursor.NO_PLAYER,
+				score.getAssistingPlayer().isPresent() ? score.getAssistingPlayer().get().id() : DeliveryCursor.NO_PLAYER,
+				score.getBattingTeamId(), score.getBowlingTeamId(), score.getInningsNumber(), score.getOverNumber(),
+				score.getBallNumber(), score.getRuns(), score.getExtraRuns(), score.getExtra(), score.isNonExtraDelivery(),
+				score.isDismissalDelivery() ? score.getKindOfWicket() : null);
+	}
+
+	/**
+	 * Appends the delivery the cursor is on.
+	 */
+	@Override
+	public void visit(DeliveryCursor delivery) {
+		append(delivery.getBatsmanId(), delivery.getNonStrikerId(), delivery.getBowlerId(), delivery.getDismissedPlayerId(),
+				delivery.getAssistingPlayerId(), delivery.getBattingTeamId(), delivery.getBowlingTeamId(),
+				delivery.getInningsNumber(), delivery.getOverNumber(), delivery.getBallNumber(), delivery.getRuns(),
+				delivery.getExtraRuns(), delivery.getExtra(), delivery.isLegalDelivery(),
+				delivery.isDismissalDelivery() ? delivery.getKindOfWicket() : null);
+	}
+
+	/**
+	 * Appends a record, with every field checked before the record is counted so that a delivery that
+	 * does not fit leaves nothing behind. The kind of wicket is null for a delivery without a wicket.
+	 */
+	private void append(int batsman, int nonStriker, int bowler, int dismissed, int assisting, int battingTeam,
+			int bowlingTeam, int innings, int over, int ball, int runs, int extraRuns, String extra, boolean legal,
+			String kindOfWicket) {
+		short inningsValue = toShort(innings, "innings");
+		short overValue = toShort(over, "over");
+		short ballValue = toShort(ball, "ball");
+		short runsValue = toShort(runs, "runs");
+		short extraRunsValue = toShort(extraRuns, "extra runs");
+		short extraType = toShort(extraCode(extra, legal), "extra type");
+		short wicketKind = toShort(kindOfWicket == null ? DeliveryColumns.NO_WICKET : wicketKindCode(kindOfWicket),
+				"kind of wicket");
+
+		int at = append();
+		ByteBuffer chunk = chunks.get(chunks.size() - 1);
+		chunk.putInt(at, batsman);
+		chunk.putInt(at + 4, nonStriker);
+		chunk.putInt(at + 8, bowler);
+		chunk.putInt(at + 12, dismissed);
+		chunk.putInt(at + 16, assisting);
+		chunk.putInt(at + 20, battingTeam);
+		chunk.putInt(at + 24, bowlingTeam);
+		int shorts = at + 7 * Integer.BYTES;
+		chunk.putShort(shorts, inningsValue);
+		chunk.putShort(shorts + 2, overValue);
+		chunk.putShort(shorts + 4, ballValue);
+		chunk.putShort(shorts + 6, runsValue);
+		chunk.putShort(shorts + 8, extraRunsValue);
+		chunk.putShort(shorts + 10, extraType);
+		chunk.putShort(shorts + 12, wicketKind);
+	}
+
+	/**
+	 * Makes room for one more record and returns its offset in the last chunk.
+	 */
+	private int append() {
+		int index = size % chunkRecords;
+		if(index == 0) {
+			chunks.add(ByteBuffer.allocateDirect(chunkRecords * RECORD_SIZE));
+		}
+		size++;
+		return index * RECORD_SIZE;
+	}
+
+	private static short toShort(int value, String field) {
+		if(value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("The " + field + " does not fit in a short: " + value);
+		}
+		return (short) value;
+	}
+
+	private int extraCode(String extra, boolean legal) {
+		Integer code = extraCodes.get(extra);
+		if(code == null) {
+			code = extras.size();
+			// Codes are stored as shorts.
+			toShort(code, "extra type");
+			extras.add(extra);
+			extraCodes.put(extra, code);
+			if(code == legalExtras.length) {
+				legalExtras = Arrays.copyOf(legalExtras, code * 2);
+			}
+			legalExtras[code] = legal;
+		}
+		return code;
+	}
+
+	private int wicketKindCode(String kindOfWicket) {
+		Integer code = wicketKindCodes.get(kindOfWicket);
+		if(code == null) {
+			code = wicketKinds.size();
+			toShort(code, "kind of wicket");
+			wicketKinds.add(kindOfWicket);
+			wicketKindCodes.put(kindOfWicket, code);
+		}
+		return code;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Feeds every delivery to the visitor through one cursor, in order.
+	 */
+	public void replay(DeliveryVisitor visitor) {
+		replay(0, size, visitor);
+	}
+
+	/**
+	 * Feeds the deliveries at positions {@code [from, to)} to the visitor through one cursor, in order.
+	 */
+	public void replay(int from, int to, DeliveryVisitor visitor) {
+		if(from < 0 || to > size || from > to) {
+			throw new IndexOutOfBoundsException("Deliveries " + from + " to " + to + " of " + size);
+		}
+		DeliveryCursor cursor = new DeliveryCursor();
+		for(int i = from; i < to; i++) {
+			ByteBuffer chunk = chunks.get(i / chunkRecords);
+			int at = (i % chunkRecords) * RECORD_SIZE;
+			int shorts = at + 7 * Integer.BYTES;
+			short extraType = chunk.getShort(shorts + 10);
+			short wicketKind = chunk.getShort(shorts + 12);
+			cursor.set(chunk.getShort(shorts), chunk.getShort(shorts + 2), chunk.getShort(shorts + 4), chunk.getInt(at + 20),
+					chunk.getInt(at + 24), chunk.getInt(at), chunk.getInt(at + 4), chunk.getInt(at + 8),
+					chunk.getShort(shorts + 6), extras.get(extraType), legalExtras[extraType], chunk.getShort(shorts + 8),
+					wicketKind == DeliveryColumns.NO_WICKET ? "" : wicketKinds.get(wicketKind), chunk.getInt(at + 12),
+					chunk.getInt(at + 16));
+			visitor.visit(cursor);
+		}
+	}
+
+	/**
+	 * Rebuilds the score of the delivery at the given position.
+	 */
+	public Score get(int i) {
+		if(i < 0 || i >= size) {
+			throw new IndexOutOfBoundsException("Delivery " + i + " of " + size);
+		}
+		Score[] score = new Score[1];
+		replay(i, i + 1, delivery -> score[0] = delivery.toScore());
+		return score[0];
+	}
+
+	public ScoreBoard toScoreBoard() {
+		return new ScoreBoard(this, 0, size);
+	}
+
+	/**
+	 * A score board of the deliveries at positions {@code [from, to)}, such as one match of a season.
+	 */
+	public ScoreBoard toScoreBoard(int from, int to) {
+		return new ScoreBoard(this, from, to);
+	}
+
+	/**
+	 * Saves the deliveries as a {@link DeliverySnapshot} file, replacing the file if it exists.
+	 */
+	public void write(Path file) {
+		DeliverySnapshot.write(this::replay, size, file);
+	}
+
+}
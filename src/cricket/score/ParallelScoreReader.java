@@ -0,0 +1,243 @@
+package cricket.score;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+import cricket.metrics.Counter;
+import cricket.metrics.Metrics;
+
+/**
+ * Reads a UTF-8 score file on many threads. The file is cut into byte ranges that start and end on
+ * line boundaries, each range is parsed by its own {@link DeliveryParser}, and the results are put
+ * back together in file order. Lines are split and blank lines skipped exactly as by
+ * {@link ScoreReader#stream(Path)}.
+ */
+public final class ParallelScoreReader {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final long MIN_CHUNK_SIZE = 1 << 20;
+	private static final int CHUNKS_PER_THREAD = 4;
+
+	private ParallelScoreReader() {
+	}
+
+	public static List<Score> read(Path scoreFile) {
+		return read(scoreFile, ForkJoinPool.commonPool());
+	}
+
+	public static List<Score> read(Path scoreFile, ForkJoinPool pool) {
+		List<List<Score>> chunks = readChunks(scoreFile, pool, chunkSize(scoreFile, pool), ArrayList::new, List::add);
+		int size = 0;
+		for(List<Score> chunk : chunks) {
+			size += chunk.size();
+		}
+		List<Score> scores = new ArrayList<>(size);
+		chunks.forEach(scores::addAll);
+		return Collections.unmodifiableList(scores);
+	}
+
+	/**
+	 * Reads the file into one {@link DeliveryColumns} per chunk, in file order. They can be scored
+	 * together after {@link DeliveryColumns#concat(List)}.
+	 */
+	public static List<DeliveryColumns> readColumns(Path scoreFile, ForkJoinPool pool) {
+		return readChunks(scoreFile, pool, chunkSize(scoreFile, pool), DeliveryColumns::new, DeliveryColumns::add);
+	}
+
+	private static long chunkSize(Path scoreFile, ForkJoinPool pool) {
+		long size = size(scoreFile);
+		return Math.max(MIN_CHUNK_SIZE, size / ((long) pool.getParallelism() * CHUNKS_PER_THREAD) + 1);
+	}
+
+	private static long size(Path scoreFile) {
+		if(!Files.isRegularFile(scoreFile)) {
+			throw new IllegalArgumentException("Score file name: " + scoreFile + " does not exist");
+		}
+		try {
+			return Files.size(scoreFile);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		}
+	}
+
+	static <C> List<C> readChunks(Path scoreFile, ForkJoinPool pool, long chunkSize, Supplier<C> newChunk,
+			BiConsumer<C, Score> add) {
+		long size = size(scoreFile);
+		try (FileChannel channel = FileChannel.open(scoreFile, StandardOpenOption.READ)) {
+			long[] boundaries = boundaries(channel, size, chunkSize);
+			Object[] results = new Object[boundaries.length - 1];
+			pool.invoke(new ChunkParsing<>(channel, boundaries, results, newChunk, add, 0, results.length));
+
+			@SuppressWarnings("unchecked")
+			List<C> chunks = (List<C>) Arrays.asList(results);
+			return Collections.unmodifiableList(chunks);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		} catch (UncheckedIOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e.getCause());
+		}
+	}
+
+	/**
+	 * Chunk boundaries roughly {@code chunkSize} apart, each moved forward to the start of a line.
+	 */
+	static long[] boundaries(FileChannel channel, long size, long chunkSize) throws IOException {
+		List<Long> boundaries = new ArrayList<>();
+		boundaries.add(0L);
+		long previous = 0;
+		while(previous + chunkSize < size) {
+			long boundary = lineStartAtOrAfter(channel, previous + chunkSize, size);
+			if(boundary >= size) {
+				break;
+			}
+			boundaries.add(boundary);
+			previous = boundary;
+		}
+		boundaries.add(size);
+
+		long[] result = new long[boundaries.size()];
+		for(int i = 0; i < result.length; i++) {
+			result[i] = boundaries.get(i);
+		}
+		return result;
+	}
+
+	/**
+	 * A line starts after {@code \n}, or after a {@code \r} not followed by {@code \n}.
+	 */
+	private static long lineStartAtOrAfter(FileChannel channel, long position, long size) throws IOException {
+		ByteBuffer window = ByteBuffer.allocate(8192);
+		long windowStart = position - 1;
+		while(windowStart < size) {
+			window.clear();
+			int read = channel.read(window, windowStart);
+			if(read <= 0) {
+				break;
+			}
+			for(int i = 1; i <= read; i++) {
+				byte previous = window.get(i - 1);
+				if(previous == '\n') {
+					return windowStart + i;
+				}
+				if(previous == '\r' && (i == read ? !followedByLineFeed(channel, windowStart + i) : window.get(i) != '\n')) {
+					return windowStart + i;
+				}
+			}
+			windowStart += read;
+		}
+		return size;
+	}
+
+	private static boolean followedByLineFeed(FileChannel channel, long position) throws IOException {
+		ByteBuffer next = ByteBuffer.allocate(1);
+		return channel.read(next, position) == 1 && next.get(0) == '\n';
+	}
+
+	// Tasks are never serialized.
+	@SuppressWarnings("serial")
+	private static class ChunkParsing<C> extends RecursiveAction {
+
+		private final FileChannel channel;
+		private final long[] boundaries;
+		private final Object[] results;
+		private final Supplier<C> newChunk;
+		private final BiConsumer<C, Score> add;
+		private final int from;
+		private final int to;
+
+		ChunkParsing(FileChannel channel, long[] boundaries, Object[] results, Supplier<C> newChunk,
+				BiConsumer<C, Score> add, int from, int to) {
+			this.channel = channel;
+			this.boundaries = boundaries;
+			this.results = results;
+			this.newChunk = newChunk;
+			this.add = add;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= 1) {
+				for(int chunk = from; chunk < to; chunk++) {
+					results[chunk] = parse(boundaries[chunk], boundaries[chunk + 1]);
+				}
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new ChunkParsing<>(channel, boundaries, results, newChunk, add, from, middle),
+					new ChunkParsing<>(channel, boundaries, results, newChunk, add, middle, to));
+		}
+
+		private C parse(long start, long end) {
+			C chunk = newChunk.get();
+			DeliveryParser parser = new DeliveryParser();
+			ByteLineReader rd = new ByteLineReader(new RangeInputStream(channel, start, end),
+					(int) Math.min(BUFFER_SIZE, Math.max(end - start, 1)));
+			try {
+				while(rd.nextLine()) {
+					Metrics.increment(Counter.LINES_READ);
+					if(!ScoreReader.isBlank(rd.buffer(), rd.lineStart(), rd.lineEnd())) {
+						add.accept(chunk, ScoreReader.parse(parser, rd));
+					} else {
+						Metrics.increment(Counter.BLANK_LINES_SKIPPED);
+					}
+				}
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			return chunk;
+		}
+	}
+
+	/**
+	 * Reads {@code [start, end)} of a channel with positional reads, so many can share the channel.
+	 */
+	private static class RangeInputStream extends InputStream {
+
+		private final FileChannel channel;
+		private long position;
+		private final long end;
+
+		RangeInputStream(FileChannel channel, long start, long end) {
+			this.channel = channel;
+			this.position = start;
+			this.end = end;
+		}
+
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			if(position >= end) {
+				return -1;
+			}
+			int read = channel.read(ByteBuffer.wrap(b, off, (int) Math.min(len, end - position)), position);
+			if(read < 0) {
+				return -1;
+			}
+			position += read;
+			return read;
+		}
+	}
+
+}
@@ -0,0 +1,178 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+
+import cricket.Player;
+
+/**
+ * A player's numbers from one match, or the sum of several matches' summaries of the same player.
+ * <p>
+ * A summary holds the counts behind the points, the totals of the player's team in that match, which
+ * are what the team strike and economy rates are worked out from, and the match points. Points are
+ * worked out with each match's own team rates when the summary of that match is made. Merging only adds
+ * up, so summaries combine the same in any order and grouping, and a tournament total can be built on
+ * many threads or brought up to date by merging in the newest match.
+ * <p>
+ * In a match where the points are not defined, because a rate has no balls to go on or sits exactly on
+ * a bonus threshold, the player's counts are kept but the match adds no points. It is not counted in
+ * {@link #getScoredMatches()}.
+ */
+public final class PlayerMatchSummary {
+
+	private final Player player;
+	private final int matches;
+	private final int scoredMatches;
+	private final long points;
+	private final int pointsScale;
+
+	private final int runs;
+	private final long ballsFaced;
+	private final int ballsBowled;
+	private final int runsConceded;
+	private final int unassistedWickets;
+	private final int assistedWickets;
+	private final int fieldingAssists;
+
+	private final long teamRuns;
+	private final long teamBalls;
+	private final long teamRunsGiven;
+	private final long teamBallsBowled;
+
+	private PlayerMatchSummary(Player player, int matches, int scoredMatches, long points, int pointsScale, int runs,
+			long ballsFaced, int ballsBowled, int runsConceded, int unassistedWickets, int assistedWickets,
+			int fieldingAssists, long teamRuns, long teamBalls, long teamRunsGiven, long teamBallsBowled) {
+		this.player = player;
+		this.matches = matches;
+		this.scoredMatches = scoredMatches;
+		this.points = points;
+		this.pointsScale = pointsScale;
+		this.runs = runs;
+		this.ballsFaced = ballsFaced;
+		this.ballsBowled = ballsBowled;
+		this.runsConceded = runsConceded;
+		this.unassistedWickets = unassistedWickets;
+		this.assistedWickets = assistedWickets;
+		this.fieldingAssists = fieldingAssists;
+		this.teamRuns = teamRuns;
+		this.teamBalls = teamBalls;
+		this.teamRunsGiven = teamRunsGiven;
+		this.teamBallsBowled = teamBallsBowled;
+	}
+
+	static PlayerMatchSummary of(MatchStats stats, FixedPointScoring scoring, int playerId) {
+		PlayerStats player = stats.player(playerId);
+		TeamStats team = stats.team(player.team);
+
+		long points = 0;
+		int pointsScale = 0;
+		int scoredMatches = 0;
+		// Not defined for every match, see the class comment.
+		if(scoring.isDefined(stats, player)) {
+			points = scoring.matchPoints(stats, player);
+			pointsScale = scoring.matchPointsScale(stats, player);
+			scoredMatches = 1;
+		}
+
+		return new PlayerMatchSummary(stats.playerOf(playerId), 1, scoredMatches, points, pointsScale, player.runs,
+				player.ballsFaced, player.ballsBowled, player.runsConceded, player.unassistedWickets,
+				player.assistedWickets, player.fieldingAssists, team.runs, team.balls, team.runsGiven, team.ballsBowled);
+	}
+
+	/**
+	 * Adds up this summary and another one of the same player.
+	 */
+	public PlayerMatchSummary merge(PlayerMatchSummary other) {
+		if(!player.equals(other.player)) {
+			throw new IllegalArgumentException("Cannot merge summaries of " + player + " and " + other.player);
+		}
+		return new PlayerMatchSummary(player, matches + other.matches, scoredMatches + other.scoredMatches,
+				points + other.points, Math.max(pointsScale, other.pointsScale), runs + other.runs,
+				ballsFaced + other.ballsFaced, ballsBowled + other.ballsBowled, runsConceded + other.runsConceded,
+				unassistedWickets + other.unassistedWickets, assistedWickets + other.assistedWickets,
+				fieldingAssists + other.fieldingAssists, teamRuns + other.teamRuns, teamBalls + other.teamBalls,
+				teamRunsGiven + other.teamRunsGiven, teamBallsBowled + other.teamBallsBowled);
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public int getMatches() {
+		return matches;
+	}
+
+	public int getScoredMatches() {
+		return scoredMatches;
+	}
+
+	/**
+	 * The sum of the match points of every scored match, with the same value and scale as adding up
+	 * {@link ScoreBoard#calculateMatchPoints(Player)} of those matches.
+	 */
+	public BigDecimal getPoints() {
+		return FixedPointScoring.toBigDecimal(points, pointsScale);
+	}
+
+	long points() {
+		return points;
+	}
+
+	public int getRuns() {
+		return runs;
+	}
+
+	public long getBallsFaced() {
+		return ballsFaced;
+	}
+
+	public int getBallsBowled() {
+		return ballsBowled;
+	}
+
+	public int getRunsConceded() {
+		return runsConceded;
+	}
+
+	public int getWickets() {
+		return unassistedWickets + assistedWickets;
+	}
+
+	public int getFieldingAssists() {
+		return fieldingAssists;
+	}
+
+	public BigDecimal getStrikeRate() {
+		if(ballsFaced == 0) {
+			return BigDecimal.ZERO;
+		}
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.rate(runs, ballsFaced));
+	}
+
+	public BigDecimal getEconomyRate() {
+		if(ballsBowled == 0) {
+			return BigDecimal.ZERO;
+		}
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.rate(runsConceded, ballsBowled));
+	}
+
+	/**
+	 * The strike rate of the player's teams over the summarised matches.
+	 */
+	public BigDecimal getTeamStrikeRate() {
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.rate(teamRuns, teamBalls));
+	}
+
+	/**
+	 * The economy rate of the player's teams over the summarised matches.
+	 */
+	public BigDecimal getTeamEconomyRate() {
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.rate(teamRunsGiven, teamBallsBowled));
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PlayerMatchSummary [player=%s, matches=%s, points=%s, runs=%s, wickets=%s]", player,
+				matches, getPoints().toPlainString(), runs, getWickets());
+	}
+
+}
@@ -0,0 +1,30 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+
+import cricket.Player;
+
+public class PlayerPoints {
+
+	private final Player player;
+	private final BigDecimal points;
+
+	public PlayerPoints(Player player, BigDecimal points) {
+		this.player = player;
+		this.points = points;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	public BigDecimal getPoints() {
+		return points;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("PlayerPoints [player=%s, points=%s]", player, points.toPlainString());
+	}
+
+}
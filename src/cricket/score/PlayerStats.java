@@ -0,0 +1,51 @@
+package cricket.score;
+
+import java.util.Arrays;
+
+import cricket.TeamRegistry;
+
+/**
+ * Running totals for one player, accumulated in a single pass over the deliveries of a match.
+ */
+class PlayerStats {
+
+	final int playerId;
+	int runs;
+	int ballsFaced;
+	int ballsBowled;
+	int runsConceded;
+	int unassistedWickets;
+	int assistedWickets;
+	int fieldingAssists;
+	int team = TeamRegistry.NO_TEAM;
+	
+	// Every team the player turned out for; almost always just one.
+	int[] teams = new int[1];
+	int teamCount;
+	
+	PlayerStats(int playerId) {
+		this.playerId = playerId;
+	}
+	
+	void joinTeam(int teamId) {
+		for(int i = 0; i < teamCount; i++) {
+			if(teams[i] == teamId) {
+				return;
+			}
+		}
+		if(teamCount == teams.length) {
+			teams = Arrays.copyOf(teams, teamCount * 2);
+		}
+		teams[teamCount++] = teamId;
+	}
+	
+	boolean playsFor(int teamId) {
+		for(int i = 0; i < teamCount; i++) {
+			if(teams[i] == teamId) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,114 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+import cricket.Player;
+
+/**
+ * Ranks the players of a match on their fixed point match points.
+ */
+final class Rankings {
+
+	private Rankings() {
+	}
+
+	/**
+	 * Whether the players can be ranked: someone has taken part and every player's points are defined.
+	 */
+	static boolean isDefined(MatchStats stats, FixedPointScoring scoring) {
+		if(stats.participantCount() == 0) {
+			return false;
+		}
+		for(int i = 0; i < stats.participantCount(); i++) {
+			if(!scoring.isDefined(stats, stats.player(stats.participant(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Match points of every participating player, in the order they first took part.
+	 */
+	static long[] points(MatchStats stats, FixedPointScoring scoring) {
+		long[] points = new long[stats.participantCount()];
+		for(int i = 0; i < points.length; i++) {
+			points[i] = scoring.matchPoints(stats, stats.player(stats.participant(i)));
+		}
+		return points;
+	}
+
+	static BigDecimal matchPoints(MatchStats stats, FixedPointScoring scoring, PlayerStats player) {
+		long points = scoring.matchPoints(stats, player);
+		return FixedPointScoring.toBigDecimal(points, scoring.matchPointsScale(stats, player));
+	}
+
+	/**
+	 * All players on the highest points. There could be more than one player who scores maximum points.
+	 */
+	static Set<Player> leaders(MatchStats stats, long[] points) {
+		long maxPoints = points[0];
+		for(long p : points) {
+			maxPoints = Math.max(maxPoints, p);
+		}
+
+		Set<Player> topRankingPlayers = new HashSet<>();
+		for(int i = 0; i < points.length; i++) {
+			if(points[i] == maxPoints) {
+				topRankingPlayers.add(stats.playerOf(stats.participant(i)));
+			}
+		}
+		return topRankingPlayers;
+	}
+
+	/**
+	 * The {@code n} highest scoring players, best first, together with everyone tied with the n-th.
+	 */
+	static List<PlayerPoints> top(MatchStats stats, FixedPointScoring scoring, long[] points, int n) {
+		if(n <= 0) {
+			throw new IllegalArgumentException("Number of top players must be positive: " + n);
+		}
+
+		Comparator<Integer> byPoints = (i, j) -> Long.compare(points[i], points[j]);
+
+		// Keep the n best players seen so far in a min-heap, so its head ends up being the cut-off.
+		PriorityQueue<Integer> best = new PriorityQueue<>(n, byPoints);
+		for(int i = 0; i < points.length; i++) {
+			if(best.size() < n) {
+				best.add(i);
+			} else if(points[i] > points[best.peek()]) {
+				best.poll();
+				best.add(i);
+			}
+		}
+
+		if(best.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		long cutOff = points[best.peek()];
+
+		List<Integer> ranked = new ArrayList<>();
+		for(int i = 0; i < points.length; i++) {
+			if(points[i] >= cutOff) {
+				ranked.add(i);
+			}
+		}
+		ranked.sort(byPoints.reversed());
+
+		List<PlayerPoints> topPlayers = new ArrayList<>(ranked.size());
+		for(int i : ranked) {
+			int playerId = stats.participant(i);
+			topPlayers.add(new PlayerPoints(stats.playerOf(playerId), matchPoints(stats, scoring, stats.player(playerId))));
+		}
+		return Collections.unmodifiableList(topPlayers);
+	}
+
+}
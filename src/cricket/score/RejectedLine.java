@@ -0,0 +1,36 @@
+package cricket.score;
+
+/**
+ * A line that could not be read as a score, with its line number, counting from 1 and including
+ * blank lines, and why it was rejected.
+ */
+public class RejectedLine {
+
+	private final long lineNumber;
+	private final String line;
+	private final String reason;
+
+	public RejectedLine(long lineNumber, String line, String reason) {
+		this.lineNumber = lineNumber;
+		this.line = line;
+		this.reason = reason;
+	}
+
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	public String getLine() {
+		return line;
+	}
+
+	public String getReason() {
+		return reason;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("RejectedLine [lineNumber=%s, reason=%s, line=%s]", lineNumber, reason, line);
+	}
+
+}
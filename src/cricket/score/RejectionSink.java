@@ -0,0 +1,13 @@
+package cricket.score;
+
+/**
+ * Told about every line a {@link LenientScoreReader} rejects, as soon as it is rejected.
+ */
+public interface RejectionSink {
+
+	RejectionSink NONE = rejected -> {
+	};
+
+	void reject(RejectedLine rejected);
+
+}
@@ -0,0 +1,75 @@
+package cricket.score;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Scores a match under several sets of rules at once. The deliveries are read a single time into
+ * player and team totals that do not depend on the rules, and every set of rules then derives its
+ * points and man of the match from those totals, so each extra set costs a pass over the players
+ * rather than over the deliveries.
+ * <p>
+ * Like {@link ScoreBoard}, scoring a match whose points are undefined under any of the rules throws.
+ */
+public class RulesEvaluator {
+
+	private final List<ScoringRules> rules;
+
+	public RulesEvaluator(List<ScoringRules> rules) {
+		if(rules.isEmpty()) {
+			throw new IllegalArgumentException("No rules to evaluate");
+		}
+		this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+	}
+
+	public List<ScoringRules> getRules() {
+		return rules;
+	}
+
+	public Map<ScoringRules, MatchResult> evaluate(List<Score> scores) {
+		MatchStats stats = new MatchStats();
+		scores.forEach(stats::add);
+		return evaluate(stats);
+	}
+
+	public Map<ScoringRules, MatchResult> evaluate(Stream<Score> scores) {
+		MatchStats stats = new MatchStats();
+		scores.forEachOrdered(stats::add);
+		return evaluate(stats);
+	}
+
+	public Map<ScoringRules, MatchResult> evaluate(DeliveryColumns columns) {
+		MatchStats stats = new MatchStats();
+		columns.replay(stats);
+		return evaluate(stats);
+	}
+
+	/**
+	 * Evaluates a UTF-8 score file, replaying it as {@link ScoreBoard#ScoreBoard(Path)} does.
+	 */
+	public Map<ScoringRules, MatchResult> evaluate(Path scoreFile) {
+		MatchStats stats = new MatchStats();
+		ScoreReader.replay(scoreFile, stats);
+		return evaluate(stats);
+	}
+
+	/**
+	 * The result under each set of rules, in the order the rules were given.
+	 */
+	private Map<ScoringRules, MatchResult> evaluate(MatchStats stats) {
+		stats.resolveTeams();
+		Map<ScoringRules, MatchResult> results = new LinkedHashMap<>();
+		for(ScoringRules set : rules) {
+			if(!results.containsKey(set)) {
+				results.put(set, MatchResult.of(stats, set.scoring()));
+			}
+		}
+		return Collections.unmodifiableMap(results);
+	}
+
+}
@@ -0,0 +1,22 @@
+package cricket.score;
+
+/**
+ * Plain loops, written without branches so that the JIT compiler can unroll them.
+ */
+final class ScalarAggregationKernel implements AggregationKernel {
+
+	@Override
+	public long sumWhere(int[] keys, int key, int[] values, int length) {
+		long sum = 0;
+		for(int i = 0; i < length; i++) {
+			sum += values[i] & -(keys[i] == key ? 1 : 0);
+		}
+		return sum;
+	}
+
+	@Override
+	public String toString() {
+		return "scalar";
+	}
+
+}
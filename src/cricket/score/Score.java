@@ -5,14 +5,16 @@ import java.util.Optional;
 import java.util.Set;
 
 import cricket.Player;
+import cricket.PlayerRegistry;
+import cricket.TeamRegistry;
 
 public class Score {
 
 	private final int inningsNumber;
 	private final int overNumber;
 	private final int ballNumber;
-	private final String battingTeamName;
-	private final String bowlingTeamName;
+	private final int battingTeamId;
+	private final int bowlingTeamId;
 	private final Player batsman;
 	private final Player nonStriker;
 	private final Player bowler;
@@ -27,21 +29,30 @@ public class Score {
 	public Score(int inningsNumber, int overNumber, int ballNumber, String battingTeamName, String bowlingTeamName, String batsman,
 			String nonStriker, String bowler, int runs, String extra, String kindOfWicket, String dismissedPlayer,
 			String assistingPlayer) {
+		this(inningsNumber, overNumber, ballNumber, TeamRegistry.idOf(battingTeamName), TeamRegistry.idOf(bowlingTeamName),
+				PlayerRegistry.intern(batsman), PlayerRegistry.intern(nonStriker), PlayerRegistry.intern(bowler), runs, extra,
+				Integer.valueOf(extra.substring(0,1)), kindOfWicket,
+				dismissedPlayer.isEmpty() ? Optional.empty() : Optional.of(PlayerRegistry.intern(dismissedPlayer)),
+				assistingPlayer.isEmpty() ? Optional.empty() : Optional.of(PlayerRegistry.intern(assistingPlayer)));
+	}
+	
+	Score(int inningsNumber, int overNumber, int ballNumber, int battingTeamId, int bowlingTeamId, Player batsman,
+			Player nonStriker, Player bowler, int runs, String extra, int extraRuns, String kindOfWicket,
+			Optional<Player> dismissedPlayer, Optional<Player> assistingPlayer) {
 		this.inningsNumber = inningsNumber;
 		this.overNumber = overNumber;
 		this.ballNumber = ballNumber;
-		this.battingTeamName = battingTeamName;
-		this.bowlingTeamName = bowlingTeamName;
-		this.batsman = new Player(batsman);
-		this.nonStriker = new Player(nonStriker);
-		this.bowler = new Player(bowler);
+		this.battingTeamId = battingTeamId;
+		this.bowlingTeamId = bowlingTeamId;
+		this.batsman = batsman;
+		this.nonStriker = nonStriker;
+		this.bowler = bowler;
 		this.runs = runs;		
 		this.extra = extra;
 		this.kindOfWicket = kindOfWicket;
-		this.dismissedPlayer = dismissedPlayer.isEmpty() ? Optional.empty() : Optional.of(new Player(dismissedPlayer));
-		this.assistingPlayer = assistingPlayer.isEmpty() ? Optional.empty() : Optional.of(new Player(assistingPlayer));
-		
-		this.extraRuns = Integer.valueOf(extra.substring(0,1));
+		this.dismissedPlayer = dismissedPlayer;
+		this.assistingPlayer = assistingPlayer;
+		this.extraRuns = extraRuns;
 	}
 
 	public static Score from(String line) {
@@ -82,11 +93,19 @@ public class Score {
 	}
 
 	public String getBattingTeamName() {
-		return battingTeamName;
+		return TeamRegistry.nameOf(battingTeamId);
 	}
 	
 	public String getBowlingTeamName() {
-		return bowlingTeamName;
+		return TeamRegistry.nameOf(bowlingTeamId);
+	}
+	
+	public int getBattingTeamId() {
+		return battingTeamId;
+	}
+	
+	public int getBowlingTeamId() {
+		return bowlingTeamId;
 	}
 
 	public Player getBatsman() {
@@ -130,6 +149,10 @@ public class Score {
 		return players;
 	}
 	
+	String getExtra() {
+		return extra;
+	}
+	
 	public boolean isDismissalDelivery() {
 		return !kindOfWicket.isEmpty();
 	}
@@ -1,316 +1,294 @@
 package cricket.score;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import cricket.NameScope;
 import cricket.Player;
+import cricket.TeamRegistry;
+import cricket.metrics.Latency;
+import cricket.metrics.Metrics;
 
 public class ScoreBoard {
 
-	private static final BigDecimal BATTING_BONUS_FACTOR = BigDecimal.valueOf(0.1);
-	private static final BigDecimal BOWLING_BONUS_FACTOR = BigDecimal.valueOf(0.1);
-	private static final BigDecimal NON_ASSIST_BOWLING_POINTS = new BigDecimal(25);
-	private static final BigDecimal ASSIST_BOWLING_POINTS = new BigDecimal(12.5);
+	static final FixedPointScoring SCORING = ScoringRules.DEFAULT.scoring();
 	
-	private final List<Score> scores;
-	private final Map<String, Set<Player>> teamComposition = new HashMap<>();
+	private final MatchStats stats;
 
 	public ScoreBoard(List<Score> scores) {
-		this.scores = new ArrayList<>(scores);
-		this.scores.forEach(score -> {
-			Set<Player> battingTeamMates = teamComposition.get(score.getBattingTeamName());
-			if(battingTeamMates == null) {
-				battingTeamMates = new HashSet<>();
-				teamComposition.put(score.getBattingTeamName(), battingTeamMates);
-			}
-			battingTeamMates.add(score.getBatsman());
-			battingTeamMates.add(score.getNonStriker());
-			
-			Set<Player> bowlingTeamMates = teamComposition.get(score.getBowlingTeamName());
-			if(bowlingTeamMates == null) {
-				bowlingTeamMates  = new HashSet<>();
-				teamComposition.put(score.getBowlingTeamName(), bowlingTeamMates);
-			}
-			bowlingTeamMates.add(score.getBowler());
-			if(score.getAssistingPlayer().isPresent()) {
-				bowlingTeamMates.add(score.getAssistingPlayer().get());
-			}			
-		});
-		
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		scores.forEach(stats::add);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
 	}
 	
+	/**
+	 * Builds the score board straight from a stream of scores, such as one from
+	 * {@link ScoreReader#stream(java.nio.file.Path)}, without holding on to the scores.
+	 */
+	public ScoreBoard(Stream<Score> scores) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		scores.forEachOrdered(stats::add);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+	
+	public ScoreBoard(DeliveryColumns columns) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		columns.replay(stats);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	/**
+	 * Builds the score board straight from a UTF-8 score file, replaying its deliveries through
+	 * {@link ScoreReader#replay(Path, DeliveryVisitor)} without creating a score per delivery.
+	 */
+	public ScoreBoard(Path scoreFile) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		ScoreReader.replay(scoreFile, stats);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	/**
+	 * Builds the score board from a UTF-8 stream of deliveries, without closing it, registering the
+	 * names read in the given scope rather than the global one. With a scope of its own, such as one per
+	 * request, nothing the board reads outlives it. Its players equal the global ones of the same name.
+	 */
+	public ScoreBoard(InputStream scores, NameScope names) {
+		this.stats = new MatchStats(names);
+		long start = Metrics.start();
+		try {
+			ScoreReader.replay(scores, names, stats);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	/**
+	 * Builds the score board from the deliveries at the given positions only.
+	 */
+	ScoreBoard(DeliveryColumns columns, int[] rows) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		for(int i : rows) {
+			record(columns, i);
+		}
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	ScoreBoard(OffHeapDeliveries deliveries, int from, int to) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		deliveries.replay(from, to, stats);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	ScoreBoard(DeliverySnapshot snapshot) {
+		this.stats = new MatchStats();
+		long start = Metrics.start();
+		snapshot.replay(stats);
+		stats.resolveTeams();
+		Metrics.recordSince(Latency.SCORE_BOARD_CONSTRUCTION, start);
+	}
+
+	private void record(DeliveryColumns columns, int i) {
+		stats.record(columns.batsman[i], columns.nonStriker[i], columns.bowler[i], columns.assisting[i],
+				columns.battingTeam[i], columns.bowlingTeam[i], columns.runs[i], columns.extraRuns[i],
+				columns.isLegalDelivery(i), columns.isDismissalDelivery(i));
+	}
+	
+	private PlayerStats stats(Player player) {
+		return stats.player(player);
+	}
+	
+	private TeamStats teamStats(String teamName) {
+		return stats.team(teamName);
+	}
 	
 	Set<Player> getTeamPlayers(String teamName) {
-		return Collections.unmodifiableSet(teamComposition.get(teamName));
+		return Collections.unmodifiableSet(stats.teamPlayers(teamName));
 	}
 	
+	/**
+	 * Whether the players can be ranked. They cannot without deliveries, or when a team rate has no balls
+	 * to go on or a player's rate sits exactly on a bonus threshold, and the points and rankings throw then.
+	 */
+	public boolean isScored() {
+		return Rankings.isDefined(stats, SCORING);
+	}
+
 	public Set<Player> getManOfMatch() {
-		
-		Comparator<Player> pointsComparator = (p1, p2) -> calculateMatchPoints(p2).compareTo(calculateMatchPoints(p1));
-		
-		List<Player> rankings = scores.stream()
-			.flatMap(this::participatingPlayers)
-			.distinct()
-			.sorted(pointsComparator)
-			.collect(Collectors.toList());
-		
-//		System.out.println(rankings);
-		
-		Player firstOne = rankings.get(0);
-	
-		// Find all players having same points as the top player.
-		// There could be more than one player who scores maximum points.
-		
-		Set<Player> topRankingPlayers = rankings
-			.stream()
-			.filter(p -> pointsComparator.compare(firstOne, p) == 0)
-			.collect(Collectors.toSet());
-		
-		return topRankingPlayers;
+		long start = Metrics.start();
+		Set<Player> leaders = Rankings.leaders(stats, Rankings.points(stats, SCORING));
+		Metrics.recordSince(Latency.RANKING, start);
+		return leaders;
 	}
 	
-	private Stream<Player> participatingPlayers(Score score) {
-		return  score.getPlayers().stream();
+	/**
+	 * Returns the {@code n} highest scoring players, best first. Players tied on points with the
+	 * n-th player are all included, so the result can hold more than {@code n} entries.
+	 */
+	public List<PlayerPoints> getTopPlayers(int n) {
+		long start = Metrics.start();
+		List<PlayerPoints> topPlayers = Rankings.top(stats, SCORING, Rankings.points(stats, SCORING), n);
+		Metrics.recordSince(Latency.RANKING, start);
+		return topPlayers;
+	}
+
+	/**
+	 * The man of the match and every player's points at once.
+	 */
+	public MatchResult getResult() {
+		return getResult(ScoringRules.DEFAULT);
+	}
+
+	/**
+	 * The man of the match and every player's points as they would be under other rules.
+	 */
+	public MatchResult getResult(ScoringRules rules) {
+		long start = Metrics.start();
+		MatchResult result = MatchResult.of(stats, rules.scoring());
+		Metrics.recordSince(Latency.RANKING, start);
+		return result;
+	}
+
+	/**
+	 * Summaries of every player of the match, in the order they first took part, to be merged into
+	 * tournament totals.
+	 */
+	public List<PlayerMatchSummary> getPlayerSummaries() {
+		List<PlayerMatchSummary> summaries = new ArrayList<>(stats.participantCount());
+		for(int i = 0; i < stats.participantCount(); i++) {
+			summaries.add(PlayerMatchSummary.of(stats, SCORING, stats.participant(i)));
+		}
+		return Collections.unmodifiableList(summaries);
 	}
 
 	public BigDecimal calculateMatchPoints(Player player) {
-		
-		return calculateBasePoints(player)
-				.add(calculateBonusPoints(player));
+		long start = Metrics.start();
+		BigDecimal points = Rankings.matchPoints(stats, SCORING, stats(player));
+		Metrics.recordSince(Latency.PLAYER_POINTS, start);
+		return points;
 	}
 
 	public BigDecimal calculateBasePoints(Player player) {
-		
-		int battingPoints = calculateBaseBattingPoints(player);
-		
-		return new BigDecimal(battingPoints) 
-				.add(calculateBaseBowlingPoints(player)) 
-				.add(calculateBaseFieldingPoints(player));
+		PlayerStats playerStats = stats(player);
+		return FixedPointScoring.toBigDecimal(SCORING.basePoints(playerStats), SCORING.basePointsScale(playerStats));
 	}
 	
 	public BigDecimal calculateBonusPoints(Player player) {
-		
-		return calculateBonusBattingPoints(player)
-				.add(calculateBonusBowlingPoints(player));
+		PlayerStats playerStats = stats(player);
+		long points = SCORING.bonusPoints(stats, playerStats);
+		return FixedPointScoring.toBigDecimal(points, SCORING.bonusPointsScale(stats, playerStats));
 	}
 	
 	public int calculateBaseBattingPoints(Player player) {
-		
-		return scores.stream()
-				.filter(score -> player.equals(score.getBatsman()))
-				.mapToInt(Score::getRuns)
-				.sum();
+		return stats(player).runs;
 	}
 	
 	public BigDecimal calculateBaseBowlingPoints(Player player) {
-		
-		return scores.stream()
-				.filter(score -> player.equals(score.getBowler()))
-				.filter(Score::isDismissalDelivery)
-				.map(score -> {
-					
-					if(!score.getAssistingPlayer().isPresent() || player.equals(score.getAssistingPlayer().get())) {
-						return NON_ASSIST_BOWLING_POINTS;
-					} else {
-						return ASSIST_BOWLING_POINTS;
-					}
-				})
-				.reduce(new BigDecimal(0), (a,b) -> a.add(b));
+		PlayerStats playerStats = stats(player);
+		return FixedPointScoring.toBigDecimal(SCORING.baseBowlingPoints(playerStats),
+				SCORING.baseBowlingPointsScale(playerStats));
 	}
 
 	public BigDecimal calculateBaseFieldingPoints(Player player) {
-		return scores.stream()
-			.filter(score -> score.getAssistingPlayer().isPresent())
-			.filter(score -> player.equals(score.getAssistingPlayer().get()))
-			.map(score ->{
-				if(score.getAssistingPlayer().get().equals(score.getBowler())) {
-					return BigDecimal.ZERO; 
-				} else {
-					return ASSIST_BOWLING_POINTS;
-				}
-			})
-			.reduce(new BigDecimal(0), (a,b) -> a.add(b));
+		PlayerStats playerStats = stats(player);
+		return FixedPointScoring.toBigDecimal(SCORING.baseFieldingPoints(playerStats),
+				SCORING.baseFieldingPointsScale(playerStats));
 	}
 
 	public BigDecimal calculateBonusBattingPoints(Player player) {
-		
-		if(getBallsFacedByPlayer(player) == 0) {
-			return BigDecimal.ZERO;
-		}
-		
-		BigDecimal teamStrikeRate = getTeamStrikeRate(getTeam(player));
-		BigDecimal playerStrikeRate = getPlayerStrikeRate(player);
-		
-		BigDecimal diff = playerStrikeRate.subtract(teamStrikeRate);
-		
-		if(isPlayerStrikeRateMarkedlyDifferent(diff, teamStrikeRate)) {
-			BigDecimal bonusPoints = new BigDecimal(calculateBaseBattingPoints(player)).multiply(BATTING_BONUS_FACTOR);
-			
-			if(diff.signum() == 1) { // player strike rate is more than team strike rate
-				return bonusPoints;
-			} else {
-				return bonusPoints.negate();
-			}
-		} else {
-			return BigDecimal.ZERO;
-		}
-	}
-
-
-	private Boolean isPlayerStrikeRateMarkedlyDifferent(BigDecimal diff, BigDecimal teamStrikeRate) {
-		return isGreater(diff.abs(), teamStrikeRate.multiply(BATTING_BONUS_FACTOR).abs());
+		PlayerStats playerStats = stats(player);
+		long points = SCORING.bonusBattingPoints(stats, playerStats);
+		return FixedPointScoring.toBigDecimal(points, SCORING.bonusBattingPointsScale(stats, playerStats));
 	}
 	
 	String getTeam(Player player) {
-		return teamComposition.entrySet()
-		.stream()
-		.filter(e -> e.getValue().contains(player))
-		.map(Map.Entry::getKey)
-		.findFirst()
-		.orElseThrow(() -> new RuntimeException("No team found for " + player));
-	}
-	
-	private Boolean isGreater(BigDecimal a, BigDecimal b) {
-		BigDecimal diff = a.subtract(b);
-		if(diff.signum() == 0) {
-			return null;
-		} else if(diff.signum() == 1) {
-			return true;
-		} else {
-			return false;
+		int team = stats(player).team;
+		if(team == TeamRegistry.NO_TEAM) {
+			throw new RuntimeException("No team found for " + player);
 		}
+		return stats.teamName(team);
 	}
 
 	public BigDecimal getPlayerStrikeRate(Player player) {
-		
-		int playerRuns = getPlayerRuns(player);
-		
-		long ballsFaced = getBallsFacedByPlayer(player);
-		
-		if(ballsFaced == 0) {
+		PlayerStats playerStats = stats(player);
+		if(playerStats.ballsFaced == 0) {
 			return BigDecimal.ZERO;
 		}
-		
-		return new BigDecimal(playerRuns).divide(new BigDecimal(ballsFaced), 2, RoundingMode.HALF_UP);
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.playerStrikeRate(playerStats));
 	}
 
 	public long getBallsFacedByPlayer(Player player) {
-		return scores.stream()
-				.filter(Score::isNonExtraDelivery)
-				.filter(score -> player.equals(score.getBatsman()))				
-				.count();
+		return stats(player).ballsFaced;
 	}
 
 	public int getPlayerRuns(Player player) {
-		return scores.stream()	
-				.filter(score -> player.equals(score.getBatsman()))
-				.mapToInt(score -> score.getRuns())
-				.sum();
+		return stats(player).runs;
 	}
 
 	public BigDecimal getTeamStrikeRate(String teamName) {
-		
-		int totalRuns = getTeamRuns(teamName);
-			
-		long totalBalls = getTeamBalls(teamName);
-		
-		return new BigDecimal(totalRuns).divide(new BigDecimal(totalBalls), 2, RoundingMode.HALF_UP);
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.teamStrikeRate(teamStats(teamName)));
 	}
 	
 	public BigDecimal getTeamEconomyRate(String teamName) {
-		
-		int totalRuns = getTeamRunsGiven(teamName);
-			
-		long totalBalls = getTeamBallsBowled(teamName);
-		
-		return new BigDecimal(totalRuns).divide(new BigDecimal(totalBalls), 2, RoundingMode.HALF_UP);
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.teamEconomyRate(teamStats(teamName)));
 	}
 
 	public long getTeamBalls(String teamName) {
-		return scores.stream()
-				.filter(score -> score.getBattingTeamName().equals(teamName))
-				.filter(Score::isNonExtraDelivery)
-				.count();
+		return teamStats(teamName).balls;
 	}
 	
 	public long getTeamBallsBowled(String teamName) {
-		return scores.stream()
-				.filter(score -> score.getBowlingTeamName().equals(teamName))
-				.filter(Score::isNonExtraDelivery)
-				.count();
+		return teamStats(teamName).ballsBowled;
 	}
 
 	public int getTeamRuns(String teamName) {
-		return scores.stream()
-				.filter(score -> score.getBattingTeamName().equals(teamName))
-				.mapToInt(score -> score.getRuns() + score.getExtraRuns())
-				.sum();
+		return teamStats(teamName).runs;
 	}
 	
 	public int getTeamRunsGiven(String teamName) {
-		return scores.stream()
-				.filter(score -> score.getBowlingTeamName().equals(teamName))
-				.mapToInt(score -> score.getRuns() + score.getExtraRuns())
-				.sum();
+		return teamStats(teamName).runsGiven;
 	}
 	
 	public BigDecimal calculateBonusBowlingPoints(Player player) {
-		
-		BigDecimal teamEconomyRate = getTeamEconomyRate(getTeam(player));
-		BigDecimal playerEconomyRate = getPlayerEconomyRate(player);
-		
-		BigDecimal diff = teamEconomyRate.subtract(playerEconomyRate);
-		
-		if(diff.signum() == 1) {
-			if(isGreater(diff, teamEconomyRate.multiply(BOWLING_BONUS_FACTOR))) {
-				return calculateBaseBowlingPoints(player).multiply(BOWLING_BONUS_FACTOR);
-			}
-		}
-		
-		if(diff.signum() == -1) {
-			diff = diff.negate();
-			if(isGreater(diff, teamEconomyRate.multiply(BOWLING_BONUS_FACTOR))) {
-				return calculateBaseBowlingPoints(player).multiply(BOWLING_BONUS_FACTOR).negate();
-			}
-		}
-		
-		return BigDecimal.ZERO;
+		PlayerStats playerStats = stats(player);
+		long points = SCORING.bonusBowlingPoints(stats, playerStats);
+		return FixedPointScoring.toBigDecimal(points, SCORING.bonusBowlingPointsScale(stats, playerStats));
 	}
 	
 	public BigDecimal getPlayerEconomyRate(Player player) {
-		
-		int runsConceded = getRunsConceded(player);
-		
-		long ballsBowled = getDeliveries(player);
-		
-		if(ballsBowled == 0) {
+		PlayerStats playerStats = stats(player);
+		if(playerStats.ballsBowled == 0) {
 			return BigDecimal.ZERO;
 		}
-		
-		return new BigDecimal(runsConceded).divide(new BigDecimal(ballsBowled), 2, RoundingMode.HALF_UP);
+		return FixedPointScoring.rateToBigDecimal(FixedPointScoring.playerEconomyRate(playerStats));
 	}
 	
 	public int getRunsConceded(Player player) {
-		return scores.stream()	
-				.filter(score -> player.equals(score.getBowler()))
-				.mapToInt(score -> score.getRuns() + score.getExtraRuns())
-				.sum();
+		return stats(player).runsConceded;
 	}
 	
 	public int getDeliveries(Player player) {
-		return (int) scores.stream()	
-				.filter(Score::isNonExtraDelivery)
-				.filter(score -> player.equals(score.getBowler()))
-				.count();
+		return stats(player).ballsBowled;
 	}
 }
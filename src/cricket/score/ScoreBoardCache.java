@@ -0,0 +1,372 @@
+package cricket.score;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import cricket.Player;
+import cricket.PlayerRegistry;
+
+/**
+ * Keeps the {@link MatchResult} of score files by the SHA-256 of their bytes and a fingerprint of
+ * the scoring rules, so that scoring the same file again only reads it to hash it and does not go
+ * through {@link ScoreReader} or {@link ScoreBoard}. The most recently used results are held in
+ * memory, and, when given a directory, every result is also written there as one file so that it
+ * outlives the process.
+ * <p>
+ * A change to the rule constants gives a new fingerprint. Files of other rules are deleted when the
+ * cache is opened on the directory. The directory holds at most {@value #DEFAULT_DISK_CAPACITY} results
+ * unless told otherwise; past that, the results least recently written or read from disk are deleted.
+ * Matches whose points are undefined are not cached: the exception is thrown on every call, as
+ * {@link ScoreBoard} would.
+ */
+public class ScoreBoardCache {
+
+	private static final String SUFFIX = ".match";
+	private static final int MAGIC = 0x4D4F4D52;
+	private static final int VERSION = 1;
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	public static final int DEFAULT_DISK_CAPACITY = 10_000;
+
+	private final Map<String, MatchResult> memory;
+	private final Path directory;
+	private final int diskCapacity;
+	private final FixedPointScoring scoring;
+	private final String rules;
+	private final String rulesFingerprint;
+
+	private long hits;
+	private long misses;
+	// Result files in the directory as far as this cache knows, recounted when it goes over the capacity.
+	private int diskFiles;
+
+	/**
+	 * A cache of at most {@code capacity} results, in memory only.
+	 */
+	public ScoreBoardCache(int capacity) {
+		this(capacity, null, ScoringRules.DEFAULT);
+	}
+
+	/**
+	 * A cache of at most {@code capacity} results in memory, backed by files in {@code directory}.
+	 */
+	public ScoreBoardCache(int capacity, Path directory) {
+		this(capacity, directory, ScoringRules.DEFAULT);
+	}
+
+	/**
+	 * A cache of results under the given rules. The directory, which may be null, is best not shared
+	 * with caches of other rules, as opening one deletes the results of the others.
+	 */
+	public ScoreBoardCache(int capacity, Path directory, ScoringRules rules) {
+		this(capacity, directory, rules, DEFAULT_DISK_CAPACITY);
+	}
+
+	/**
+	 * A cache of results under the given rules, keeping at most {@code diskCapacity} of them in the directory.
+	 */
+	public ScoreBoardCache(int capacity, Path directory, ScoringRules rules, int diskCapacity) {
+		if(capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+		}
+		if(diskCapacity < 0) {
+			throw new IllegalArgumentException("Disk capacity must not be negative: " + diskCapacity);
+		}
+		this.memory = new LinkedHashMap<String, MatchResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, MatchResult> eldest) {
+				return size() > capacity;
+			}
+		};
+		this.directory = directory;
+		this.diskCapacity = diskCapacity;
+		this.scoring = rules.scoring();
+		this.rules = scoring.rules();
+		this.rulesFingerprint = hex(digest().digest(this.rules.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+		if(directory != null) {
+			evictOtherRules();
+		}
+	}
+
+	/**
+	 * The result of the UTF-8 score file, from the cache when a file with the same bytes was scored before.
+	 */
+	public MatchResult get(Path scoreFile) {
+		if(!Files.isRegularFile(scoreFile)) {
+			throw new IllegalArgumentException("Score file name: " + scoreFile + " does not exist");
+		}
+
+		String key = key(hash(scoreFile));
+		MatchResult result = fromMemory(key);
+		if(result == null && directory != null) {
+			result = fromDisk(key);
+			if(result != null) {
+				toMemory(key, result);
+			}
+		}
+		if(result != null) {
+			synchronized(this) {
+				hits++;
+			}
+			return result;
+		}
+
+		synchronized(this) {
+			misses++;
+		}
+		return score(scoreFile);
+	}
+
+	/**
+	 * Scores the file, hashing the bytes as they are parsed so that the result is kept under the content
+	 * it was computed from even if the file changed since it was first hashed.
+	 */
+	private MatchResult score(Path scoreFile) {
+		MessageDigest digest = digest();
+		MatchStats stats = new MatchStats();
+		try (InputStream is = new DigestInputStream(Files.newInputStream(scoreFile), digest);
+				Stream<Score> scores = ScoreReader.stream(is, StandardCharsets.UTF_8)) {
+			scores.forEachOrdered(stats::add);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		} catch (UncheckedIOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e.getCause());
+		}
+
+		stats.resolveTeams();
+		MatchResult result = MatchResult.of(stats, scoring);
+		String key = key(hex(digest.digest()));
+		toMemory(key, result);
+		if(directory != null) {
+			toDisk(key, result);
+		}
+		return result;
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Drops the results held in memory. Files in the directory are kept.
+	 */
+	public synchronized void clear() {
+		memory.clear();
+	}
+
+	private synchronized MatchResult fromMemory(String key) {
+		return memory.get(key);
+	}
+
+	private synchronized void toMemory(String key, MatchResult result) {
+		memory.put(key, result);
+	}
+
+	private String key(String contentHash) {
+		return contentHash + "-" + rulesFingerprint;
+	}
+
+	private String hash(Path scoreFile) {
+		MessageDigest digest = digest();
+		byte[] buffer = new byte[BUFFER_SIZE];
+		try (InputStream is = Files.newInputStream(scoreFile)) {
+			int n;
+			while((n = is.read(buffer)) != -1) {
+				digest.update(buffer, 0, n);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		}
+		return hex(digest.digest());
+	}
+
+	private void evictOtherRules() {
+		try {
+			Files.createDirectories(directory);
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+				for(Path file : files) {
+					if(!file.getFileName().toString().endsWith("-" + rulesFingerprint + SUFFIX)) {
+						Files.deleteIfExists(file);
+					} else {
+						diskFiles++;
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not open cache directory: " + directory, e);
+		}
+		if(diskFiles > diskCapacity) {
+			evictOldest();
+		}
+	}
+
+	/**
+	 * Deletes the results of these rules least recently written or read until the directory is back
+	 * within its capacity. Files another cache deleted in the meantime are skipped.
+	 */
+	private synchronized void evictOldest() {
+		Map<Path, FileTime> written = new HashMap<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-" + rulesFingerprint + SUFFIX)) {
+			for(Path file : files) {
+				try {
+					written.put(file, Files.getLastModifiedTime(file));
+				} catch (IOException gone) {
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not list cache directory: " + directory, e);
+		}
+		List<Path> oldestFirst = new ArrayList<>(written.keySet());
+		oldestFirst.sort(Comparator.comparing(written::get));
+		int left = oldestFirst.size();
+		for(Path file : oldestFirst) {
+			if(left <= diskCapacity) {
+				break;
+			}
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException e) {
+				throw new IllegalStateException("Could not evict from cache directory: " + directory, e);
+			}
+			left--;
+		}
+		diskFiles = left;
+	}
+
+	/**
+	 * The result in the key's file, or null when there is none or it cannot be used. A file that cannot
+	 * be used is deleted so that the result is written again; one that is read is touched so that it is
+	 * evicted last.
+	 */
+	private MatchResult fromDisk(String key) {
+		Path file = directory.resolve(key + SUFFIX);
+		if(!Files.isRegularFile(file)) {
+			return null;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if(in.readInt() != MAGIC || in.readInt() != VERSION || !rules.equals(in.readUTF())) {
+				Files.deleteIfExists(file);
+				return null;
+			}
+			Set<Player> manOfMatch = new LinkedHashSet<>();
+			Map<Player, BigDecimal[]> points = new LinkedHashMap<>();
+			int players = in.readInt();
+			for(int i = 0; i < players; i++) {
+				Player player = PlayerRegistry.intern(in.readUTF());
+				if(in.readBoolean()) {
+					manOfMatch.add(player);
+				}
+				points.put(player, new BigDecimal[] { new BigDecimal(in.readUTF()), new BigDecimal(in.readUTF()),
+						new BigDecimal(in.readUTF()) });
+			}
+			touch(file);
+			return new MatchResult(manOfMatch, points);
+		} catch (IOException | RuntimeException e) {
+			try {
+				Files.deleteIfExists(file);
+			} catch (IOException ignored) {
+			}
+			return null;
+		}
+	}
+
+	private static void touch(Path file) {
+		try {
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException ignored) {
+		}
+	}
+
+	/**
+	 * Writes to a temporary file first and moves it into place, so that readers never see half a result.
+	 * The temporary file is deleted if either fails.
+	 */
+	private void toDisk(String key, MatchResult result) {
+		Path file = directory.resolve(key + SUFFIX);
+		Path temp = null;
+		try {
+			boolean replacing = Files.exists(file);
+			temp = Files.createTempFile(directory, key, ".tmp");
+			try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				out.writeInt(MAGIC);
+				out.writeInt(VERSION);
+				out.writeUTF(rules);
+				out.writeInt(result.points().size());
+				for(Map.Entry<Player, BigDecimal[]> entry : result.points().entrySet()) {
+					out.writeUTF(entry.getKey().name());
+					out.writeBoolean(result.getManOfMatch().contains(entry.getKey()));
+					for(BigDecimal points : entry.getValue()) {
+						out.writeUTF(points.toString());
+					}
+				}
+			}
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			temp = null;
+			if(!replacing) {
+				written();
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not write to cache directory: " + directory, e);
+		} finally {
+			if(temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ignored) {
+				}
+			}
+		}
+	}
+
+	private synchronized void written() {
+		if(++diskFiles > diskCapacity) {
+			evictOldest();
+		}
+	}
+
+	private static MessageDigest digest() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static String hex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for(byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+
+}
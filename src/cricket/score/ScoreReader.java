@@ -1,42 +1,263 @@
 package cricket.score;
 
 import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.util.ArrayList;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import cricket.NameScope;
+import cricket.metrics.Counter;
+import cricket.metrics.Metrics;
 
 public class ScoreReader {
 
+	private static final int BUFFER_SIZE = 1 << 16;
+
 	private final List<Score> scores;
 
 	public ScoreReader(String scoreFileName) {
-		this.scores = new ArrayList<>();
-		
 		InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(scoreFileName);
 		if(is == null) {
 			throw new IllegalArgumentException("Score file name: " + scoreFileName + " does not exist");
 		}
 		
-		BufferedReader rd = new BufferedReader(new InputStreamReader(is));
-		String line = null;
+		try (Stream<Score> stream = stream(is, Charset.defaultCharset())) {
+			this.scores = stream.collect(Collectors.toList());
+		} catch (UncheckedIOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFileName);
+		}
+	}
+
+	public List<Score> getScores() {
+		return Collections.unmodifiableList(scores);
+		
+	}
+	
+	public static Stream<Score> stream(Path scoreFile) {
+		return stream(scoreFile, StandardCharsets.UTF_8);
+	}
+	
+	/**
+	 * Lazily reads the scores in a file, one line at a time. The returned stream holds the file open
+	 * and should be closed, e.g. with try-with-resources.
+	 */
+	public static Stream<Score> stream(Path scoreFile, Charset charset) {
+		if(!Files.isRegularFile(scoreFile)) {
+			throw new IllegalArgumentException("Score file name: " + scoreFile + " does not exist");
+		}
 		
 		try {
-			while ( (line = rd.readLine()) != null) {
-				if(!line.trim().isEmpty()) {
-					scores.add(Score.from(line.trim()));
+			return stream(Files.newInputStream(scoreFile), charset);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		}
+	}
+	
+	/**
+	 * Lazily reads the scores in a stream, one line at a time. Closing the returned stream closes
+	 * the input stream. Read failures are thrown as {@link UncheckedIOException}.
+	 * <p>
+	 * UTF-8 input is parsed straight from bytes by a {@link DeliveryParser}; other charsets are
+	 * decoded line by line and parsed by {@link Score#from(String)}.
+	 */
+	public static Stream<Score> stream(InputStream is, Charset charset) {
+		Closeable source;
+		Iterator<Score> iterator;
+		if(StandardCharsets.UTF_8.equals(charset)) {
+			ByteLineReader rd = new ByteLineReader(is, BUFFER_SIZE);
+			source = rd;
+			iterator = new ParsingScoreIterator(rd);
+		} else {
+			BufferedReader rd = new BufferedReader(new InputStreamReader(is, charset), BUFFER_SIZE);
+			source = rd;
+			iterator = new ScoreIterator(rd);
+		}
+		
+		Spliterator<Score> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		
+		return StreamSupport.stream(spliterator, false)
+				.onClose(() -> {
+					try {
+						source.close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
+	
+	/**
+	 * Reads the UTF-8 score file and feeds every delivery to the visitor through one reused cursor,
+	 * without creating a {@link Score} per delivery.
+	 */
+	public static void replay(Path scoreFile, DeliveryVisitor visitor) {
+		if(!Files.isRegularFile(scoreFile)) {
+			throw new IllegalArgumentException("Score file name: " + scoreFile + " does not exist");
+		}
+		
+		try (InputStream is = Files.newInputStream(scoreFile)) {
+			replay(is, visitor);
+		} catch (IOException e) {
+			throw new IllegalStateException("Could not read score file: " + scoreFile, e);
+		}
+	}
+	
+	/**
+	 * Reads all of the UTF-8 stream, without closing it, and feeds every delivery to the visitor through
+	 * one reused cursor. Once the names in the input have been seen, reading a delivery allocates nothing.
+	 */
+	public static void replay(InputStream is, DeliveryVisitor visitor) throws IOException {
+		replay(is, NameScope.global(), visitor);
+	}
+	
+	/**
+	 * Same as {@link #replay(InputStream, DeliveryVisitor)}, registering the names read in the given scope.
+	 */
+	public static void replay(InputStream is, NameScope names, DeliveryVisitor visitor) throws IOException {
+		ByteLineReader rd = new ByteLineReader(is, BUFFER_SIZE);
+		DeliveryParser parser = new DeliveryParser(names);
+		DeliveryCursor cursor = new DeliveryCursor();
+		while (rd.nextLine()) {
+			Metrics.increment(Counter.LINES_READ);
+			if(isBlank(rd.buffer(), rd.lineStart(), rd.lineEnd())) {
+				Metrics.increment(Counter.BLANK_LINES_SKIPPED);
+				continue;
+			}
+			try {
+				parser.parse(rd.buffer(), rd.lineStart(), rd.lineEnd(), cursor);
+			} catch (RuntimeException e) {
+				Metrics.increment(Counter.PARSE_FAILURES);
+				throw e;
+			}
+			visitor.visit(cursor);
+		}
+	}
+	
+	static boolean isBlank(byte[] line, int from, int to) {
+		for(int i = from; i < to; i++) {
+			// Same as String.trim(); bytes of multi-byte UTF-8 characters are negative.
+			if(line[i] < 0 || line[i] > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	private static Score parse(String line) {
+		try {
+			return Score.from(line.trim());
+		} catch (RuntimeException e) {
+			Metrics.increment(Counter.PARSE_FAILURES);
+			throw e;
+		}
+	}
+	
+	static Score parse(DeliveryParser parser, ByteLineReader rd) {
+		try {
+			return parser.parse(rd.buffer(), rd.lineStart(), rd.lineEnd());
+		} catch (RuntimeException e) {
+			Metrics.increment(Counter.PARSE_FAILURES);
+			throw e;
+		}
+	}
+	
+	private static class ScoreIterator implements Iterator<Score> {
+		
+		private final BufferedReader rd;
+		private Score next;
+		
+		ScoreIterator(BufferedReader rd) {
+			this.rd = rd;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(next != null) {
+				return true;
+			}
+			
+			try {
+				String line = null;
+				while ( (line = rd.readLine()) != null) {
+					Metrics.increment(Counter.LINES_READ);
+					if(!line.trim().isEmpty()) {
+						next = parse(line);
+						return true;
+					}
+					Metrics.increment(Counter.BLANK_LINES_SKIPPED);
 				}
+				return false;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
 			}
-		} catch (IOException e) {
-			throw new IllegalStateException("Could not read score file: " + scoreFileName);
+		}
+
+		@Override
+		public Score next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Score score = next;
+			next = null;
+			return score;
 		}
 	}
 
-	public List<Score> getScores() {
-		return Collections.unmodifiableList(scores);
+	private static class ParsingScoreIterator implements Iterator<Score> {
+		
+		private final ByteLineReader rd;
+		private final DeliveryParser parser = new DeliveryParser();
+		private Score next;
 		
+		ParsingScoreIterator(ByteLineReader rd) {
+			this.rd = rd;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(next != null) {
+				return true;
+			}
+			
+			try {
+				while (rd.nextLine()) {
+					Metrics.increment(Counter.LINES_READ);
+					if(!isBlank(rd.buffer(), rd.lineStart(), rd.lineEnd())) {
+						next = parse(parser, rd);
+						return true;
+					}
+					Metrics.increment(Counter.BLANK_LINES_SKIPPED);
+				}
+				return false;
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+
+		@Override
+		public Score next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Score score = next;
+			next = null;
+			return score;
+		}
 	}
 
 }
@@ -0,0 +1,92 @@
+package cricket.score;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * The constants points are worked out with. {@link #DEFAULT} holds the rules {@link ScoreBoard} has
+ * always scored by; other rules can be compared against them with a {@link RulesEvaluator}.
+ * <p>
+ * Bonus factors and points can have at most two decimal places, so that points stay exact. As the
+ * scale of a rule carries over to the scale of the points, rules are equal only when their values
+ * have the same scales too, like {@link BigDecimal#equals(Object)}.
+ */
+public final class ScoringRules {
+
+	public static final ScoringRules DEFAULT = new ScoringRules(BigDecimal.valueOf(0.1), BigDecimal.valueOf(0.1),
+			new BigDecimal(25), new BigDecimal(12.5));
+
+	private final BigDecimal battingBonusFactor;
+	private final BigDecimal bowlingBonusFactor;
+	private final BigDecimal nonAssistBowlingPoints;
+	private final BigDecimal assistBowlingPoints;
+	private final FixedPointScoring scoring;
+
+	public ScoringRules(BigDecimal battingBonusFactor, BigDecimal bowlingBonusFactor, BigDecimal nonAssistBowlingPoints,
+			BigDecimal assistBowlingPoints) {
+		this.battingBonusFactor = Objects.requireNonNull(battingBonusFactor, "Batting bonus factor");
+		this.bowlingBonusFactor = Objects.requireNonNull(bowlingBonusFactor, "Bowling bonus factor");
+		this.nonAssistBowlingPoints = Objects.requireNonNull(nonAssistBowlingPoints, "Non assist bowling points");
+		this.assistBowlingPoints = Objects.requireNonNull(assistBowlingPoints, "Assist bowling points");
+		this.scoring = new FixedPointScoring(battingBonusFactor, bowlingBonusFactor, nonAssistBowlingPoints,
+				assistBowlingPoints);
+	}
+
+	public BigDecimal getBattingBonusFactor() {
+		return battingBonusFactor;
+	}
+
+	public BigDecimal getBowlingBonusFactor() {
+		return bowlingBonusFactor;
+	}
+
+	public BigDecimal getNonAssistBowlingPoints() {
+		return nonAssistBowlingPoints;
+	}
+
+	public BigDecimal getAssistBowlingPoints() {
+		return assistBowlingPoints;
+	}
+
+	public ScoringRules withBattingBonusFactor(BigDecimal battingBonusFactor) {
+		return new ScoringRules(battingBonusFactor, bowlingBonusFactor, nonAssistBowlingPoints, assistBowlingPoints);
+	}
+
+	public ScoringRules withBowlingBonusFactor(BigDecimal bowlingBonusFactor) {
+		return new ScoringRules(battingBonusFactor, bowlingBonusFactor, nonAssistBowlingPoints, assistBowlingPoints);
+	}
+
+	public ScoringRules withNonAssistBowlingPoints(BigDecimal nonAssistBowlingPoints) {
+		return new ScoringRules(battingBonusFactor, bowlingBonusFactor, nonAssistBowlingPoints, assistBowlingPoints);
+	}
+
+	public ScoringRules withAssistBowlingPoints(BigDecimal assistBowlingPoints) {
+		return new ScoringRules(battingBonusFactor, bowlingBonusFactor, nonAssistBowlingPoints, assistBowlingPoints);
+	}
+
+	FixedPointScoring scoring() {
+		return scoring;
+	}
+
+	@Override
+	public int hashCode() {
+		return scoring.rules().hashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if(this == obj) {
+			return true;
+		}
+		if(!(obj instanceof ScoringRules)) {
+			return false;
+		}
+		return scoring.rules().equals(((ScoringRules) obj).scoring.rules());
+	}
+
+	@Override
+	public String toString() {
+		return "ScoringRules [" + scoring.rules() + "]";
+	}
+
+}
@@ -0,0 +1,164 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import cricket.Player;
+
+/**
+ * The deliveries of many matches, kept match by match so that each match can be scored on its own.
+ * <p>
+ * Score files carry no match identifier, so {@link #of(List)} finds where one match ends and the next
+ * begins from the innings numbers and teams: a new match starts when the innings number goes down,
+ * when the teams change within an innings, or when a later innings is played by different teams.
+ */
+public class Season {
+
+	private final List<List<Score>> matches;
+
+	public Season(List<List<Score>> matches) {
+		List<List<Score>> copy = new ArrayList<>(matches.size());
+		for(List<Score> match : matches) {
+			copy.add(Collections.unmodifiableList(new ArrayList<>(match)));
+		}
+		this.matches = Collections.unmodifiableList(copy);
+	}
+
+	public static Season of(List<Score> scores) {
+		return of(scores.stream());
+	}
+
+	public static Season of(Stream<Score> scores) {
+		List<List<Score>> matches = new ArrayList<>();
+		MatchSplitter splitter = new MatchSplitter(matches);
+		scores.forEachOrdered(splitter::add);
+		return new Season(matches);
+	}
+
+	public int getMatchCount() {
+		return matches.size();
+	}
+
+	public List<Score> getMatch(int match) {
+		return matches.get(match);
+	}
+
+	public List<Set<Player>> getManOfMatchPerMatch() {
+		return getManOfMatchPerMatch(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Works out the man of the match of every match, scoring the matches in parallel on the given pool.
+	 * The results are in match order.
+	 */
+	public List<Set<Player>> getManOfMatchPerMatch(ForkJoinPool pool) {
+		return evaluate(ScoreBoard::getManOfMatch, pool);
+	}
+
+	public TournamentTable getTournamentTable() {
+		return getTournamentTable(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Summarises every match in parallel on the given pool and merges the summaries into tournament totals.
+	 */
+	public TournamentTable getTournamentTable(ForkJoinPool pool) {
+		TournamentTable table = new TournamentTable();
+		for(List<PlayerMatchSummary> match : evaluate(ScoreBoard::getPlayerSummaries, pool)) {
+			match.forEach(table::add);
+		}
+		return table;
+	}
+
+	/**
+	 * Builds a score board for every match and applies the evaluation to it, in parallel on the given
+	 * pool. The results are in match order.
+	 */
+	public <T> List<T> evaluate(Function<ScoreBoard, T> evaluation, ForkJoinPool pool) {
+		Object[] results = new Object[matches.size()];
+		pool.invoke(new MatchEvaluation<>(evaluation, results, 0, results.length));
+
+		@SuppressWarnings("unchecked")
+		List<T> inOrder = (List<T>) Arrays.asList(results);
+		return Collections.unmodifiableList(inOrder);
+	}
+
+	// Tasks are never serialized.
+	@SuppressWarnings("serial")
+	private class MatchEvaluation<T> extends RecursiveAction {
+
+		private final Function<ScoreBoard, T> evaluation;
+		private final Object[] results;
+		private final int from;
+		private final int to;
+
+		MatchEvaluation(Function<ScoreBoard, T> evaluation, Object[] results, int from, int to) {
+			this.evaluation = evaluation;
+			this.results = results;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= 1) {
+				for(int match = from; match < to; match++) {
+					results[match] = evaluation.apply(new ScoreBoard(matches.get(match)));
+				}
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(new MatchEvaluation<>(evaluation, results, from, middle),
+					new MatchEvaluation<>(evaluation, results, middle, to));
+		}
+	}
+
+	private static class MatchSplitter {
+
+		private final List<List<Score>> matches;
+		private List<Score> current;
+		private Score previous;
+		private int firstBattingTeam;
+		private int firstBowlingTeam;
+
+		MatchSplitter(List<List<Score>> matches) {
+			this.matches = matches;
+		}
+
+		void add(Score score) {
+			if(previous == null || startsNewMatch(score)) {
+				current = new ArrayList<>();
+				matches.add(current);
+				firstBattingTeam = score.getBattingTeamId();
+				firstBowlingTeam = score.getBowlingTeamId();
+			}
+			current.add(score);
+			previous = score;
+		}
+
+		private boolean startsNewMatch(Score score) {
+			if(score.getInningsNumber() < previous.getInningsNumber()) {
+				return true;
+			}
+			if(score.getInningsNumber() == previous.getInningsNumber()) {
+				return score.getBattingTeamId() != previous.getBattingTeamId()
+						|| score.getBowlingTeamId() != previous.getBowlingTeamId();
+			}
+			return !isPlayedBetween(score, firstBattingTeam, firstBowlingTeam);
+		}
+
+		private static boolean isPlayedBetween(Score score, int team, int otherTeam) {
+			return (score.getBattingTeamId() == team && score.getBowlingTeamId() == otherTeam)
+					|| (score.getBattingTeamId() == otherTeam && score.getBowlingTeamId() == team);
+		}
+	}
+
+}
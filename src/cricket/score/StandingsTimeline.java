@@ -0,0 +1,336 @@
+package cricket.score;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import cricket.Player;
+
+/**
+ * The standings of a match after every ball, built in one pass over the deliveries, to answer questions
+ * like "who was man of the match after over 12.3" without scoring the match again up to that ball.
+ * <p>
+ * For every player and team the timeline keeps the running totals only at the deliveries that changed
+ * them, each entry a checkpoint of all the totals. The standings after any number of deliveries are put
+ * back together with one binary search per player and team, and then scored as a {@link ScoreBoard}
+ * over those deliveries would be, with the same results and the same exceptions when points are
+ * undefined.
+ */
+public class StandingsTimeline {
+
+	private static final int PLAYER_TOTALS = 7;
+	private static final int TEAM_TOTALS = 4;
+
+	private final DeliveryColumns deliveries;
+	private final Track[] players;
+	// Player ids in the order the players first took part.
+	private final int[] participants;
+	private final Track[] teams;
+	private final int[] teamIds;
+	private final long[] positions;
+	private final boolean positionsSorted;
+
+	public StandingsTimeline(List<Score> scores) {
+		this(DeliveryColumns.of(scores));
+	}
+
+	/**
+	 * A timeline of a UTF-8 score file.
+	 */
+	public StandingsTimeline(Path scoreFile) {
+		this(columns(scoreFile));
+	}
+
+	public StandingsTimeline(DeliveryColumns columns) {
+		this.deliveries = columns;
+		Recorder recorder = new Recorder();
+		columns.replay(recorder);
+
+		MatchStats stats = recorder.stats;
+		this.participants = new int[stats.participantCount()];
+		this.players = new Track[participants.length];
+		for(int i = 0; i < participants.length; i++) {
+			participants[i] = stats.participant(i);
+			players[i] = recorder.playerTracks[i];
+		}
+		this.teamIds = new int[stats.teamCount()];
+		this.teams = new Track[teamIds.length];
+		for(int i = 0; i < teamIds.length; i++) {
+			teamIds[i] = stats.teamId(i);
+			teams[i] = recorder.teamTracks[i];
+		}
+		this.positions = Arrays.copyOf(recorder.positions, recorder.delivery);
+		this.positionsSorted = recorder.positionsSorted;
+	}
+
+	private static DeliveryColumns columns(Path scoreFile) {
+		try (Stream<Score> scores = ScoreReader.stream(scoreFile)) {
+			return DeliveryColumns.of(scores);
+		}
+	}
+
+	/**
+	 * The number of deliveries in the match.
+	 */
+	public int size() {
+		return deliveries.size();
+	}
+
+	/**
+	 * The number of deliveries bowled up to and including the given ball, for example after over 12.3
+	 * of the first innings. When the deliveries are not in order, the first delivery after the ball ends it.
+	 */
+	public int deliveriesAfter(int inningsNumber, int overNumber, int ballNumber) {
+		long position = position(inningsNumber, overNumber, ballNumber);
+		if(positionsSorted) {
+			int low = 0;
+			int high = positions.length;
+			while(low < high) {
+				int mid = (low + high) >>> 1;
+				if(positions[mid] <= position) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low;
+		}
+		for(int i = 0; i < positions.length; i++) {
+			if(positions[i] > position) {
+				return i;
+			}
+		}
+		return positions.length;
+	}
+
+	public Set<Player> getManOfMatch(int deliveries) {
+		MatchStats stats = standings(deliveries);
+		return Rankings.leaders(stats, Rankings.points(stats, ScoreBoard.SCORING));
+	}
+
+	public List<PlayerPoints> getTopPlayers(int deliveries, int n) {
+		MatchStats stats = standings(deliveries);
+		return Rankings.top(stats, ScoreBoard.SCORING, Rankings.points(stats, ScoreBoard.SCORING), n);
+	}
+
+	/**
+	 * The man of the match and every player's points after the given number of deliveries.
+	 */
+	public MatchResult getResult(int deliveries) {
+		return MatchResult.of(standings(deliveries), ScoreBoard.SCORING);
+	}
+
+	/**
+	 * Every change of leaders over the match, in order, worked out in one replay of the deliveries.
+	 * As with a {@link LiveScoreBoard}, the leaders are empty while points cannot be worked out.
+	 */
+	public List<LeaderChange> getLeaderChanges() {
+		List<LeaderChange> changes = new ArrayList<>();
+		LiveScoreBoard board = new LiveScoreBoard();
+		board.addListener((previous, leaders, deliveries) -> changes.add(new LeaderChange(deliveries, previous, leaders)));
+		deliveries.replay(board);
+		return Collections.unmodifiableList(changes);
+	}
+
+	/**
+	 * The player and team totals after the first {@code deliveries} deliveries.
+	 */
+	MatchStats standings(int deliveries) {
+		if(deliveries < 1 || deliveries > size()) {
+			throw new IndexOutOfBoundsException("Standings after " + deliveries + " of " + size() + " deliveries");
+		}
+
+		MatchStats stats = new MatchStats();
+		for(int i = 0; i < participants.length; i++) {
+			Track track = players[i];
+			int entry = track.entryBefore(deliveries);
+			if(entry < 0) {
+				// Players are in the order they first took part, so none of the rest has yet either.
+				break;
+			}
+			PlayerStats player = stats.restorePlayer(participants[i]);
+			int at = entry * PLAYER_TOTALS;
+			player.runs = track.totals[at];
+			player.ballsFaced = track.totals[at + 1];
+			player.ballsBowled = track.totals[at + 2];
+			player.runsConceded = track.totals[at + 3];
+			player.unassistedWickets = track.totals[at + 4];
+			player.assistedWickets = track.totals[at + 5];
+			player.fieldingAssists = track.totals[at + 6];
+			for(int t = 0; t < track.teamCount && track.joinedAt[t] < deliveries; t++) {
+				player.joinTeam(track.teams[t]);
+			}
+		}
+		for(int i = 0; i < teamIds.length; i++) {
+			Track track = teams[i];
+			int entry = track.entryBefore(deliveries);
+			if(entry < 0) {
+				continue;
+			}
+			TeamStats team = stats.restoreTeam(teamIds[i]);
+			int at = entry * TEAM_TOTALS;
+			team.runs = track.totals[at];
+			team.balls = track.totals[at + 1];
+			team.runsGiven = track.totals[at + 2];
+			team.ballsBowled = track.totals[at + 3];
+		}
+		stats.resolveTeams();
+		return stats;
+	}
+
+	private static long position(int inningsNumber, int overNumber, int ballNumber) {
+		return ((long) inningsNumber << 42) + ((long) overNumber << 21) + ballNumber;
+	}
+
+	/**
+	 * Checkpoints of one player's or team's totals: {@code totals} from the entry at index {@code e}
+	 * hold after delivery {@code at[e]}, until the next entry.
+	 */
+	private static class Track {
+
+		final int width;
+		int[] at = new int[8];
+		int[] totals;
+		int size;
+
+		// The teams a player turned out for and the delivery each was first turned out for at.
+		int[] teams = new int[1];
+		int[] joinedAt = new int[1];
+		int teamCount;
+
+		Track(int width) {
+			this.width = width;
+			this.totals = new int[8 * width];
+		}
+
+		/**
+		 * Starts an entry for the delivery, or reuses the last one if it is for the same delivery, and
+		 * returns where its totals go.
+		 */
+		int checkpoint(int delivery) {
+			if(size > 0 && at[size - 1] == delivery) {
+				return (size - 1) * width;
+			}
+			if(size == at.length) {
+				at = Arrays.copyOf(at, size * 2);
+				totals = Arrays.copyOf(totals, size * 2 * width);
+			}
+			at[size] = delivery;
+			return size++ * width;
+		}
+
+		void joined(int team, int delivery) {
+			if(teamCount == teams.length) {
+				teams = Arrays.copyOf(teams, teamCount * 2);
+				joinedAt = Arrays.copyOf(joinedAt, teamCount * 2);
+			}
+			teams[teamCount] = team;
+			joinedAt[teamCount++] = delivery;
+		}
+
+		/**
+		 * The last entry for a delivery before {@code deliveries}, or -1 if there is none.
+		 */
+		int entryBefore(int deliveries) {
+			int low = 0;
+			int high = size;
+			while(low < high) {
+				int mid = (low + high) >>> 1;
+				if(at[mid] < deliveries) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			return low - 1;
+		}
+	}
+
+	/**
+	 * Replays the deliveries into running totals and checkpoints the totals each delivery changed.
+	 */
+	private static class Recorder implements DeliveryVisitor {
+
+		final MatchStats stats = new MatchStats();
+		// Indexed by the slots of the match totals.
+		Track[] playerTracks = new Track[32];
+		Track[] teamTracks = new Track[4];
+		long[] positions = new long[256];
+		boolean positionsSorted = true;
+		int delivery;
+
+		@Override
+		public void visit(DeliveryCursor cursor) {
+			stats.visit(cursor);
+
+			if(delivery == positions.length) {
+				positions = Arrays.copyOf(positions, delivery * 2);
+			}
+			positions[delivery] = position(cursor.getInningsNumber(), cursor.getOverNumber(), cursor.getBallNumber());
+			if(delivery > 0 && positions[delivery] < positions[delivery - 1]) {
+				positionsSorted = false;
+			}
+
+			player(cursor.getBatsmanId());
+			player(cursor.getNonStrikerId());
+			player(cursor.getBowlerId());
+			if(cursor.getAssistingPlayerId() != DeliveryCursor.NO_PLAYER) {
+				player(cursor.getAssistingPlayerId());
+			}
+			team(cursor.getBattingTeamId());
+			if(cursor.getBowlingTeamId() != cursor.getBattingTeamId()) {
+				team(cursor.getBowlingTeamId());
+			}
+			delivery++;
+		}
+
+		private void player(int playerId) {
+			int slot = stats.playerSlot(playerId);
+			if(slot >= playerTracks.length) {
+				playerTracks = Arrays.copyOf(playerTracks, Math.max(playerTracks.length * 2, slot + 1));
+			}
+			Track track = playerTracks[slot];
+			if(track == null) {
+				track = new Track(PLAYER_TOTALS);
+				playerTracks[slot] = track;
+			}
+
+			PlayerStats player = stats.totals(playerId);
+			for(int t = track.teamCount; t < player.teamCount; t++) {
+				track.joined(player.teams[t], delivery);
+			}
+			int at = track.checkpoint(delivery);
+			track.totals[at] = player.runs;
+			track.totals[at + 1] = player.ballsFaced;
+			track.totals[at + 2] = player.ballsBowled;
+			track.totals[at + 3] = player.runsConceded;
+			track.totals[at + 4] = player.unassistedWickets;
+			track.totals[at + 5] = player.assistedWickets;
+			track.totals[at + 6] = player.fieldingAssists;
+		}
+
+		private void team(int teamId) {
+			int slot = stats.teamSlot(teamId);
+			if(slot >= teamTracks.length) {
+				teamTracks = Arrays.copyOf(teamTracks, Math.max(teamTracks.length * 2, slot + 1));
+			}
+			Track track = teamTracks[slot];
+			if(track == null) {
+				track = new Track(TEAM_TOTALS);
+				teamTracks[slot] = track;
+			}
+
+			TeamStats team = stats.team(teamId);
+			int at = track.checkpoint(delivery);
+			track.totals[at] = team.runs;
+			track.totals[at + 1] = team.balls;
+			track.totals[at + 2] = team.runsGiven;
+			track.totals[at + 3] = team.ballsBowled;
+		}
+	}
+
+}
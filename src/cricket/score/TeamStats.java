@@ -0,0 +1,13 @@
+package cricket.score;
+
+/**
+ * Running totals for one team, accumulated in a single pass over the deliveries of a match.
+ */
+class TeamStats {
+
+	int runs;
+	int balls;
+	int runsGiven;
+	int ballsBowled;
+
+}
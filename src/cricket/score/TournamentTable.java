@@ -0,0 +1,81 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collector;
+
+import cricket.Player;
+
+/**
+ * Tournament totals of every player, made by merging {@link PlayerMatchSummary}s. Tables built over
+ * different matches, for example on different threads, can themselves be merged, and the result does
+ * not depend on the order the matches came in.
+ * <p>
+ * A table is not thread-safe; give each thread its own and merge them, as {@link #collector()} does.
+ */
+public class TournamentTable {
+
+	private final Map<Player, PlayerMatchSummary> summaries = new LinkedHashMap<>();
+
+	public void add(PlayerMatchSummary summary) {
+		summaries.merge(summary.getPlayer(), summary, PlayerMatchSummary::merge);
+	}
+
+	public void addMatch(ScoreBoard match) {
+		match.getPlayerSummaries().forEach(this::add);
+	}
+
+	public TournamentTable merge(TournamentTable other) {
+		other.summaries.values().forEach(this::add);
+		return this;
+	}
+
+	/**
+	 * Collects summaries, from any number of matches and threads, into one table.
+	 */
+	public static Collector<PlayerMatchSummary, ?, TournamentTable> collector() {
+		return Collector.of(TournamentTable::new, TournamentTable::add, TournamentTable::merge,
+				Collector.Characteristics.UNORDERED, Collector.Characteristics.IDENTITY_FINISH);
+	}
+
+	/**
+	 * The summary of the player, or null when the player has not played.
+	 */
+	public PlayerMatchSummary getSummary(Player player) {
+		return summaries.get(player);
+	}
+
+	public Collection<PlayerMatchSummary> getSummaries() {
+		return Collections.unmodifiableCollection(summaries.values());
+	}
+
+	/**
+	 * Returns the {@code n} players with the most points over the tournament, best first. Players tied
+	 * on points with the n-th player are all included, so the result can hold more than {@code n} entries.
+	 */
+	public List<PlayerPoints> getLeaders(int n) {
+		if(n <= 0) {
+			throw new IllegalArgumentException("Number of top players must be positive: " + n);
+		}
+
+		List<PlayerMatchSummary> ranked = new ArrayList<>(summaries.values());
+		// Ties are ordered by name so the leader board does not depend on the order matches were merged in.
+		ranked.sort(Comparator.comparingLong(PlayerMatchSummary::points).reversed()
+				.thenComparing(summary -> summary.getPlayer().name()));
+
+		List<PlayerPoints> leaders = new ArrayList<>();
+		for(PlayerMatchSummary summary : ranked) {
+			if(leaders.size() >= n && summary.points() < ranked.get(n - 1).points()) {
+				break;
+			}
+			leaders.add(new PlayerPoints(summary.getPlayer(), summary.getPoints()));
+		}
+		return Collections.unmodifiableList(leaders);
+	}
+
+}
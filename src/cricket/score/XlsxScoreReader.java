@@ -0,0 +1,540 @@
+package cricket.score;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the scores in the first sheet of an xlsx workbook, such as {@code Man_of_The_Match_Data.xlsx}.
+ * <p>
+ * The sheet is pulled from the zip one row at a time, so only the current row and the workbook's
+ * shared strings are held in memory. When the first row is a header, columns are found by their
+ * titles, compared whole but for case, spacing and leading dashes, and may be in any order. The
+ * bowling team, kind of wicket, dismissed player and assisting player columns may be left out; a
+ * header without one of the other columns, or with two titles of one column, is rejected. Without a
+ * header the columns must be in the order read by {@link Score#from(String)}. Rows without any values
+ * are skipped like blank lines.
+ * <p>
+ * A left out kind of wicket, dismissed or assisting player is empty. A left out bowling team, as in
+ * {@code Man_of_The_Match_Data.xlsx}, is the other of the two teams of the match, which are the two batting teams of the sheet, found with
+ * a first pass over it, or the teams given to {@link #stream(Path, String, String)} when only one
+ * side batted. A sheet that leaves the bowling team out and names any other number of batting teams is
+ * rejected rather than scored against an unknown team.
+ */
+public final class XlsxScoreReader {
+
+	private static final String RELATIONSHIPS_NS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+	private static final String SHARED_STRINGS_TYPE = RELATIONSHIPS_NS + "/sharedStrings";
+
+	// Numbers stored as doubles, like an over and ball of 1.1000000000000001, are cut back to what was typed.
+	private static final MathContext CELL_PRECISION = new MathContext(15);
+
+	// Titles are compared once normalized, see title(String).
+	private enum Column {
+		INNINGS(true, "innings", "innings number"),
+		OVER_AND_BALL(true, "over", "over and ball", "over.ball"),
+		BATTING_TEAM(true, "batting team", "batting team name"),
+		BOWLING_TEAM(false, "bowling team", "bowling team name"),
+		BATSMAN(true, "batsman", "batsman name"),
+		NON_STRIKER(true, "non-striker", "non striker", "non-striker name", "non striker name"),
+		BOWLER(true, "bowler", "bowler name"),
+		RUNS(true, "runs", "runs off bat", "runs-off-bat", "runs-off-bat - a single number"),
+		EXTRAS(true, "extra", "extras"),
+		KIND_OF_WICKET(false, "kind of wicket", "wicket"),
+		DISMISSED(false, "dismissed", "dismissed player", "name of dismissed player"),
+		ASSISTING(false, "assisting player", "assist", "fielder");
+
+		private final boolean mandatory;
+		private final String[] titles;
+
+		Column(boolean mandatory, String... titles) {
+			this.mandatory = mandatory;
+			this.titles = titles;
+		}
+
+		/**
+		 * The column the header is the title of, or null.
+		 */
+		static Column titled(String header) {
+			String title = title(header);
+			for(Column column : values()) {
+				for(String candidate : column.titles) {
+					if(candidate.equals(title)) {
+						return column;
+					}
+				}
+			}
+			return null;
+		}
+
+		/**
+		 * Lower case, with runs of white space made one space and leading dashes and spaces left out,
+		 * as in {@code "- Name of dismissed player"}.
+		 */
+		private static String title(String header) {
+			String title = header.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+			int start = 0;
+			while(start < title.length() && (title.charAt(start) == '-' || title.charAt(start) == ' ')) {
+				start++;
+			}
+			return title.substring(start);
+		}
+	}
+
+	private XlsxScoreReader() {
+	}
+
+	/**
+	 * Lazily reads the scores in a workbook. The returned stream holds the file open and should be
+	 * closed, e.g. with try-with-resources.
+	 */
+	public static Stream<Score> stream(Path workbook) {
+		return stream(workbook, null);
+	}
+
+	/**
+	 * Lazily reads the scores in a workbook of a match between the two teams, which settle the bowling
+	 * team of rows that do not give it.
+	 */
+	public static Stream<Score> stream(Path workbook, String team, String otherTeam) {
+		if(team == null || otherTeam == null || team.trim().equals(otherTeam.trim())) {
+			throw new IllegalArgumentException("A match needs two teams: " + team + ", " + otherTeam);
+		}
+		return stream(workbook, new String[] { team.trim(), otherTeam.trim() });
+	}
+
+	private static Stream<Score> stream(Path workbook, String[] teams) {
+		if(!Files.isRegularFile(workbook)) {
+			throw new IllegalArgumentException("Workbook name: " + workbook + " does not exist");
+		}
+
+		ZipFile zip = null;
+		try {
+			zip = new ZipFile(workbook.toFile());
+			SheetIterator iterator = new SheetIterator(zip, teams);
+			Spliterator<Score> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+					Spliterator.ORDERED | Spliterator.NONNULL);
+			return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+		} catch (IOException | XMLStreamException e) {
+			closeQuietly(zip);
+			throw new IllegalStateException("Could not read workbook: " + workbook, e);
+		} catch (RuntimeException e) {
+			closeQuietly(zip);
+			throw e;
+		}
+	}
+
+	private static void closeQuietly(Closeable closeable) {
+		if(closeable != null) {
+			try {
+				closeable.close();
+			} catch (IOException e) {
+				// Already failing with a more useful exception.
+			}
+		}
+	}
+
+	private static XMLStreamReader open(ZipFile zip, String name) throws IOException, XMLStreamException {
+		ZipEntry entry = zip.getEntry(name);
+		if(entry == null) {
+			throw new IllegalArgumentException("Not an xlsx workbook, missing " + name + ": " + zip.getName());
+		}
+		XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+		InputStream in = zip.getInputStream(entry);
+		return factory.createXMLStreamReader(in);
+	}
+
+	/**
+	 * The parts of the workbook that hold the first sheet and the shared strings.
+	 */
+	private static String[] parts(ZipFile zip) throws IOException, XMLStreamException {
+		String sheetId = null;
+		XMLStreamReader workbook = open(zip, "xl/workbook.xml");
+		try {
+			while(workbook.hasNext() && sheetId == null) {
+				if(workbook.next() == XMLStreamConstants.START_ELEMENT && "sheet".equals(workbook.getLocalName())) {
+					sheetId = workbook.getAttributeValue(RELATIONSHIPS_NS, "id");
+				}
+			}
+		} finally {
+			workbook.close();
+		}
+		if(sheetId == null) {
+			throw new IllegalArgumentException("Workbook has no sheets: " + zip.getName());
+		}
+
+		String sheet = null;
+		String sharedStrings = null;
+		XMLStreamReader relationships = open(zip, "xl/_rels/workbook.xml.rels");
+		try {
+			while(relationships.hasNext()) {
+				if(relationships.next() == XMLStreamConstants.START_ELEMENT
+						&& "Relationship".equals(relationships.getLocalName())) {
+					String target = relationships.getAttributeValue(null, "Target");
+					if(sheetId.equals(relationships.getAttributeValue(null, "Id"))) {
+						sheet = partName(target);
+					} else if(SHARED_STRINGS_TYPE.equals(relationships.getAttributeValue(null, "Type"))) {
+						sharedStrings = partName(target);
+					}
+				}
+			}
+		} finally {
+			relationships.close();
+		}
+		if(sheet == null) {
+			throw new IllegalArgumentException("Workbook has no sheet " + sheetId + ": " + zip.getName());
+		}
+		return new String[] { sheet, sharedStrings };
+	}
+
+	private static String partName(String target) {
+		return target.startsWith("/") ? target.substring(1) : "xl/" + target;
+	}
+
+	private static List<String> sharedStrings(ZipFile zip, String part) throws IOException, XMLStreamException {
+		List<String> strings = new ArrayList<>();
+		if(part == null) {
+			return strings;
+		}
+
+		XMLStreamReader rd = open(zip, part);
+		try {
+			StringBuilder text = new StringBuilder();
+			int phonetic = 0;
+			while(rd.hasNext()) {
+				int event = rd.next();
+				if(event == XMLStreamConstants.START_ELEMENT) {
+					if("si".equals(rd.getLocalName())) {
+						text.setLength(0);
+					} else if("rPh".equals(rd.getLocalName())) {
+						phonetic++;
+					} else if("t".equals(rd.getLocalName()) && phonetic == 0) {
+						text.append(rd.getElementText());
+					}
+				} else if(event == XMLStreamConstants.END_ELEMENT) {
+					if("si".equals(rd.getLocalName())) {
+						strings.add(text.toString());
+					} else if("rPh".equals(rd.getLocalName())) {
+						phonetic--;
+					}
+				}
+			}
+		} finally {
+			rd.close();
+		}
+		return strings;
+	}
+
+	private static class SheetIterator implements Iterator<Score> {
+
+		private final ZipFile zip;
+		private final String sheet;
+		private final List<String> sharedStrings;
+		private final XMLStreamReader rd;
+		private String[] row = new String[16];
+		private int[] columns;
+		// The two teams of the match, found on the first row without a bowling team unless given.
+		private String[] teams;
+		private Score next;
+
+		SheetIterator(ZipFile zip, String[] teams) throws IOException, XMLStreamException {
+			this.zip = zip;
+			String[] parts = parts(zip);
+			this.sheet = parts[0];
+			this.sharedStrings = sharedStrings(zip, parts[1]);
+			this.teams = teams;
+			this.rd = open(zip, sheet);
+		}
+
+		private SheetIterator(SheetIterator sheet) throws IOException, XMLStreamException {
+			this.zip = sheet.zip;
+			this.sheet = sheet.sheet;
+			this.sharedStrings = sheet.sharedStrings;
+			this.rd = open(zip, this.sheet);
+		}
+
+		@Override
+		public boolean hasNext() {
+			if(next != null) {
+				return true;
+			}
+
+			try {
+				if(nextDelivery()) {
+					next = score();
+					return true;
+				}
+				return false;
+			} catch (XMLStreamException e) {
+				throw new IllegalStateException("Could not read workbook: " + zip.getName(), e);
+			}
+		}
+
+		/**
+		 * Moves on to the next row that holds a delivery, past the header if there is one.
+		 */
+		private boolean nextDelivery() throws XMLStreamException {
+			while(nextRow()) {
+				if(columns == null) {
+					columns = headerColumns();
+					if(columns != null) {
+						continue;
+					}
+					columns = new int[Column.values().length];
+					for(int i = 0; i < columns.length; i++) {
+						columns[i] = i;
+					}
+				}
+				return true;
+			}
+			return false;
+		}
+
+		/**
+		 * The two batting teams of the sheet, read with a pass of its own.
+		 */
+		private String[] battingTeams() throws IOException, XMLStreamException {
+			Set<String> battingTeams = new LinkedHashSet<>();
+			SheetIterator pass = new SheetIterator(this);
+			try {
+				while(pass.nextDelivery()) {
+					battingTeams.add(pass.get(Column.BATTING_TEAM));
+				}
+			} finally {
+				pass.rd.close();
+			}
+			if(battingTeams.size() != 2) {
+				throw new IllegalArgumentException("The bowling team is not given and cannot be told from the batting teams "
+						+ battingTeams + ", the teams of the match must be named: " + zip.getName());
+			}
+			return battingTeams.toArray(new String[2]);
+		}
+
+		private String bowlingTeam(String battingTeam) {
+			String bowlingTeam = get(Column.BOWLING_TEAM);
+			if(!bowlingTeam.isEmpty()) {
+				return bowlingTeam;
+			}
+			if(teams == null) {
+				try {
+					teams = battingTeams();
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				} catch (XMLStreamException e) {
+					throw new IllegalStateException("Could not read workbook: " + zip.getName(), e);
+				}
+			}
+			if(battingTeam.equals(teams[0])) {
+				return teams[1];
+			}
+			if(battingTeam.equals(teams[1])) {
+				return teams[0];
+			}
+			throw new IllegalArgumentException("The batting team " + battingTeam + " is neither of the teams "
+					+ Arrays.toString(teams) + " of the match: " + zip.getName());
+		}
+
+		@Override
+		public Score next() {
+			if(!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Score score = next;
+			next = null;
+			return score;
+		}
+
+		/**
+		 * Reads the next row with at least one value into {@link #row}.
+		 */
+		private boolean nextRow() throws XMLStreamException {
+			while(rd.hasNext()) {
+				if(rd.next() != XMLStreamConstants.START_ELEMENT || !"row".equals(rd.getLocalName())) {
+					continue;
+				}
+
+				Arrays.fill(row, null);
+				boolean values = false;
+				int column = 0;
+				while(rd.hasNext()) {
+					int event = rd.next();
+					if(event == XMLStreamConstants.END_ELEMENT && "row".equals(rd.getLocalName())) {
+						break;
+					}
+					if(event == XMLStreamConstants.START_ELEMENT && "c".equals(rd.getLocalName())) {
+						String reference = rd.getAttributeValue(null, "r");
+						if(reference != null && columnIndex(reference) >= 0) {
+							column = columnIndex(reference);
+						}
+						String value = cell(rd.getAttributeValue(null, "t"));
+						if(column >= row.length) {
+							row = Arrays.copyOf(row, Math.max(column + 1, row.length * 2));
+						}
+						row[column++] = value;
+						values |= value != null && !value.trim().isEmpty();
+					}
+				}
+				if(values) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Reads the value of the cell the reader is on, leaving the reader at the end of the cell.
+		 */
+		private String cell(String type) throws XMLStreamException {
+			String value = null;
+			StringBuilder inline = null;
+			while(rd.hasNext()) {
+				int event = rd.next();
+				if(event == XMLStreamConstants.END_ELEMENT && "c".equals(rd.getLocalName())) {
+					break;
+				}
+				if(event == XMLStreamConstants.START_ELEMENT) {
+					if("v".equals(rd.getLocalName())) {
+						value = rd.getElementText();
+					} else if("is".equals(rd.getLocalName())) {
+						inline = new StringBuilder();
+					} else if("t".equals(rd.getLocalName()) && inline != null) {
+						inline.append(rd.getElementText());
+					} else if("rPh".equals(rd.getLocalName())) {
+						skipElement();
+					}
+				}
+			}
+
+			if("inlineStr".equals(type)) {
+				return inline == null ? null : inline.toString();
+			}
+			if(value == null) {
+				return null;
+			}
+			if("s".equals(type)) {
+				return sharedStrings.get(Integer.parseInt(value.trim()));
+			}
+			if(type == null || "n".equals(type)) {
+				return new BigDecimal(value.trim()).round(CELL_PRECISION).stripTrailingZeros().toPlainString();
+			}
+			return value;
+		}
+
+		private void skipElement() throws XMLStreamException {
+			int depth = 1;
+			while(depth > 0 && rd.hasNext()) {
+				int event = rd.next();
+				if(event == XMLStreamConstants.START_ELEMENT) {
+					depth++;
+				} else if(event == XMLStreamConstants.END_ELEMENT) {
+					depth--;
+				}
+			}
+		}
+
+		/**
+		 * Maps each column to its position in the sheet, or returns null when the row is not a header,
+		 * which is when none of its values is the title of a column. Other titles are ignored.
+		 */
+		private int[] headerColumns() {
+			int[] positions = new int[Column.values().length];
+			Arrays.fill(positions, -1);
+			boolean header = false;
+			for(int position = 0; position < row.length; position++) {
+				Column column = row[position] == null ? null : Column.titled(row[position]);
+				if(column == null) {
+					continue;
+				}
+				if(positions[column.ordinal()] >= 0) {
+					throw new IllegalArgumentException("Both \"" + row[positions[column.ordinal()]].trim() + "\" and \""
+							+ row[position].trim() + "\" are titles of the " + column + " column: " + zip.getName());
+				}
+				positions[column.ordinal()] = position;
+				header = true;
+			}
+			if(!header) {
+				return null;
+			}
+
+			for(Column column : Column.values()) {
+				if(column.mandatory && positions[column.ordinal()] < 0) {
+					throw new IllegalArgumentException("The header has no " + column + " column: " + zip.getName());
+				}
+			}
+			return positions;
+		}
+
+		private String get(Column column) {
+			int position = columns[column.ordinal()];
+			if(position < 0 || position >= row.length || row[position] == null) {
+				return "";
+			}
+			return row[position].trim();
+		}
+
+		private Score score() {
+			String[] overAndBall = get(Column.OVER_AND_BALL).split("\\.");
+			String battingTeam = get(Column.BATTING_TEAM);
+			return new Score(Integer.valueOf(get(Column.INNINGS)), Integer.valueOf(overAndBall[0]),
+					Integer.valueOf(overAndBall[1]), battingTeam, bowlingTeam(battingTeam),
+					get(Column.BATSMAN), get(Column.NON_STRIKER), get(Column.BOWLER), Integer.valueOf(get(Column.RUNS)),
+					get(Column.EXTRAS), get(Column.KIND_OF_WICKET), get(Column.DISMISSED), get(Column.ASSISTING));
+		}
+
+		void close() {
+			try {
+				rd.close();
+			} catch (XMLStreamException e) {
+				// The zip is closed below, which releases the entry stream as well.
+			}
+			try {
+				zip.close();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * The zero based column of a cell reference such as {@code B12}.
+	 */
+	static int columnIndex(String reference) {
+		int column = 0;
+		for(int i = 0; i < reference.length(); i++) {
+			char c = reference.charAt(i);
+			if(c < 'A' || c > 'Z') {
+				break;
+			}
+			column = column * 26 + (c - 'A' + 1);
+		}
+		return column - 1;
+	}
+
+}
@@ -0,0 +1,335 @@
+package cricket.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import cricket.NameScope;
+import cricket.Player;
+import cricket.score.MatchResult;
+import cricket.score.ScoreBoard;
+
+/**
+ * A long running HTTP service that scores matches, so that evaluations share one warm JVM instead of
+ * paying for a JVM launch each.
+ * <p>
+ * {@code POST /matches} with the deliveries of a match as the body, in the score file format and
+ * UTF-8, answers with the man of the match and every player's points as JSON:
+ *
+ * <pre>
+ * {"manOfMatch":["P Kumar"],"players":[{"name":"P Kumar","matchPoints":37.5,"basePoints":25,"bonusPoints":12.5}, ...]}
+ * </pre>
+ *
+ * A body that cannot be read as scores gets 400, a body over {@code maxBodyBytes} 413, a match whose
+ * points are undefined 422 and a failure of the service itself 500, all with an {@code {"error": ...}}
+ * body. A body that has not fully arrived within {@code readTimeoutMillis} of the request has its
+ * connection closed.
+ * <p>
+ * The body is read before a permit is taken, so slow clients hold no permit, and its names are read
+ * into a {@link NameScope} of the request, so they are let go with it. At most
+ * {@code maxConcurrent} matches are scored at a time; requests beyond that are turned away at once with
+ * 429 rather than queued.
+ * <p>
+ * Each request runs on a virtual thread when the JVM has them, and on a thread of a cached pool otherwise.
+ */
+public class ScoreService implements AutoCloseable {
+
+	public static final int DEFAULT_PORT = 8080;
+	public static final String MATCHES_PATH = "/matches";
+	public static final int DEFAULT_MAX_BODY_BYTES = 1 << 20;
+	public static final long DEFAULT_READ_TIMEOUT_MILLIS = 10_000;
+
+	private static final int OK = 200;
+	private static final int BAD_REQUEST = 400;
+	private static final int NOT_FOUND = 404;
+	private static final int METHOD_NOT_ALLOWED = 405;
+	private static final int PAYLOAD_TOO_LARGE = 413;
+	private static final int UNPROCESSABLE = 422;
+	private static final int TOO_MANY_REQUESTS = 429;
+	private static final int INTERNAL_ERROR = 500;
+
+	private final HttpServer server;
+	private final ExecutorService executor;
+	private final ScheduledThreadPoolExecutor deadlines;
+	private final Semaphore permits;
+	private final int maxBodyBytes;
+	private final long readTimeoutMillis;
+
+	public ScoreService(InetSocketAddress address, int maxConcurrent) throws IOException {
+		this(address, maxConcurrent, DEFAULT_MAX_BODY_BYTES, DEFAULT_READ_TIMEOUT_MILLIS);
+	}
+
+	public ScoreService(InetSocketAddress address, int maxConcurrent, int maxBodyBytes, long readTimeoutMillis)
+			throws IOException {
+		this(address, permits(maxConcurrent), maxBodyBytes, readTimeoutMillis);
+	}
+
+	ScoreService(InetSocketAddress address, Semaphore permits, int maxBodyBytes, long readTimeoutMillis)
+			throws IOException {
+		if(maxBodyBytes < 0) {
+			throw new IllegalArgumentException("The body limit must not be negative: " + maxBodyBytes);
+		}
+		if(readTimeoutMillis <= 0) {
+			throw new IllegalArgumentException("The read timeout must be positive: " + readTimeoutMillis);
+		}
+		this.permits = permits;
+		this.maxBodyBytes = maxBodyBytes;
+		this.readTimeoutMillis = readTimeoutMillis;
+		this.executor = newExecutor();
+		this.deadlines = new ScheduledThreadPoolExecutor(1, r -> {
+			Thread thread = new Thread(r, "score-service-deadlines");
+			thread.setDaemon(true);
+			return thread;
+		});
+		deadlines.setRemoveOnCancelPolicy(true);
+		this.server = HttpServer.create(address, 0);
+		server.createContext(MATCHES_PATH, this::handle);
+		server.setExecutor(executor);
+	}
+
+	private static Semaphore permits(int maxConcurrent) {
+		if(maxConcurrent < 0) {
+			throw new IllegalArgumentException("Concurrency must not be negative: " + maxConcurrent);
+		}
+		return new Semaphore(maxConcurrent);
+	}
+
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * The port listened on, useful when the service was bound to port 0.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Stops accepting requests, lets those being scored finish for up to a second and stops the threads.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		deadlines.shutdownNow();
+		executor.shutdown();
+		try {
+			executor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		try {
+			// A context also takes every path that starts with its own.
+			if(!MATCHES_PATH.equals(exchange.getRequestURI().getPath())) {
+				respond(exchange, NOT_FOUND, error("Not found"));
+				return;
+			}
+			if(!"POST".equals(exchange.getRequestMethod())) {
+				exchange.getResponseHeaders().set("Allow", "POST");
+				respond(exchange, METHOD_NOT_ALLOWED, error("Only POST is supported"));
+				return;
+			}
+			if(contentLength(exchange) > maxBodyBytes) {
+				respond(exchange, PAYLOAD_TOO_LARGE, error("The body is over " + maxBodyBytes + " bytes"));
+				return;
+			}
+			byte[] body = readBody(exchange);
+			if(body == null) {
+				respond(exchange, PAYLOAD_TOO_LARGE, error("The body is over " + maxBodyBytes + " bytes"));
+				return;
+			}
+
+			if(!permits.tryAcquire()) {
+				exchange.getResponseHeaders().set("Retry-After", "1");
+				respond(exchange, TOO_MANY_REQUESTS, error("Too many matches are being scored"));
+				return;
+			}
+			try {
+				score(exchange, body);
+			} finally {
+				permits.release();
+			}
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static long contentLength(HttpExchange exchange) {
+		String length = exchange.getRequestHeaders().getFirst("Content-Length");
+		if(length == null) {
+			return -1;
+		}
+		try {
+			return Long.parseLong(length.trim());
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Reads the whole body, or returns null once it is over the limit. If the body has not arrived by the
+	 * deadline the connection is closed, which fails the read.
+	 */
+	private byte[] readBody(HttpExchange exchange) throws IOException {
+		// Closing an exchange before its response has started closes the connection.
+		ScheduledFuture<?> deadline = deadlines.schedule(exchange::close, readTimeoutMillis, TimeUnit.MILLISECONDS);
+		byte[] body;
+		try {
+			body = readAtMost(exchange.getRequestBody(), maxBodyBytes);
+		} catch (IOException e) {
+			deadline.cancel(false);
+			throw e;
+		}
+		if(!deadline.cancel(false)) {
+			throw new IOException("The body did not arrive within " + readTimeoutMillis + " ms");
+		}
+		return body;
+	}
+
+	private static byte[] readAtMost(InputStream is, int maxBytes) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		byte[] buffer = new byte[8192];
+		int n;
+		while((n = is.read(buffer)) != -1) {
+			if(body.size() + n > maxBytes) {
+				return null;
+			}
+			body.write(buffer, 0, n);
+		}
+		return body.toByteArray();
+	}
+
+	private static void score(HttpExchange exchange, byte[] body) throws IOException {
+		ScoreBoard board;
+		MatchResult result;
+		try {
+			try {
+				// Names posted to the service are not registered for the life of the JVM.
+				board = new ScoreBoard(new ByteArrayInputStream(body), NameScope.create());
+			} catch (IllegalArgumentException | UncheckedIOException e) {
+				respond(exchange, BAD_REQUEST, error("Could not read the scores: " + e.getMessage()));
+				return;
+			}
+			result = board.isScored() ? board.getResult() : null;
+		} catch (RuntimeException e) {
+			respond(exchange, INTERNAL_ERROR, error("The match could not be scored"));
+			return;
+		}
+
+		if(result == null) {
+			respond(exchange, UNPROCESSABLE, error("The points of the match are undefined"));
+			return;
+		}
+		respond(exchange, OK, toJson(result));
+	}
+
+	static String toJson(MatchResult result) {
+		StringBuilder json = new StringBuilder("{\"manOfMatch\":[");
+		for(Iterator<Player> it = result.getManOfMatch().iterator(); it.hasNext();) {
+			string(json, it.next().name());
+			if(it.hasNext()) {
+				json.append(',');
+			}
+		}
+		json.append("],\"players\":[");
+		for(Iterator<Player> it = result.getPlayers().iterator(); it.hasNext();) {
+			Player player = it.next();
+			json.append("{\"name\":");
+			string(json, player.name());
+			number(json.append(",\"matchPoints\":"), result.getMatchPoints(player));
+			number(json.append(",\"basePoints\":"), result.getBasePoints(player));
+			number(json.append(",\"bonusPoints\":"), result.getBonusPoints(player));
+			json.append('}');
+			if(it.hasNext()) {
+				json.append(',');
+			}
+		}
+		return json.append("]}").toString();
+	}
+
+	private static String error(String message) {
+		StringBuilder json = new StringBuilder("{\"error\":");
+		string(json, message);
+		return json.append('}').toString();
+	}
+
+	private static void number(StringBuilder json, BigDecimal value) {
+		json.append(value.toPlainString());
+	}
+
+	private static void string(StringBuilder json, String value) {
+		json.append('"');
+		for(int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if(c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if(c < 0x20) {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
+		}
+		json.append('"');
+	}
+
+	private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+		byte[] body = json.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, body.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(body);
+		}
+	}
+
+	/**
+	 * A virtual thread per task where the JVM has them (Java 21 on), looked up reflectively so that the
+	 * service still runs on older JVMs, with a cached pool of daemon threads otherwise.
+	 */
+	static ExecutorService newExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			AtomicInteger count = new AtomicInteger();
+			return Executors.newCachedThreadPool(r -> {
+				Thread thread = new Thread(r, "score-service-" + count.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * Runs the service until the JVM is stopped. Arguments are the port, {@value #DEFAULT_PORT} by default,
+	 * and the number of matches scored at a time, twice the processors by default.
+	 */
+	public static void main(String[] args) throws IOException {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+		int maxConcurrent = args.length > 1 ? Integer.parseInt(args[1]) : 2 * Runtime.getRuntime().availableProcessors();
+
+		ScoreService service = new ScoreService(new InetSocketAddress(port), maxConcurrent);
+		Runtime.getRuntime().addShutdownHook(new Thread(service::close));
+		service.start();
+		System.out.println("Scoring matches on http://localhost:" + service.getPort() + MATCHES_PATH);
+	}
+
+}
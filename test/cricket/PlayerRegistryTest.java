@@ -0,0 +1,84 @@
+package cricket;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class PlayerRegistryTest {
+
+	@Test
+	public void internedPlayersAreCanonical() throws Exception {
+		Player first = PlayerRegistry.intern("Registry Test Player");
+		Player second = Player.of("Registry Test Player");
+		
+		assertSame(first, second);
+		assertSame(first, PlayerRegistry.byId(first.id()));
+	}
+	
+	@Test
+	public void constructedPlayersShareTheInternedId() throws Exception {
+		Player interned = Player.of("Registry Test Batsman");
+		Player constructed = new Player("Registry Test Batsman");
+		
+		assertEquals(interned.id(), constructed.id());
+		assertEquals(interned, constructed);
+		assertEquals(interned.hashCode(), constructed.hashCode());
+		assertNotEquals(interned, Player.of("Registry Test Bowler"));
+	}
+	
+	@Test
+	public void lookingUpAPlayerDoesNotRegisterTheName() throws Exception {
+		int size = PlayerRegistry.size();
+		Player typo = new Player("Registry Test Typo");
+
+		assertEquals(PlayerRegistry.NO_PLAYER, typo.id());
+		assertEquals(PlayerRegistry.NO_PLAYER, Player.of("Registry Test Typo").id());
+		assertEquals(typo, Player.of("Registry Test Typo"));
+		assertEquals(size, PlayerRegistry.size());
+
+		Player interned = PlayerRegistry.intern("Registry Test Typo");
+		assertEquals(interned.id(), typo.id());
+		assertEquals(interned, typo);
+		assertEquals(interned.hashCode(), typo.hashCode());
+	}
+
+	@Test
+	public void idsAreDense() throws Exception {
+		int first = PlayerRegistry.idOf("Registry Test Dense 1");
+		int second = PlayerRegistry.idOf("Registry Test Dense 2");
+		
+		assertEquals(first + 1, second);
+		assertTrue(second < PlayerRegistry.size());
+	}
+	
+	@Test
+	public void teamsAreInterned() throws Exception {
+		int teamId = TeamRegistry.idOf("Registry Test XI");
+		
+		assertEquals(teamId, TeamRegistry.idOf("Registry Test XI"));
+		assertEquals(teamId, TeamRegistry.find("Registry Test XI"));
+		assertEquals("Registry Test XI", TeamRegistry.nameOf(teamId));
+		assertEquals(TeamRegistry.NO_TEAM, TeamRegistry.find("Registry Test Unknown XI"));
+	}
+
+	@Test
+	public void scopedNamesStayOutOfTheRegistry() throws Exception {
+		int size = PlayerRegistry.size();
+		NameScope scope = NameScope.create();
+		Player scoped = scope.player("Registry Test Scoped");
+		
+		assertSame(scoped, scope.player("Registry Test Scoped"));
+		assertSame(scoped, scope.playerById(scoped.id()));
+		assertEquals(scoped.id(), scope.findPlayer(new Player("Registry Test Scoped")));
+		assertEquals(PlayerRegistry.NO_PLAYER, PlayerRegistry.find("Registry Test Scoped"));
+		assertEquals(size, PlayerRegistry.size());
+		int teamId = scope.teamId("Registry Test Scoped XI");
+		assertEquals("Registry Test Scoped XI", scope.teamName(teamId));
+		assertEquals(TeamRegistry.NO_TEAM, TeamRegistry.find("Registry Test Scoped XI"));
+		
+		assertEquals(new Player("Registry Test Scoped"), scoped);
+		assertEquals(scoped.hashCode(), PlayerRegistry.intern("Registry Test Scoped").hashCode());
+		assertEquals(PlayerRegistry.intern("Registry Test Scoped"), scoped);
+	}
+
+}
@@ -0,0 +1,211 @@
+package cricket.metrics;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import cricket.score.Score;
+import cricket.score.ScoreBoard;
+import cricket.score.ScoreReader;
+
+public class InMemoryMetricsTest {
+
+	@Test
+	public void countsAndRecordsLatencies() throws Exception {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		metrics.increment(Counter.LINES_READ, 3);
+		metrics.increment(Counter.LINES_READ, 2);
+		for(long nanos = 1; nanos <= 100; nanos++) {
+			metrics.record(Latency.RANKING, nanos * 1000);
+		}
+
+		MetricsSnapshot snapshot = metrics.snapshot();
+		assertEquals(5, snapshot.getCount(Counter.LINES_READ));
+		assertEquals(0, snapshot.getCount(Counter.PARSE_FAILURES));
+
+		LatencySnapshot ranking = snapshot.getLatency(Latency.RANKING);
+		assertEquals(100, ranking.getCount());
+		assertEquals(50_500, ranking.getMeanNanos());
+		assertEquals(100_000, ranking.getMaxNanos());
+		assertTrue(ranking.getPercentileNanos(0.5) >= 50_000);
+		assertTrue(ranking.getPercentileNanos(0.5) < 100_000);
+		assertEquals(100_000, ranking.getPercentileNanos(1));
+		assertEquals(0, snapshot.getLatency(Latency.PLAYER_POINTS).getPercentileNanos(0.99));
+	}
+
+	@Test
+	public void reportsCsvRows() throws Exception {
+		InMemoryMetrics metrics = new InMemoryMetrics();
+		metrics.increment(Counter.BLANK_LINES_SKIPPED, 7);
+		metrics.record(Latency.PLAYER_POINTS, 1024);
+
+		StringBuilder out = new StringBuilder();
+		Clock clock = Clock.fixed(Instant.parse("2017-01-11T10:00:00Z"), ZoneOffset.UTC);
+		new MetricsReporter(metrics, out, clock).report();
+
+		List<String> rows = Stream.of(out.toString().split(System.lineSeparator())).collect(Collectors.toList());
+		assertEquals(Counter.values().length + Latency.values().length, rows.size());
+		assertTrue(rows.contains("2017-01-11T10:00:00Z,BLANK_LINES_SKIPPED,7,,,,"));
+		assertTrue(rows.contains("2017-01-11T10:00:00Z,PLAYER_POINTS,1,1024,1024,1024,1024"));
+	}
+
+	@Test
+	public void reportsCarryOnAfterAFailedReport() throws Exception {
+		AtomicInteger reports = new AtomicInteger();
+		Appendable out = new Appendable() {
+			@Override
+			public Appendable append(CharSequence text) throws IOException {
+				// The header, then a failed report.
+				if(reports.incrementAndGet() == 2) {
+					throw new IOException("Disk full");
+				}
+				return this;
+			}
+
+			@Override
+			public Appendable append(CharSequence text, int start, int end) throws IOException {
+				return append(text.subSequence(start, end));
+			}
+
+			@Override
+			public Appendable append(char c) throws IOException {
+				return append(String.valueOf(c));
+			}
+		};
+
+		MetricsReporter reporter = new MetricsReporter(new InMemoryMetrics(), out);
+		PrintStream err = System.err;
+		System.setErr(new PrintStream(new ByteArrayOutputStream(), true));
+		try {
+			reporter.start(5, TimeUnit.MILLISECONDS);
+			for(int wait = 0; reports.get() < 4 && wait < 500; wait++) {
+				Thread.sleep(10);
+			}
+		} finally {
+			reporter.close();
+			System.setErr(err);
+		}
+		assertTrue("Reports after the failure: " + (reports.get() - 2), reports.get() >= 4);
+	}
+
+	/**
+	 * Metrics are compiled out unless the JVM starts with them on, so the reading and scoring classes are
+	 * loaded afresh, with {@code cricket.metrics} set while they initialize.
+	 */
+	@Test
+	public void readingAndScoringAreMeasuredWhenEnabled() throws Exception {
+		Map<String, Long> counts;
+		String previous = System.setProperty("cricket.metrics", "true");
+		try (URLClassLoader loader = new MetricsEnabledLoader()) {
+			@SuppressWarnings("unchecked")
+			Callable<Map<String, Long>> measured = (Callable<Map<String, Long>>) loader.loadClass(Measured.class.getName())
+					.getDeclaredConstructor().newInstance();
+			counts = measured.call();
+		} finally {
+			if(previous == null) {
+				System.clearProperty("cricket.metrics");
+			} else {
+				System.setProperty("cricket.metrics", previous);
+			}
+		}
+
+		assertEquals(1L, (long) counts.get("ENABLED"));
+		// Four lines of the match and the line that fails.
+		assertEquals(5L, (long) counts.get(Counter.LINES_READ.name()));
+		assertEquals(1L, (long) counts.get(Counter.BLANK_LINES_SKIPPED.name()));
+		assertEquals(1L, (long) counts.get(Latency.SCORE_BOARD_CONSTRUCTION.name()));
+		assertEquals(1L, (long) counts.get(Latency.RANKING.name()));
+		assertEquals(1L, (long) counts.get(Counter.PARSE_FAILURES.name()));
+	}
+
+	/**
+	 * Reads and scores a few deliveries with an in-memory sink and returns what was measured. Loaded by a
+	 * {@link MetricsEnabledLoader}, so it sees the classes of that loader.
+	 */
+	public static class Measured implements Callable<Map<String, Long>> {
+
+		@Override
+		public Map<String, Long> call() throws Exception {
+			InMemoryMetrics metrics = new InMemoryMetrics();
+			Metrics.setSink(metrics);
+			String text = "1,0.1,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,4,0,,,\n\n"
+					+ "1,0.2,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,1,0,,,\n"
+					+ "2,0.1,RCB,KKR,Virat Kohli,A B Devilliers,Morne Morkel,6,0,,,\n";
+			ScoreBoard board;
+			try (Stream<Score> scores = ScoreReader.stream(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)),
+					StandardCharsets.UTF_8)) {
+				board = new ScoreBoard(scores);
+			}
+			board.getManOfMatch();
+
+			try (Stream<Score> scores = ScoreReader.stream(new ByteArrayInputStream("1,x,,".getBytes(StandardCharsets.UTF_8)),
+					StandardCharsets.UTF_8)) {
+				scores.count();
+				fail("Expected a parse failure");
+			} catch (RuntimeException e) {
+			}
+
+			MetricsSnapshot snapshot = metrics.snapshot();
+			Map<String, Long> counts = new HashMap<>();
+			counts.put("ENABLED", Metrics.ENABLED ? 1L : 0L);
+			for(Counter counter : Counter.values()) {
+				counts.put(counter.name(), snapshot.getCount(counter));
+			}
+			for(Latency latency : Latency.values()) {
+				counts.put(latency.name(), snapshot.getLatency(latency).getCount());
+			}
+			return counts;
+		}
+	}
+
+	/**
+	 * Loads the classes of the project itself rather than asking its parent, and everything else from the parent.
+	 */
+	private static class MetricsEnabledLoader extends URLClassLoader {
+
+		MetricsEnabledLoader() {
+			super(new URL[] { location(Metrics.class), location(Measured.class) }, InMemoryMetricsTest.class.getClassLoader());
+		}
+
+		private static URL location(Class<?> type) {
+			return type.getProtectionDomain().getCodeSource().getLocation();
+		}
+
+		@Override
+		protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+			if(!name.startsWith("cricket.")) {
+				return super.loadClass(name, resolve);
+			}
+			synchronized (getClassLoadingLock(name)) {
+				Class<?> type = findLoadedClass(name);
+				if(type == null) {
+					type = findClass(name);
+				}
+				if(resolve) {
+					resolveClass(type);
+				}
+				return type;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,107 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+/**
+ * Compares the kernel {@link AggregationKernel#best()} picks with the scalar loops. Without the
+ * {@code vector} source root that is the scalar kernel itself; {@code vector/test.sh} runs these tests
+ * on the vector kernel, with {@code -Dcricket.vector=true} so that they fail rather than fall back.
+ */
+public class DeliveryAggregatesTest {
+
+	@Test
+	public void totalsMatchTheScoreBoard() {
+		RandomMatches matches = new RandomMatches(25L);
+		List<Score> scores = new ArrayList<>();
+		for(int m = 0; m < 8; m++) {
+			scores.addAll(matches.nextMatch());
+		}
+		ScoreBoard scoreBoard = new ScoreBoard(scores);
+		DeliveryColumns columns = DeliveryColumns.of(scores);
+
+		Set<String> teams = new TreeSet<>();
+		List<Player> bowlers = new ArrayList<>();
+		for(Score score : scores) {
+			teams.add(score.getBattingTeamName());
+			teams.add(score.getBowlingTeamName());
+			if(!bowlers.contains(score.getBowler())) {
+				bowlers.add(score.getBowler());
+			}
+		}
+
+		for(AggregationKernel kernel : new AggregationKernel[] { AggregationKernel.SCALAR, AggregationKernel.best() }) {
+			DeliveryAggregates aggregates = new DeliveryAggregates(columns, kernel);
+			assertEquals(scores.size(), aggregates.size());
+			for(String team : teams) {
+				assertEquals(team, scoreBoard.getTeamRuns(team), aggregates.getTeamRuns(team));
+				assertEquals(team, scoreBoard.getTeamRunsGiven(team), aggregates.getTeamRunsGiven(team));
+				assertEquals(team, scoreBoard.getTeamBalls(team), aggregates.getTeamBalls(team));
+				assertEquals(team, scoreBoard.getTeamBallsBowled(team), aggregates.getTeamBallsBowled(team));
+			}
+			for(Player bowler : bowlers) {
+				assertEquals(bowler.name(), scoreBoard.getRunsConceded(bowler), aggregates.getRunsConceded(bowler));
+				assertEquals(bowler.name(), scoreBoard.getDeliveries(bowler), aggregates.getDeliveries(bowler));
+			}
+			assertEquals(0, aggregates.getTeamRuns("No Such Team"));
+			assertEquals(0, aggregates.getTeamBalls(null));
+		}
+	}
+
+	@Test
+	public void kernelsAgreeOnEveryLength() {
+		Random random = new Random(25L);
+		AggregationKernel best = AggregationKernel.best();
+		for(int length = 0; length < 100; length++) {
+			int[] keys = new int[length + 3];
+			int[] values = new int[length + 3];
+			for(int i = 0; i < keys.length; i++) {
+				keys[i] = random.nextInt(3);
+				values[i] = random.nextInt(13) - 2;
+			}
+			for(int key = -1; key < 3; key++) {
+				assertEquals(AggregationKernel.SCALAR.sumWhere(keys, key, values, length),
+						best.sumWhere(keys, key, values, length));
+			}
+		}
+	}
+
+	@Test
+	public void theVectorKernelIsLoadedOrMissedLoudlyWhenAskedFor() {
+		String asked = System.getProperty("cricket.vector");
+		try {
+			System.clearProperty("cricket.vector");
+			boolean loads = AggregationKernel.best() != AggregationKernel.SCALAR;
+
+			System.setProperty("cricket.vector", "true");
+			if(loads) {
+				assertEquals(AggregationKernel.VECTOR_KERNEL, AggregationKernel.best().getClass().getName());
+			} else {
+				try {
+					AggregationKernel.best();
+					fail("The vector kernel is not on the class path");
+				} catch (IllegalStateException expected) {
+				}
+			}
+
+			System.setProperty("cricket.vector", "false");
+			assertSame(AggregationKernel.SCALAR, AggregationKernel.best());
+		} finally {
+			if(asked == null) {
+				System.clearProperty("cricket.vector");
+			} else {
+				System.setProperty("cricket.vector", asked);
+			}
+		}
+	}
+
+}
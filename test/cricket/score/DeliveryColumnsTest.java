@@ -0,0 +1,66 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import cricket.Player;
+
+public class DeliveryColumnsTest {
+	
+	private List<Score> scores;
+	private DeliveryColumns columns;
+
+	@Before
+	public void setup() {
+		scores = new ScoreReader("scores.txt").getScores();
+		columns = DeliveryColumns.of(scores);
+	}
+
+	@Test
+	public void storesEveryDelivery() throws Exception {
+		assertEquals(14, columns.size());
+		
+		for(int i = 0; i < scores.size(); i++) {
+			assertEquals(scores.get(i).toString(), columns.get(i).toString());
+			assertEquals(scores.get(i).getBattingTeamName(), columns.get(i).getBattingTeamName());
+			assertEquals(scores.get(i).isNonExtraDelivery(), columns.get(i).isNonExtraDelivery());
+		}
+	}
+	
+	@Test
+	public void absentPlayersAreStoredAsNoPlayer() throws Exception {
+		Score score = columns.get(0);
+		assertFalse(score.getDismissedPlayer().isPresent());
+		assertFalse(score.getAssistingPlayer().isPresent());
+		
+		score = columns.get(11);
+		assertEquals(new Player("BB McCullum"), score.getDismissedPlayer().get());
+		assertEquals(new Player("Virat Kohli"), score.getAssistingPlayer().get());
+	}
+	
+	@Test
+	public void scoreBoardOnColumnsMatchesScoreBoardOnScores() throws Exception {
+		ScoreBoard expected = new ScoreBoard(scores);
+		ScoreBoard actual = new ScoreBoard(columns);
+		
+		assertEquals(expected.getManOfMatch(), actual.getManOfMatch());
+		assertEquals(expected.getTeamRuns("Kolkata Knight Riders"), actual.getTeamRuns("Kolkata Knight Riders"));
+		assertEquals(expected.getTeamBallsBowled("Kolkata Knight Riders"), actual.getTeamBallsBowled("Kolkata Knight Riders"));
+		for(Score score : scores) {
+			for(Player player : score.getPlayers()) {
+				assertEquals(expected.calculateMatchPoints(player).toPlainString(),
+						actual.calculateMatchPoints(player).toPlainString());
+			}
+		}
+	}
+	
+	@Test(expected = IndexOutOfBoundsException.class)
+	public void rejectsPositionsPastTheEnd() throws Exception {
+		columns.get(14);
+	}
+
+}
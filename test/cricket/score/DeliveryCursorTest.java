@@ -0,0 +1,141 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class DeliveryCursorTest {
+
+	private static final long BYTES_PER_THOUSAND_DELIVERIES = 64;
+
+	@Test
+	public void replaysTheSameDeliveriesAsTheScores() throws Exception {
+		RandomMatches matches = new RandomMatches(20L);
+		for(int m = 0; m < 20; m++) {
+			List<Score> scores = matches.nextMatch();
+			DeliveryColumns columns = DeliveryColumns.of(scores);
+
+			List<String> replayed = new ArrayList<>();
+			ScoreReader.replay(new ByteArrayInputStream(text(scores, 1)), cursor -> replayed.add(cursor.toScore().toString()));
+			List<String> fromColumns = new ArrayList<>();
+			columns.replay(cursor -> fromColumns.add(cursor.toScore().toString()));
+
+			for(int i = 0; i < scores.size(); i++) {
+				assertEquals(scores.get(i).toString(), replayed.get(i));
+				assertEquals(scores.get(i).toString(), fromColumns.get(i));
+			}
+			assertEquals(scores.size(), replayed.size());
+		}
+	}
+
+	@Test
+	public void scoreBoardFromAFileScoresLikeTheScores() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Path file = Files.createTempFile("scores", ".txt");
+		try {
+			Files.write(file, text(scores, 1));
+			ScoreBoard expected = new ScoreBoard(scores);
+			ScoreBoard actual = new ScoreBoard(file);
+			assertEquals(expected.getManOfMatch(), actual.getManOfMatch());
+			for(Score score : scores) {
+				Player bowler = score.getBowler();
+				assertEquals(expected.calculateMatchPoints(bowler), actual.calculateMatchPoints(bowler));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	/**
+	 * Replaying more deliveries must not allocate more: the only allocations are the fixed ones of
+	 * setting up the reader and the statistics.
+	 */
+	@Test
+	public void replayAllocatesNothingPerDelivery() throws Exception {
+		com.sun.management.ThreadMXBean threads = threadMXBean();
+		assumeTrue("Thread allocation counting is not available", threads != null);
+
+		List<Score> match = new RandomMatches(7L).nextMatch();
+		byte[] small = text(match, 10);
+		byte[] large = text(match, 1000);
+		DeliveryColumns columns = DeliveryColumns.of(match);
+
+		for(int i = 0; i < 20; i++) {
+			replay(small);
+			replay(large);
+			columns.replay(new MatchStats());
+		}
+
+		long deliveries = (long) match.size() * (1000 - 10);
+		long extra = allocated(threads, () -> replay(large)) - allocated(threads, () -> replay(small));
+		assertTrue(extra + " bytes more for " + deliveries + " more deliveries",
+				extra <= deliveries * BYTES_PER_THOUSAND_DELIVERIES / 1000);
+
+		DeliveryColumns many = new DeliveryColumns();
+		for(int i = 0; i < 100; i++) {
+			many.addAll(columns);
+		}
+		long fromColumns = allocated(threads, () -> many.replay(new MatchStats()))
+				- allocated(threads, () -> columns.replay(new MatchStats()));
+		assertTrue(fromColumns + " bytes more from columns", fromColumns <= 99L * match.size() * BYTES_PER_THOUSAND_DELIVERIES / 1000);
+	}
+
+	private static void replay(byte[] text) {
+		try {
+			ScoreReader.replay(new ByteArrayInputStream(text), new MatchStats());
+		} catch (java.io.IOException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * The least of a few measurements, so that a stray allocation, such as by a class being loaded,
+	 * does not count. Thread.threadId() replaces getId() only past the Java level of the project.
+	 */
+	@SuppressWarnings("deprecation")
+	private static long allocated(com.sun.management.ThreadMXBean threads, Runnable task) {
+		long id = Thread.currentThread().getId();
+		long least = Long.MAX_VALUE;
+		for(int i = 0; i < 5; i++) {
+			long before = threads.getThreadAllocatedBytes(id);
+			task.run();
+			least = Math.min(least, threads.getThreadAllocatedBytes(id) - before);
+		}
+		return least;
+	}
+
+	private static com.sun.management.ThreadMXBean threadMXBean() {
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if(!(threads instanceof com.sun.management.ThreadMXBean)) {
+			return null;
+		}
+		com.sun.management.ThreadMXBean sunThreads = (com.sun.management.ThreadMXBean) threads;
+		if(!sunThreads.isThreadAllocatedMemorySupported()) {
+			return null;
+		}
+		sunThreads.setThreadAllocatedMemoryEnabled(true);
+		return sunThreads;
+	}
+
+	private static byte[] text(List<Score> scores, int copies) {
+		StringBuilder text = new StringBuilder();
+		for(int c = 0; c < copies; c++) {
+			for(Score score : scores) {
+				text.append(RandomMatches.line(score)).append('\n');
+			}
+		}
+		return text.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+}
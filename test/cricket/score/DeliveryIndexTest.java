@@ -0,0 +1,124 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import cricket.Player;
+
+public class DeliveryIndexTest {
+
+	private List<Score> scores;
+	private DeliveryIndex index;
+
+	@Before
+	public void setup() {
+		scores = new ScoreReader("scores.txt").getScores();
+		index = new DeliveryIndex(DeliveryColumns.of(scores));
+	}
+
+	@Test
+	public void selectsAnOverOfAnInnings() throws Exception {
+		DeliverySlice slice = index.query().innings(1).overs(1, 1).select();
+
+		assertEquals(6, slice.size());
+		assertEquals(scores.subList(5, 11).toString(), slice.getScores().toString());
+		assertEquals(18, slice.getRuns());
+		assertEquals(1, slice.getWickets());
+	}
+
+	@Test
+	public void selectsABallRange() throws Exception {
+		DeliverySlice slice = index.query().between(0, 6, 1, 2).select();
+
+		assertEquals(scores.subList(3, 7).toString(), slice.getScores().toString());
+		assertEquals(3, slice.getLegalDeliveries());
+	}
+
+	@Test
+	public void selectsByTeamAndPlayer() throws Exception {
+		assertEquals(1, index.query().battingTeam("Royal Challengers BLR").select().size());
+		assertEquals(13, index.query().bowlingTeam("Royal Challengers BLR").select().size());
+		assertTrue(index.query().battingTeam("Mumbai Indians").select().isEmpty());
+
+		DeliverySlice slice = index.query().involving(new Player("Virat Kohli")).select();
+		assertEquals(2, slice.size());
+		assertEquals(11, slice.position(0));
+		assertEquals(13, slice.position(1));
+
+		assertEquals(2, index.query().involving(new Player("Z Khan")).overs(2, 2).select().size());
+	}
+
+	@Test
+	public void aFilterSetAgainReplacesTheUnknownOne() throws Exception {
+		DeliveryIndex.Query query = index.query().battingTeam("Mumbai Indians");
+		assertTrue(query.select().isEmpty());
+		assertEquals(1, query.battingTeam("Royal Challengers BLR").select().size());
+
+		query = index.query().involving(new Player("Index Test Unknown"));
+		assertTrue(query.select().isEmpty());
+		assertEquals(2, query.involving(new Player("Virat Kohli")).select().size());
+
+		assertEquals(13, index.query().innings(1).bowlingTeam("Royal Challengers BLR").select().size());
+		assertTrue(index.query().innings(3).select().isEmpty());
+	}
+
+	@Test
+	public void scoresASlice() throws Exception {
+		ScoreBoard board = index.query().innings(1).overs(1, 1).select().toScoreBoard();
+
+		assertEquals(18, board.getTeamRuns("Kolkata Knight Riders"));
+		assertEquals(6, board.getTeamBallsBowled("Royal Challengers BLR"));
+		assertEquals(18, board.getPlayerRuns(new Player("BB McCullum")));
+		assertEquals("25", board.calculateBaseBowlingPoints(new Player("Z Khan")).toPlainString());
+	}
+
+	@Test
+	public void queriesMatchAFullScan() throws Exception {
+		RandomMatches matches = new RandomMatches(11L);
+		List<Score> season = new ArrayList<>();
+		for(int i = 0; i < 20; i++) {
+			season.addAll(matches.nextMatch());
+		}
+		DeliveryColumns columns = DeliveryColumns.of(season);
+		DeliveryIndex seasonIndex = new DeliveryIndex(columns);
+
+		Random random = new Random(5L);
+		for(int q = 0; q < 200; q++) {
+			int innings = random.nextInt(3);
+			int fromOver = random.nextInt(26);
+			int toOver = fromOver + random.nextInt(6);
+			Score any = season.get(random.nextInt(season.size()));
+			Player player = random.nextBoolean() ? any.getBowler() : null;
+			String battingTeam = random.nextInt(3) == 0 ? any.getBattingTeamName() : null;
+
+			DeliveryIndex.Query query = seasonIndex.query().overs(fromOver, toOver);
+			if(innings > 0) {
+				query.innings(innings);
+			}
+			if(player != null) {
+				query.involving(player);
+			}
+			if(battingTeam != null) {
+				query.battingTeam(battingTeam);
+			}
+
+			List<String> expected = new ArrayList<>();
+			for(Score score : season) {
+				if((innings == 0 || score.getInningsNumber() == innings)
+						&& score.getOverNumber() >= fromOver && score.getOverNumber() <= toOver
+						&& (player == null || score.getPlayers().contains(player))
+						&& (battingTeam == null || score.getBattingTeamName().equals(battingTeam))) {
+					expected.add(score.toString());
+				}
+			}
+			assertEquals(expected.toString(), query.select().getScores().toString());
+		}
+	}
+
+}
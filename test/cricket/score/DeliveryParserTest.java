@@ -0,0 +1,117 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class DeliveryParserTest {
+	
+	private final DeliveryParser parser = new DeliveryParser();
+
+	@Test
+	public void parsesTheSameScoresAsScoreFrom() throws Exception {
+		List<String> lines = new ArrayList<>();
+		try (BufferedReader rd = new BufferedReader(new InputStreamReader(
+				getClass().getClassLoader().getResourceAsStream("scores.txt"), StandardCharsets.UTF_8))) {
+			String line = null;
+			while ( (line = rd.readLine()) != null) {
+				if(!line.trim().isEmpty()) {
+					lines.add(line.trim());
+				}
+			}
+		}
+		assertEquals(14, lines.size());
+		
+		for(String line : lines) {
+			assertSameScore(Score.from(line), parse(line));
+		}
+	}
+	
+	@Test
+	public void handlesMissingTrailingColumns() throws Exception {
+		String[] lines = {
+				"1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0",
+				"1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0,lbw",
+				"1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0,lbw,BB McCullum",
+				"1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0, , ,",
+				" 1 , 0.4 , KKR , RCB , BB McCullum , SC Ganguly , P Kumar , 2 , 1lb , caught , BB McCullum , Z Khan ,extra",
+		};
+		
+		for(String line : lines) {
+			assertSameScore(Score.from(line), parse(line));
+		}
+	}
+	
+	@Test
+	public void parsesAWindowOfADirectBuffer() throws Exception {
+		byte[] line = "xx2,19.6,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,6,0,,,yy".getBytes(StandardCharsets.UTF_8);
+		ByteBuffer buffer = ByteBuffer.allocateDirect(line.length);
+		buffer.put(line);
+		
+		Score score = parser.parse(buffer, 2, line.length - 2);
+		assertEquals(2, score.getInningsNumber());
+		assertEquals(19, score.getOverNumber());
+		assertEquals(6, score.getBallNumber());
+		assertEquals(6, score.getRuns());
+	}
+	
+	@Test
+	public void reusesNamesItHasSeenBefore() throws Exception {
+		Score first = parse("1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0,,,");
+		Score second = parse("1,0.5,KKR,RCB,SC Ganguly,BB McCullum,P Kumar,0,1w,,,");
+		
+		assertSame(first.getBattingTeamName(), second.getBattingTeamName());
+		assertSame(first.getBatsman(), second.getNonStriker());
+		assertSame(first.getBowler(), second.getBowler());
+	}
+	
+	@Test
+	public void keepsNamesWhenTheCacheGrows() throws Exception {
+		for(int i = 0; i < 200; i++) {
+			String line = "1,0.4,KKR,RCB,Batsman " + i + ",SC Ganguly,P Kumar,0,0,wicket " + i + ",Batsman " + i + ",";
+			assertSameScore(Score.from(line), parse(line));
+		}
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void rejectsAnOverWithoutBall() throws Exception {
+		parse("1,4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0,0,,,");
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsAShortLine() throws Exception {
+		parse("1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,0");
+	}
+	
+	private Score parse(String line) {
+		byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+		return parser.parse(bytes, 0, bytes.length);
+	}
+	
+	private static void assertSameScore(Score expected, Score actual) {
+		assertEquals(expected.getInningsNumber(), actual.getInningsNumber());
+		assertEquals(expected.getOverNumber(), actual.getOverNumber());
+		assertEquals(expected.getBallNumber(), actual.getBallNumber());
+		assertEquals(expected.getBattingTeamName(), actual.getBattingTeamName());
+		assertEquals(expected.getBowlingTeamName(), actual.getBowlingTeamName());
+		assertEquals(expected.getBatsman(), actual.getBatsman());
+		assertEquals(expected.getNonStriker(), actual.getNonStriker());
+		assertEquals(expected.getBowler(), actual.getBowler());
+		assertEquals(expected.getRuns(), actual.getRuns());
+		assertEquals(expected.getExtraRuns(), actual.getExtraRuns());
+		assertEquals(expected.isExtraDelivery(), actual.isExtraDelivery());
+		assertEquals(expected.isNonExtraDelivery(), actual.isNonExtraDelivery());
+		assertEquals(expected.getKindOfWicket(), actual.getKindOfWicket());
+		assertEquals(expected.getDismissedPlayer(), actual.getDismissedPlayer());
+		assertEquals(expected.getAssistingPlayer(), actual.getAssistingPlayer());
+		assertEquals(expected.toString(), actual.toString());
+	}
+
+}
@@ -0,0 +1,95 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class DeliverySnapshotTest {
+
+	@Test
+	public void snapshotKeepsEveryDelivery() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Path file = Files.createTempFile("scores", ".snapshot");
+		try {
+			DeliverySnapshot.write(DeliveryColumns.of(scores), file);
+			DeliverySnapshot snapshot = DeliverySnapshot.load(file);
+
+			assertEquals(14, snapshot.size());
+			for(int i = 0; i < scores.size(); i++) {
+				assertEquals(scores.get(i).toString(), snapshot.get(i).toString());
+				assertEquals(scores.get(i).isNonExtraDelivery(), snapshot.get(i).isNonExtraDelivery());
+			}
+			assertEquals(new Player("Virat Kohli"), snapshot.get(11).getAssistingPlayer().get());
+			assertFalse(snapshot.get(0).getDismissedPlayer().isPresent());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void scoreBoardOnSnapshotMatchesScoreBoardOnScores() throws Exception {
+		RandomMatches matches = new RandomMatches(21L);
+		Path file = Files.createTempFile("season", ".snapshot");
+		try {
+			for(int m = 0; m < 30; m++) {
+				List<Score> match = matches.nextMatch();
+				DeliverySnapshot.write(DeliveryColumns.of(match), file);
+
+				ScoreBoard expected = new ScoreBoard(match);
+				ScoreBoard actual = DeliverySnapshot.load(file).toScoreBoard();
+
+				List<Player> players = new ArrayList<>();
+				for(Score score : match) {
+					players.addAll(score.getPlayers());
+				}
+				for(Player player : players) {
+					assertEquals(expected.getPlayerRuns(player), actual.getPlayerRuns(player));
+					assertEquals(expected.calculateBaseBowlingPoints(player), actual.calculateBaseBowlingPoints(player));
+					assertEquals(expected.getPlayerEconomyRate(player), actual.getPlayerEconomyRate(player));
+				}
+				assertEquals(result(expected), result(actual));
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static String result(ScoreBoard board) {
+		try {
+			return board.getManOfMatch().toString();
+		} catch (RuntimeException e) {
+			return e.getClass().getName();
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void otherFilesAreRejected() throws Exception {
+		Path file = Files.createTempFile("scores", ".txt");
+		try {
+			Files.write(file, "1,0.3,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,P Kumar,0,1w,,,".getBytes());
+			DeliverySnapshot.load(file);
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void snapshotsTooLargeToMapAreNotWritten() throws Exception {
+		Path file = Files.createTempFile("season", ".snapshot");
+		Files.delete(file);
+		try {
+			DeliverySnapshot.write(visitor -> { }, DeliverySnapshot.MAX_DELIVERIES + 1, file);
+			fail("Expected a snapshot larger than one mapping to be turned down");
+		} catch (IllegalArgumentException e) {
+			assertFalse(Files.exists(file));
+		}
+	}
+
+}
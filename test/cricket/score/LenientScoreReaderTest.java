@@ -0,0 +1,72 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class LenientScoreReaderTest {
+
+	private static final String TEXT = "1,0.1,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,4,0,,,\n"
+			+ "1,0.2,KKR,RCB,BB McCullum\n"
+			+ "\n"
+			+ "1,02,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,1,0,,,\n"
+			+ "1,0.3,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,one,0,,,\n"
+			+ "1,0.4,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,2,1w,,,\n";
+
+	@Test
+	public void rejectsBadLinesAndKeepsTheRest() throws Exception {
+		for(Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1 }) {
+			List<RejectedLine> sunk = new ArrayList<>();
+			IngestResult result = new LenientScoreReader(10, sunk::add).read(input(), charset);
+
+			assertEquals(6, result.getLinesRead());
+			assertEquals(2, result.getScores().size());
+			assertEquals(1, result.getScores().get(0).getBallNumber());
+			assertEquals(4, result.getScores().get(1).getBallNumber());
+			assertFalse(result.isComplete());
+
+			List<RejectedLine> rejected = result.getRejectedLines();
+			assertEquals(3, rejected.size());
+			assertEquals(2, rejected.get(0).getLineNumber());
+			assertEquals("1,0.2,KKR,RCB,BB McCullum", rejected.get(0).getLine());
+			assertEquals(4, rejected.get(1).getLineNumber());
+			assertEquals(5, rejected.get(2).getLineNumber());
+			assertTrue(rejected.get(2).getReason(), rejected.get(2).getReason().startsWith("NumberFormatException"));
+			assertEquals(rejected, sunk);
+		}
+	}
+
+	@Test
+	public void stopsWhenTheErrorBudgetIsSpent() throws Exception {
+		List<RejectedLine> sunk = new ArrayList<>();
+		try {
+			new LenientScoreReader(2, sunk::add).read(input(), StandardCharsets.UTF_8);
+			fail("Expected the error budget to be exceeded");
+		} catch (IllegalStateException e) {
+			assertEquals(3, sunk.size());
+			assertTrue(e.getMessage(), e.getMessage().contains("line 5"));
+		}
+	}
+
+	@Test
+	public void readsACleanFileLikeScoreReader() throws Exception {
+		IngestResult result = new LenientScoreReader(0).read(
+				new ByteArrayInputStream("1,0.1,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,4,0,,,\r\n  \r\n".getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8);
+
+		assertTrue(result.isComplete());
+		assertEquals(1, result.getScores().size());
+		assertEquals(2, result.getLinesRead());
+	}
+
+	private static ByteArrayInputStream input() {
+		return new ByteArrayInputStream(TEXT.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
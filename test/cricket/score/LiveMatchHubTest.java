@@ -0,0 +1,207 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class LiveMatchHubTest {
+
+	@Test
+	public void matchesFedFromManyThreadsEndUpLikeTheirScoreBoards() throws Exception {
+		RandomMatches random = new RandomMatches(23L);
+		List<List<Score>> matches = new ArrayList<>();
+		for(int m = 0; m < 6; m++) {
+			matches.add(random.nextMatch());
+		}
+
+		ExecutorService drainers = Executors.newFixedThreadPool(3);
+		ExecutorService producers = Executors.newFixedThreadPool(4);
+		try (LiveMatchHub hub = new LiveMatchHub(8, drainers)) {
+			List<Future<?>> produced = new ArrayList<>();
+			for(int p = 0; p < 4; p++) {
+				int producer = p;
+				produced.add(producers.submit(() -> {
+					for(int m = 0; m < matches.size(); m++) {
+						List<Score> scores = matches.get(m);
+						for(int i = producer; i < scores.size(); i += 4) {
+							hub.put("match " + m, scores.get(i));
+						}
+					}
+					return null;
+				}));
+			}
+			for(Future<?> future : produced) {
+				future.get();
+			}
+			assertTrue(hub.awaitDrained(10, TimeUnit.SECONDS));
+
+			assertEquals(matches.size(), hub.snapshots().size());
+			for(int m = 0; m < matches.size(); m++) {
+				MatchSnapshot snapshot = hub.snapshot("match " + m);
+				ScoreBoard board = new ScoreBoard(matches.get(m));
+				assertEquals(matches.get(m).size(), snapshot.getDeliveries());
+
+				MatchResult expected;
+				try {
+					expected = board.getResult();
+				} catch (ArithmeticException | NullPointerException e) {
+					assertFalse(snapshot.isScored());
+					assertTrue(snapshot.getManOfMatch().isEmpty());
+					continue;
+				}
+				assertEquals(expected.getManOfMatch(), snapshot.getManOfMatch());
+				for(Player player : expected.getPlayers()) {
+					assertEquals(expected.getMatchPoints(player), snapshot.getResult().getMatchPoints(player));
+				}
+			}
+		} finally {
+			producers.shutdown();
+			drainers.shutdown();
+		}
+	}
+
+	@Test
+	public void turnsDeliveriesDownWhenTheQueueIsFull() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		try (LiveMatchHub hub = new LiveMatchHub(2, pending::add)) {
+			assertEquals(0, hub.snapshot("final").getDeliveries());
+			assertFalse(hub.snapshot("final").isScored());
+
+			assertTrue(hub.offer("final", scores.get(0)));
+			assertTrue(hub.offer("final", scores.get(1)));
+			assertFalse(hub.offer("final", scores.get(2)));
+			assertEquals(1, pending.size());
+			assertFalse(hub.awaitDrained(1, TimeUnit.MILLISECONDS));
+
+			pending.remove(0).run();
+			assertEquals(2, hub.snapshot("final").getDeliveries());
+			assertTrue(hub.awaitDrained(1, TimeUnit.SECONDS));
+
+			for(int i = 2; i < scores.size(); i++) {
+				assertTrue(hub.offer("final", scores.get(i)));
+				pending.remove(0).run();
+			}
+			assertEquals(new ScoreBoard(scores).getManOfMatch(), hub.snapshot("final").getManOfMatch());
+		}
+	}
+
+	@Test
+	public void aClosedHubTurnsDeliveriesDown() throws Exception {
+		Score score = new ScoreReader("scores.txt").getScores().get(0);
+		LiveMatchHub hub = new LiveMatchHub(2, Runnable::run);
+		assertTrue(hub.offer("final", score));
+
+		hub.close();
+		try {
+			hub.offer("final", score);
+			fail("Expected a closed hub to turn deliveries down");
+		} catch (IllegalStateException e) {
+		}
+		assertEquals(1, hub.snapshot("final").getDeliveries());
+	}
+
+	@Test
+	public void aBadDeliveryIsNotTakenInAgainWithTheNextBatch() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Score first = scores.get(0);
+		Score withoutBowler = new Score(1, 0, 2, first.getBattingTeamId(), first.getBowlingTeamId(), first.getBatsman(),
+				first.getNonStriker(), null, 0, "0", 0, "", Optional.empty(), Optional.empty());
+		try (LiveMatchHub hub = new LiveMatchHub(4, pending::add)) {
+			assertTrue(hub.offer("final", withoutBowler));
+			try {
+				pending.remove(0).run();
+				fail("Expected a delivery without a bowler to be turned down");
+			} catch (NullPointerException e) {
+			}
+
+			assertTrue(hub.offer("final", first));
+			pending.remove(0).run();
+			assertEquals(1, hub.snapshot("final").getDeliveries());
+		}
+	}
+
+	@Test
+	public void aBadDeliveryDoesNotCostTheRestOfItsBatch() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Score first = scores.get(0);
+		Score withoutBowler = new Score(1, 0, 2, first.getBattingTeamId(), first.getBowlingTeamId(), first.getBatsman(),
+				first.getNonStriker(), null, 0, "0", 0, "", Optional.empty(), Optional.empty());
+		try (LiveMatchHub hub = new LiveMatchHub(4, pending::add)) {
+			assertTrue(hub.offer("final", first));
+			assertTrue(hub.offer("final", withoutBowler));
+			assertTrue(hub.offer("final", scores.get(1)));
+			try {
+				pending.remove(0).run();
+				fail("Expected a delivery without a bowler to be turned down");
+			} catch (NullPointerException e) {
+			}
+
+			assertEquals(2, hub.snapshot("final").getDeliveries());
+			assertTrue(hub.awaitDrained(1, TimeUnit.SECONDS));
+		}
+	}
+
+	@Test
+	public void finishedMatchesAreLetGo() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		try (LiveMatchHub hub = new LiveMatchHub(scores.size(), pending::add)) {
+			for(Score score : scores) {
+				assertTrue(hub.offer("final", score));
+			}
+			pending.remove(0).run();
+			assertTrue(hub.awaitDrained(1, TimeUnit.SECONDS));
+
+			MatchSnapshot last = hub.finish("final");
+			assertEquals(scores.size(), last.getDeliveries());
+			assertEquals(new ScoreBoard(scores).getManOfMatch(), last.getManOfMatch());
+			assertTrue(hub.snapshots().isEmpty());
+			assertEquals(0, hub.snapshot("final").getDeliveries());
+			assertEquals(0, hub.finish("final").getDeliveries());
+		}
+	}
+
+	@Test
+	public void aDeliveryQueuedAsItsMatchFinishesIsTurnedDown() throws Exception {
+		List<Runnable> pending = new ArrayList<>();
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		try (LiveMatchHub hub = new LiveMatchHub(1, pending::add)) {
+			assertTrue(hub.offer("final", scores.get(0)));
+
+			// Finds the match, then waits for room while the match is finished.
+			AtomicReference<Throwable> failure = new AtomicReference<>();
+			Thread producer = new Thread(() -> {
+				try {
+					hub.put("final", scores.get(1));
+				} catch (Throwable e) {
+					failure.set(e);
+				}
+			});
+			producer.start();
+			while(producer.getState() != Thread.State.WAITING) {
+				Thread.sleep(1);
+			}
+
+			hub.finish("final");
+			pending.remove(0).run();
+			producer.join(5_000);
+
+			assertTrue(String.valueOf(failure.get()), failure.get() instanceof IllegalStateException);
+		}
+	}
+
+}
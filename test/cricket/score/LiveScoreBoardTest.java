@@ -0,0 +1,101 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class LiveScoreBoardTest {
+
+	@Test
+	public void leaderIsKnownOnceBothTeamsHaveBowled() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		LiveScoreBoard live = new LiveScoreBoard();
+		
+		for(Score score : scores.subList(0, scores.size() - 1)) {
+			live.accept(score);
+		}
+		assertTrue("Only one team has bowled", live.getLeaders().isEmpty());
+		
+		live.accept(scores.get(scores.size() - 1));
+		assertEquals(Collections.singleton(new Player("Z Khan")), live.getLeaders());
+		assertEquals("33.75", live.calculateMatchPoints(new Player("Z Khan")).toPlainString());
+		assertEquals(14, live.getDeliveries());
+	}
+	
+	@Test
+	public void listenersAreOnlyToldAboutChanges() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		LiveScoreBoard live = new LiveScoreBoard();
+		List<Set<Player>> changes = new ArrayList<>();
+		live.addListener((previous, leaders, deliveries) -> {
+			assertNotEquals(previous, leaders);
+			assertEquals(14, deliveries);
+			changes.add(leaders);
+		});
+		
+		scores.forEach(live::accept);
+		
+		assertEquals(1, changes.size());
+		assertEquals(Collections.singleton(new Player("Z Khan")), changes.get(0));
+	}
+	
+	@Test
+	public void matchesABatchScoreBoardAfterEveryDelivery() throws Exception {
+		RandomMatches matches = new RandomMatches(7L);
+		
+		for(int m = 0; m < 30; m++) {
+			List<Score> scores = matches.nextMatch();
+			LiveScoreBoard live = new LiveScoreBoard();
+			int[] notifications = new int[1];
+			live.addListener((previous, leaders, deliveries) -> notifications[0]++);
+			
+			Set<Player> expectedLeaders = Collections.emptySet();
+			int expectedNotifications = 0;
+			for(int i = 0; i < scores.size(); i++) {
+				live.accept(scores.get(i));
+				ScoreBoard batch = new ScoreBoard(scores.subList(0, i + 1));
+				
+				String where = "match " + m + ", delivery " + i;
+				assertEquals(where, outcome(batch::getManOfMatch), outcome(live::getManOfMatch));
+				assertEquals(where, outcome(() -> batch.getTopPlayers(5)), outcome(() -> live.getTopPlayers(5)));
+				for(Player player : scores.get(i).getPlayers()) {
+					assertEquals(where, outcome(() -> batch.calculateMatchPoints(player)),
+							outcome(() -> live.calculateMatchPoints(player)));
+				}
+				
+				Set<Player> leaders = leadersOrEmpty(batch);
+				if(!leaders.equals(expectedLeaders)) {
+					expectedLeaders = leaders;
+					expectedNotifications++;
+				}
+				assertEquals(where, expectedLeaders, live.getLeaders());
+			}
+			assertEquals("match " + m, expectedNotifications, notifications[0]);
+		}
+	}
+	
+	private static Set<Player> leadersOrEmpty(ScoreBoard board) {
+		try {
+			return board.getManOfMatch();
+		} catch (ArithmeticException | NullPointerException e) {
+			return Collections.emptySet();
+		}
+	}
+	
+	private static String outcome(Callable<?> call) {
+		try {
+			return String.valueOf(call.call());
+		} catch (Exception e) {
+			return e.getClass().getName();
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class OffHeapDeliveriesTest {
+
+	@Test
+	public void keepsEveryDeliveryAcrossChunks() throws Exception {
+		RandomMatches matches = new RandomMatches(24L);
+		List<Score> scores = new ArrayList<>();
+		for(int m = 0; m < 5; m++) {
+			scores.addAll(matches.nextMatch());
+		}
+
+		OffHeapDeliveries fromScores = new OffHeapDeliveries(16);
+		scores.forEach(fromScores::add);
+		StringBuilder text = new StringBuilder();
+		for(Score score : scores) {
+			text.append(RandomMatches.line(score)).append('\n');
+		}
+		OffHeapDeliveries replayed = new OffHeapDeliveries(7);
+		ScoreReader.replay(new ByteArrayInputStream(text.toString().getBytes(StandardCharsets.UTF_8)), replayed);
+
+		for(OffHeapDeliveries deliveries : new OffHeapDeliveries[] { fromScores, replayed }) {
+			assertEquals(scores.size(), deliveries.size());
+			for(int i = 0; i < scores.size(); i++) {
+				assertEquals(scores.get(i).toString(), deliveries.get(i).toString());
+				assertEquals(scores.get(i).isNonExtraDelivery(), deliveries.get(i).isNonExtraDelivery());
+			}
+			List<String> slice = new ArrayList<>();
+			deliveries.replay(20, 40, delivery -> slice.add(delivery.toScore().toString()));
+			assertEquals(20, slice.size());
+			assertEquals(scores.get(20).toString(), slice.get(0));
+		}
+	}
+
+	@Test
+	public void scoresAndSavesLikeTheScores() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		OffHeapDeliveries deliveries = new OffHeapDeliveries(4);
+		scores.forEach(deliveries::add);
+
+		ScoreBoard expected = new ScoreBoard(scores);
+		Player khan = Player.of("Z Khan");
+		assertEquals(expected.getManOfMatch(), deliveries.toScoreBoard().getManOfMatch());
+		assertEquals(expected.calculateMatchPoints(khan), deliveries.toScoreBoard().calculateMatchPoints(khan));
+		assertEquals(new ScoreBoard(scores.subList(2, 9)).getPlayerRuns(Player.of("BB McCullum")),
+				deliveries.toScoreBoard(2, 9).getPlayerRuns(Player.of("BB McCullum")));
+
+		Path file = Files.createTempFile("scores", ".snapshot");
+		try {
+			deliveries.write(file);
+			DeliverySnapshot snapshot = DeliverySnapshot.load(file);
+			assertEquals(scores.size(), snapshot.size());
+			for(int i = 0; i < scores.size(); i++) {
+				assertEquals(scores.get(i).toString(), snapshot.get(i).toString());
+			}
+			assertEquals(expected.getManOfMatch(), snapshot.toScoreBoard().getManOfMatch());
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void aDeliveryThatDoesNotFitLeavesNoRecord() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Score first = scores.get(0);
+		OffHeapDeliveries deliveries = new OffHeapDeliveries(4);
+		deliveries.add(first);
+
+		Score tooManyRuns = new Score(1, 0, 2, first.getBattingTeamId(), first.getBowlingTeamId(), first.getBatsman(),
+				first.getNonStriker(), first.getBowler(), 40_000, "0", 0, "", Optional.empty(), Optional.empty());
+		try {
+			deliveries.add(tooManyRuns);
+			fail("Runs beyond a short were taken");
+		} catch (IllegalArgumentException e) {
+		}
+		assertEquals(1, deliveries.size());
+
+		deliveries.add(scores.get(1));
+		assertEquals(2, deliveries.size());
+		assertEquals(scores.get(1).toString(), deliveries.get(1).toString());
+	}
+
+}
@@ -0,0 +1,91 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class ParallelScoreReaderTest {
+
+	private static final String[] LINE_ENDS = { "\n", "\r\n", "\r", "\n  \n", "\r\n\r\n", "\n\t\n" };
+
+	@Test
+	public void chunksAreSplitOnLinesAndReadInOrder() throws Exception {
+		Random random = new Random(3L);
+		RandomMatches matches = new RandomMatches(3L);
+		StringBuilder text = new StringBuilder("\n");
+		for(int m = 0; m < 5; m++) {
+			for(Score score : matches.nextMatch()) {
+				text.append(RandomMatches.line(score)).append(LINE_ENDS[random.nextInt(LINE_ENDS.length)]);
+			}
+		}
+		text.append(RandomMatches.line(matches.nextMatch().get(0)));
+
+		Path file = Files.createTempFile("scores", ".txt");
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+			List<String> expected;
+			try (Stream<Score> stream = ScoreReader.stream(file)) {
+				expected = stream.map(Score::toString).collect(Collectors.toList());
+			}
+
+			for(long chunkSize : new long[] { 1, 2, 7, 64, 1000, 1 << 20 }) {
+				List<List<Score>> chunks = ParallelScoreReader.readChunks(file, pool, chunkSize, ArrayList::new, List::add);
+				List<String> actual = new ArrayList<>();
+				for(List<Score> chunk : chunks) {
+					chunk.forEach(score -> actual.add(score.toString()));
+				}
+				assertEquals("Chunks of " + chunkSize + " bytes", expected, actual);
+			}
+			assertEquals(expected, ParallelScoreReader.read(file, pool).stream().map(Score::toString).collect(Collectors.toList()));
+		} finally {
+			pool.shutdown();
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	public void columnChunksScoreLikeTheWholeFile() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		StringBuilder text = new StringBuilder();
+		for(Score score : scores) {
+			text.append(RandomMatches.line(score)).append('\n');
+		}
+
+		Path file = Files.createTempFile("scores", ".txt");
+		ForkJoinPool pool = new ForkJoinPool(3);
+		try {
+			Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+			List<DeliveryColumns> chunks = ParallelScoreReader.readChunks(file, pool, 100, DeliveryColumns::new,
+					DeliveryColumns::add);
+			assertTrue(chunks.size() > 1);
+
+			DeliveryColumns columns = DeliveryColumns.concat(chunks);
+			assertEquals(scores.size(), columns.size());
+			for(int i = 0; i < scores.size(); i++) {
+				assertEquals(scores.get(i).toString(), columns.get(i).toString());
+			}
+
+			ScoreBoard expected = new ScoreBoard(scores);
+			ScoreBoard actual = new ScoreBoard(columns);
+			assertEquals(expected.getManOfMatch(), actual.getManOfMatch());
+			assertEquals(expected.calculateMatchPoints(new Player("Z Khan")), actual.calculateMatchPoints(new Player("Z Khan")));
+		} finally {
+			pool.shutdown();
+			Files.delete(file);
+		}
+	}
+
+}
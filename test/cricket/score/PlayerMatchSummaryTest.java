@@ -0,0 +1,98 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class PlayerMatchSummaryTest {
+
+	@Test
+	public void summaryOfOneMatchMatchesTheScoreBoard() throws Exception {
+		ScoreBoard board = new ScoreBoard(new ScoreReader("scores.txt").getScores());
+		Map<Player, PlayerMatchSummary> summaries = new HashMap<>();
+		board.getPlayerSummaries().forEach(summary -> summaries.put(summary.getPlayer(), summary));
+
+		Player zaheer = new Player("Z Khan");
+		PlayerMatchSummary summary = summaries.get(zaheer);
+		assertEquals(1, summary.getMatches());
+		assertEquals(1, summary.getScoredMatches());
+		assertEquals(board.calculateMatchPoints(zaheer), summary.getPoints());
+		assertEquals(2, summary.getWickets());
+		assertEquals(board.getPlayerEconomyRate(zaheer), summary.getEconomyRate());
+		assertEquals(board.getTeamEconomyRate("Royal Challengers BLR"), summary.getTeamEconomyRate());
+
+		Player mccullum = new Player("BB McCullum");
+		assertEquals(board.getPlayerStrikeRate(mccullum), summaries.get(mccullum).getStrikeRate());
+		assertEquals(board.getTeamStrikeRate("Kolkata Knight Riders"), summaries.get(mccullum).getTeamStrikeRate());
+	}
+
+	@Test
+	public void tournamentTotalsAddUpMatchPointsInAnyOrder() throws Exception {
+		RandomMatches random = new RandomMatches(15L);
+		List<List<Score>> matches = new ArrayList<>();
+		for(int i = 0; i < 40; i++) {
+			matches.add(random.nextMatch());
+		}
+
+		Map<Player, BigDecimal> expected = new HashMap<>();
+		Map<Player, Integer> runs = new HashMap<>();
+		for(List<Score> match : matches) {
+			ScoreBoard board = new ScoreBoard(match);
+			for(PlayerMatchSummary summary : board.getPlayerSummaries()) {
+				Player player = summary.getPlayer();
+				runs.merge(player, board.getPlayerRuns(player), Integer::sum);
+				try {
+					expected.merge(player, board.calculateMatchPoints(player), BigDecimal::add);
+				} catch (ArithmeticException | NullPointerException e) {
+					expected.putIfAbsent(player, BigDecimal.ZERO);
+				}
+			}
+		}
+
+		TournamentTable sequential = new Season(matches).getTournamentTable(new ForkJoinPool(1));
+
+		List<List<Score>> shuffled = new ArrayList<>(matches);
+		Collections.shuffle(shuffled, new Random(2L));
+		TournamentTable parallel = shuffled.parallelStream()
+				.flatMap(match -> new ScoreBoard(match).getPlayerSummaries().stream())
+				.collect(TournamentTable.collector());
+
+		assertEquals(expected.size(), sequential.getSummaries().size());
+		for(Map.Entry<Player, BigDecimal> entry : expected.entrySet()) {
+			Player player = entry.getKey();
+			assertEquals(entry.getValue(), sequential.getSummary(player).getPoints());
+			assertEquals(sequential.getSummary(player).getPoints(), parallel.getSummary(player).getPoints());
+			assertEquals(sequential.getSummary(player).getMatches(), parallel.getSummary(player).getMatches());
+			assertEquals(runs.get(player).intValue(), parallel.getSummary(player).getRuns());
+		}
+		assertEquals(sequential.getLeaders(5).toString(), parallel.getLeaders(5).toString());
+	}
+
+	@Test
+	public void leadersIncludeTiesAtTheCutOff() throws Exception {
+		TournamentTable table = new TournamentTable();
+		table.addMatch(new ScoreBoard(new ScoreReader("scores.txt").getScores()));
+
+		List<PlayerPoints> leaders = table.getLeaders(1);
+		assertEquals(new ScoreBoard(new ScoreReader("scores.txt").getScores()).getManOfMatch().size(), leaders.size());
+		assertTrue(table.getLeaders(3).size() >= 3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void summariesOfDifferentPlayersDoNotMerge() throws Exception {
+		List<PlayerMatchSummary> summaries = new ScoreBoard(new ScoreReader("scores.txt").getScores()).getPlayerSummaries();
+		summaries.get(0).merge(summaries.get(1));
+	}
+
+}
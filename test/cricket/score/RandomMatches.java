@@ -0,0 +1,86 @@
+package cricket.score;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import cricket.Player;
+
+/**
+ * Generates reproducible random matches for the tests that compare implementations against each other.
+ */
+class RandomMatches {
+
+	private static final String[] EXTRAS = { "0", "0", "0", "0", "0", "0", "1", "1w", "1lb", "1nb", "2b", "4lb", "5w" };
+	private static final String[] KINDS_OF_WICKET = { "bowled", "caught", "lbw", "run out", "stumped" };
+
+	private final Random random;
+
+	RandomMatches(long seed) {
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * A match of two innings between two random teams. Now and then a player turns out for the other
+	 * side, to exercise the rule that settles a player's team.
+	 */
+	List<Score> nextMatch() {
+		String home = "Team " + random.nextInt(6);
+		String away = "Team " + (6 + random.nextInt(6));
+		int deliveries = 2 + random.nextInt(150);
+
+		List<Score> scores = new ArrayList<>();
+		for(int i = 0; i < deliveries; i++) {
+			int innings = i < deliveries / 2 ? 1 : 2;
+			String batting = innings == 1 ? home : away;
+			String bowling = innings == 1 ? away : home;
+			scores.add(nextDelivery(innings, i / 6, i % 6 + 1, batting, bowling));
+		}
+		return scores;
+	}
+
+	private Score nextDelivery(int innings, int over, int ball, String batting, String bowling) {
+		String batsman = player(random.nextInt(25) == 0 ? bowling : batting);
+		String nonStriker = player(batting);
+		String bowler = player(bowling);
+		int runs = random.nextInt(8) == 0 ? 4 + random.nextInt(3) : random.nextInt(4);
+		String extra = EXTRAS[random.nextInt(EXTRAS.length)];
+
+		String kindOfWicket = "";
+		String dismissed = "";
+		String assisting = "";
+		if(random.nextInt(10) == 0) {
+			kindOfWicket = KINDS_OF_WICKET[random.nextInt(KINDS_OF_WICKET.length)];
+			dismissed = batsman;
+			int assist = random.nextInt(3);
+			if(assist == 1) {
+				assisting = player(bowling);
+			} else if(assist == 2) {
+				assisting = bowler;
+			}
+		} else if(random.nextInt(50) == 0) {
+			assisting = player(bowling);
+		}
+
+		return new Score(innings, over, ball, batting, bowling, batsman, nonStriker, bowler, runs, extra, kindOfWicket,
+				dismissed, assisting);
+	}
+
+	/**
+	 * The score as a line of a score file.
+	 */
+	static String line(Score score) {
+		String kindOfWicket = score.isDismissalDelivery() ? score.getKindOfWicket() : "";
+		return score.getInningsNumber() + "," + score.getOverNumber() + "." + score.getBallNumber() + ","
+				+ score.getBattingTeamName() + "," + score.getBowlingTeamName() + "," + score.getBatsman().name() + ","
+				+ score.getNonStriker().name() + "," + score.getBowler().name() + "," + score.getRuns() + ","
+				+ score.getExtra() + "," + kindOfWicket + ","
+				+ score.getDismissedPlayer().map(Player::name).orElse("") + ","
+				+ score.getAssistingPlayer().map(Player::name).orElse("");
+	}
+
+	private String player(String team) {
+		return team + " player " + random.nextInt(6);
+	}
+
+}
@@ -0,0 +1,95 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class RulesEvaluatorTest {
+
+	@Test
+	public void scoresEveryRuleSetLikeItsOwnScoreBoard() throws Exception {
+		ScoringRules generousBatting = ScoringRules.DEFAULT.withBattingBonusFactor(new BigDecimal("0.25"));
+		ScoringRules cheapWickets = ScoringRules.DEFAULT.withNonAssistBowlingPoints(new BigDecimal(10))
+				.withAssistBowlingPoints(new BigDecimal("5.5"));
+		List<ScoringRules> rules = Arrays.asList(ScoringRules.DEFAULT, generousBatting, cheapWickets);
+
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		Map<ScoringRules, MatchResult> results = new RulesEvaluator(rules).evaluate(scores);
+		assertEquals(rules, Arrays.asList(results.keySet().toArray()));
+
+		ScoreBoard board = new ScoreBoard(scores);
+		MatchResult byDefault = results.get(ScoringRules.DEFAULT);
+		assertEquals(board.getManOfMatch(), byDefault.getManOfMatch());
+		for(Player player : byDefault.getPlayers()) {
+			assertEquals(board.calculateMatchPoints(player), byDefault.getMatchPoints(player));
+		}
+
+		for(ScoringRules set : rules) {
+			assertLikeTheReference(set, scores, results.get(set));
+		}
+
+		Player khan = Player.of("Z Khan");
+		assertTrue(results.get(cheapWickets).getBasePoints(khan).compareTo(byDefault.getBasePoints(khan)) < 0);
+	}
+
+	@Test
+	public void scoresRandomMatchesLikeTheReferenceWithTheSameRules() throws Exception {
+		List<ScoringRules> rules = Arrays.asList(
+				ScoringRules.DEFAULT.withBattingBonusFactor(new BigDecimal("0.25")).withBowlingBonusFactor(new BigDecimal("0.05")),
+				ScoringRules.DEFAULT.withNonAssistBowlingPoints(new BigDecimal(10)).withAssistBowlingPoints(new BigDecimal("5.5")));
+		RulesEvaluator evaluator = new RulesEvaluator(rules);
+		RandomMatches matches = new RandomMatches(2021L);
+		int scored = 0;
+		for(int m = 0; m < 100; m++) {
+			List<Score> scores = matches.nextMatch();
+			Map<ScoringRules, MatchResult> results;
+			try {
+				results = evaluator.evaluate(scores);
+			} catch (ArithmeticException | NullPointerException e) {
+				continue;
+			}
+			for(ScoringRules set : rules) {
+				assertLikeTheReference(set, scores, results.get(set));
+			}
+			scored++;
+		}
+		assertTrue("Only " + scored + " matches were scored", scored > 50);
+	}
+
+	/**
+	 * Checks a result against the original BigDecimal scoring with the rule values put in its constants.
+	 */
+	private static void assertLikeTheReference(ScoringRules set, List<Score> scores, MatchResult actual) {
+		ReferenceScoreBoard expected = new ReferenceScoreBoard(scores, set.getBattingBonusFactor(),
+				set.getBowlingBonusFactor(), set.getNonAssistBowlingPoints(), set.getAssistBowlingPoints());
+		assertEquals(set.toString(), expected.getManOfMatch(), actual.getManOfMatch());
+		for(Player player : actual.getPlayers()) {
+			assertEquals(set + ", " + player, expected.calculateMatchPoints(player), actual.getMatchPoints(player));
+			assertEquals(set + ", " + player, expected.calculateBasePoints(player), actual.getBasePoints(player));
+		}
+	}
+
+	@Test
+	public void rulesAreValuesWithScales() throws Exception {
+		ScoringRules rules = new ScoringRules(new BigDecimal("0.1"), new BigDecimal("0.1"), new BigDecimal(25),
+				new BigDecimal("12.5"));
+		assertEquals(ScoringRules.DEFAULT, rules);
+		assertEquals(ScoringRules.DEFAULT.hashCode(), rules.hashCode());
+		assertNotEquals(ScoringRules.DEFAULT, rules.withAssistBowlingPoints(new BigDecimal("12.50")));
+
+		try {
+			rules.withBattingBonusFactor(new BigDecimal("0.125"));
+			fail("Expected too many decimal places to be rejected");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("batting bonus factor"));
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import cricket.Player;
+
+public class ScoreBoardCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void givesTheScoreBoardResults() throws Exception {
+		ScoreBoard board = new ScoreBoard(new ScoreReader("scores.txt").getScores());
+		MatchResult result = new ScoreBoardCache(4).get(copy("scores.txt"));
+
+		assertEquals(board.getManOfMatch(), result.getManOfMatch());
+		assertFalse(result.getPlayers().isEmpty());
+		for(Player player : result.getPlayers()) {
+			assertEquals(board.calculateMatchPoints(player), result.getMatchPoints(player));
+			assertEquals(board.calculateBasePoints(player), result.getBasePoints(player));
+			assertEquals(board.calculateBonusPoints(player), result.getBonusPoints(player));
+		}
+	}
+
+	@Test
+	public void hitsOnTheSameContentAndEvictsTheLeastRecentlyUsed() throws Exception {
+		Path first = copy("first.txt");
+		Path same = copy("same.txt");
+		Path other = copy("other.txt");
+		Files.write(other, "\n".getBytes("UTF-8"), StandardOpenOption.APPEND);
+
+		ScoreBoardCache cache = new ScoreBoardCache(1);
+		MatchResult result = cache.get(first);
+		assertSame(result, cache.get(same));
+		assertEquals(1, cache.getHits());
+		assertEquals(1, cache.getMisses());
+
+		cache.get(other);
+		assertNotSame(result, cache.get(first));
+		assertEquals(3, cache.getMisses());
+	}
+
+	@Test
+	public void keepsResultsOnDisk() throws Exception {
+		Path dir = folder.newFolder("cache").toPath();
+		Path scores = copy("scores.txt");
+		MatchResult result = new ScoreBoardCache(4, dir).get(scores);
+
+		ScoreBoardCache reopened = new ScoreBoardCache(4, dir);
+		MatchResult fromDisk = reopened.get(scores);
+		assertEquals(1, reopened.getHits());
+		assertEquals(result.getManOfMatch(), fromDisk.getManOfMatch());
+		for(Player player : result.getPlayers()) {
+			assertEquals(result.getMatchPoints(player), fromDisk.getMatchPoints(player));
+			assertEquals(result.getBonusPoints(player), fromDisk.getBonusPoints(player));
+		}
+	}
+
+	@Test
+	public void evictsResultsOfOtherRules() throws Exception {
+		Path dir = folder.newFolder("cache").toPath();
+		Path scores = copy("scores.txt");
+		new ScoreBoardCache(4, dir).get(scores);
+		assertEquals(1, count(dir));
+
+		ScoringRules changed = ScoringRules.DEFAULT.withBattingBonusFactor(BigDecimal.valueOf(0.2));
+		ScoreBoardCache cache = new ScoreBoardCache(4, dir, changed);
+		assertEquals(0, count(dir));
+		cache.get(scores);
+		assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void keepsTheMostRecentResultsWithinTheDiskCapacity() throws Exception {
+		Path dir = folder.newFolder("cache").toPath();
+		Path first = copy("first.txt");
+		Path second = copy("second.txt");
+		Files.write(second, "\n".getBytes("UTF-8"), StandardOpenOption.APPEND);
+
+		new ScoreBoardCache(4, dir, ScoringRules.DEFAULT, 1).get(first);
+		try (Stream<Path> files = Files.list(dir)) {
+			for(Path file : (Iterable<Path>) files::iterator) {
+				Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+			}
+		}
+		new ScoreBoardCache(4, dir, ScoringRules.DEFAULT, 1).get(second);
+		assertEquals(1, count(dir));
+
+		ScoreBoardCache reopened = new ScoreBoardCache(4, dir, ScoringRules.DEFAULT, 1);
+		reopened.get(second);
+		assertEquals(1, reopened.getHits());
+		reopened.get(first);
+		assertEquals(1, reopened.getMisses());
+	}
+
+	@Test
+	public void leavesNoTemporaryFileWhenAResultCannotBeWritten() throws Exception {
+		Path dir = folder.newFolder("cache").toPath();
+		Path scores = copy("scores.txt");
+		new ScoreBoardCache(4, dir).get(scores);
+		Path result;
+		try (Stream<Path> files = Files.list(dir)) {
+			result = files.findFirst().get();
+		}
+		// A directory that is not empty cannot be replaced by the result.
+		Files.delete(result);
+		Files.createDirectory(result);
+		Files.createFile(result.resolve("blocking"));
+
+		try {
+			new ScoreBoardCache(4, dir).get(scores);
+			fail("The result cannot be moved into place");
+		} catch (IllegalStateException expected) {
+		}
+		assertEquals(1, count(dir));
+	}
+
+	private Path copy(String name) throws Exception {
+		Path copy = folder.getRoot().toPath().resolve(name);
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("scores.txt")) {
+			Files.copy(is, copy);
+		}
+		return copy;
+	}
+
+	private static long count(Path dir) throws Exception {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.count();
+		}
+	}
+
+}
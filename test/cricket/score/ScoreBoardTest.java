@@ -1,8 +1,11 @@
 package cricket.score;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -242,6 +245,26 @@ public class ScoreBoardTest {
 		assertEquals(zKhan, mom);
 	}
 	
+	@Test
+	public void topPlayersAreRankedByPoints() throws Exception {
+		List<PlayerPoints> topPlayers = match.getTopPlayers(3);
+		assertEquals(3, topPlayers.size());
+		assertEquals(zKhan, topPlayers.get(0).getPlayer());
+		assertEquals("33.75", topPlayers.get(0).getPoints().toPlainString());
+		assertEquals(kohli, topPlayers.get(1).getPlayer());
+		assertEquals(mcCullum, topPlayers.get(2).getPlayer());
+	}
+	
+	@Test
+	public void topPlayersIncludeTiesAtTheCutOff() throws Exception {
+		List<PlayerPoints> topPlayers = match.getTopPlayers(5);
+		assertEquals("4 players tied on zero points", 8, topPlayers.size());
+		assertEquals(dravid, topPlayers.get(3).getPlayer());
+		for(PlayerPoints playerPoints : topPlayers.subList(4, 8)) {
+			assertEquals(0, playerPoints.getPoints().signum());
+		}
+	}
+	
 	@Test
 	public void teamCompositionIsCorrect() throws Exception {
 		Set<Player> players = match.getTeamPlayers("Kolkata Knight Riders");
@@ -259,4 +282,20 @@ public class ScoreBoardTest {
 		assertTrue(players.contains(kohli));
 		assertTrue(players.contains(abd));
 	}	
+	
+	@Test
+	public void scoreBoardCanBeBuiltFromAStream() throws Exception {
+		String lines = "1,1.5,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,Z Khan,4,0,,,\n"
+				+ "1,1.6,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,Z Khan,0,0,lbw,BB McCullum,\n"
+				+ "2,0.1,Royal Challengers BLR,Kolkata Knight Riders,Virat Kohli,A B Devilliers,Morne Morkel,6,0,,,\n";
+		
+		try (Stream<Score> scores = ScoreReader.stream(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)),
+				StandardCharsets.UTF_8)) {
+			ScoreBoard streamed = new ScoreBoard(scores);
+			assertEquals("25", streamed.calculateBaseBowlingPoints(zKhan).toPlainString());
+			assertEquals(6, streamed.getTeamRuns("Royal Challengers BLR"));
+			assertEquals(1, streamed.getManOfMatch().size());
+			assertTrue(streamed.getManOfMatch().contains(zKhan));
+		}
+	}
 }
@@ -2,15 +2,27 @@ package cricket.score;
 
 import static org.junit.Assert.*;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import cricket.Player;
 
 public class ScoreReaderTest {
 	
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+	
 	@Test
 	public void canReadScores() throws Exception {
 		ScoreReader scoreReader = new ScoreReader("scores.txt");
@@ -43,4 +55,41 @@ public class ScoreReaderTest {
 	}
 	
 
+	@Test
+	public void canStreamScoresFromAFile() throws Exception {
+		Path scoreFile = folder.newFile("scores.txt").toPath();
+		Files.write(scoreFile, Arrays.asList(
+				"1,0.3,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,P Kumar,0,1w,,,",
+				"   ",
+				"1,0.4,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,P Kumar,4,0,,,"),
+				StandardCharsets.UTF_8);
+		
+		try (Stream<Score> stream = ScoreReader.stream(scoreFile)) {
+			List<Score> scores = stream.collect(Collectors.toList());
+			assertEquals("Blank lines are skipped", 2, scores.size());
+			assertEquals(4, scores.get(1).getBallNumber());
+			assertEquals(4, scores.get(1).getRuns());
+		}
+	}
+	
+	@Test
+	public void streamedScoresMatchLoadedScores() throws Exception {
+		List<Score> loaded = new ScoreReader("scores.txt").getScores();
+		
+		try (Stream<Score> stream = ScoreReader.stream(
+				getClass().getClassLoader().getResourceAsStream("scores.txt"), StandardCharsets.UTF_8)) {
+			Iterator<Score> streamed = stream.iterator();
+			for(Score score : loaded) {
+				assertTrue(streamed.hasNext());
+				assertEquals(score.toString(), streamed.next().toString());
+			}
+			assertFalse(streamed.hasNext());
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void streamingAMissingFileFails() throws Exception {
+		ScoreReader.stream(folder.getRoot().toPath().resolve("missing.txt"));
+	}
+
 }
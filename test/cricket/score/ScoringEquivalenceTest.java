@@ -0,0 +1,108 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class ScoringEquivalenceTest {
+
+	@Test
+	public void fixedPointScoringMatchesTheReferenceOnRandomMatches() throws Exception {
+		RandomMatches matches = new RandomMatches(20240601L);
+		int undefined = 0;
+		
+		for(int m = 0; m < 500; m++) {
+			List<Score> scores = matches.nextMatch();
+			ReferenceScoreBoard expected = new ReferenceScoreBoard(scores);
+			ScoreBoard actual = m % 2 == 0 ? new ScoreBoard(scores) : new ScoreBoard(DeliveryColumns.of(scores));
+			
+			Set<Player> players = new LinkedHashSet<>();
+			Set<String> teams = new LinkedHashSet<>();
+			for(Score score : scores) {
+				players.addAll(score.getPlayers());
+				teams.add(score.getBattingTeamName());
+				teams.add(score.getBowlingTeamName());
+			}
+			players.add(new Player("Did not play"));
+			
+			for(Player p : players) {
+				String where = "match " + m + ", " + p;
+				assertSame(where, outcome(() -> expected.calculateMatchPoints(p)), outcome(() -> actual.calculateMatchPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBasePoints(p)), outcome(() -> actual.calculateBasePoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBonusPoints(p)), outcome(() -> actual.calculateBonusPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBaseBattingPoints(p)), outcome(() -> actual.calculateBaseBattingPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBaseBowlingPoints(p)), outcome(() -> actual.calculateBaseBowlingPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBaseFieldingPoints(p)), outcome(() -> actual.calculateBaseFieldingPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBonusBattingPoints(p)), outcome(() -> actual.calculateBonusBattingPoints(p)));
+				assertSame(where, outcome(() -> expected.calculateBonusBowlingPoints(p)), outcome(() -> actual.calculateBonusBowlingPoints(p)));
+				assertSame(where, outcome(() -> expected.getPlayerStrikeRate(p)), outcome(() -> actual.getPlayerStrikeRate(p)));
+				assertSame(where, outcome(() -> expected.getPlayerEconomyRate(p)), outcome(() -> actual.getPlayerEconomyRate(p)));
+				assertSame(where, outcome(() -> expected.getBallsFacedByPlayer(p)), outcome(() -> actual.getBallsFacedByPlayer(p)));
+				assertSame(where, outcome(() -> expected.getRunsConceded(p)), outcome(() -> actual.getRunsConceded(p)));
+				assertSame(where, outcome(() -> expected.getDeliveries(p)), outcome(() -> actual.getDeliveries(p)));
+			}
+			
+			for(String team : teams) {
+				String where = "match " + m + ", " + team;
+				assertSame(where, outcome(() -> expected.getTeamStrikeRate(team)), outcome(() -> actual.getTeamStrikeRate(team)));
+				assertSame(where, outcome(() -> expected.getTeamEconomyRate(team)), outcome(() -> actual.getTeamEconomyRate(team)));
+				assertSame(where, outcome(() -> expected.getTeamRuns(team)), outcome(() -> actual.getTeamRuns(team)));
+				assertSame(where, outcome(() -> expected.getTeamRunsGiven(team)), outcome(() -> actual.getTeamRunsGiven(team)));
+				assertSame(where, outcome(() -> expected.getTeamBalls(team)), outcome(() -> actual.getTeamBalls(team)));
+				assertSame(where, outcome(() -> expected.getTeamBallsBowled(team)), outcome(() -> actual.getTeamBallsBowled(team)));
+				assertSame(where, outcome(() -> expected.getTeamPlayers(team)), outcome(() -> actual.getTeamPlayers(team)));
+			}
+			
+			// When several players' points are undefined, which failure surfaces first depends on the order
+			// players are compared in, so only the fact that ranking fails is compared.
+			String ranking = rankingOutcome(expected::getManOfMatch);
+			assertSame("match " + m, ranking, rankingOutcome(actual::getManOfMatch));
+			assertEquals("match " + m, !ranking.equals("undefined points"), actual.isScored());
+			if(!actual.isScored()) {
+				undefined++;
+			}
+		}
+		assertTrue("Some but not all matches have undefined points: " + undefined, undefined > 0 && undefined < 500);
+	}
+	
+	private static void assertSame(String where, String expected, String actual) {
+		assertEquals(where, expected, actual);
+	}
+	
+	private static String rankingOutcome(Callable<?> call) {
+		String outcome = outcome(call);
+		if(outcome.equals(ArithmeticException.class.getName()) || outcome.equals(NullPointerException.class.getName())) {
+			return "undefined points";
+		}
+		return outcome;
+	}
+	
+	/**
+	 * The plain string form of a result, sorted for sets, or the type of exception thrown, so that failures compare too.
+	 */
+	private static String outcome(Callable<?> call) {
+		try {
+			Object result = call.call();
+			if(result instanceof BigDecimal) {
+				return ((BigDecimal) result).toPlainString();
+			}
+			if(result instanceof Set) {
+				return new TreeSet<>(((Set<?>) result).stream().map(Object::toString).collect(Collectors.toSet())).toString();
+			}
+			return String.valueOf(result);
+		} catch (Exception e) {
+			return e.getClass().getName();
+		}
+	}
+
+}
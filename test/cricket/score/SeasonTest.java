@@ -0,0 +1,73 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class SeasonTest {
+
+	@Test
+	public void matchesAreSplitOnInningsAndTeamChanges() throws Exception {
+		List<Score> first = new ScoreReader("scores.txt").getScores();
+		List<Score> second = new ScoreReader("scores.txt").getScores();
+		List<Score> third = Collections.singletonList(
+				new Score(1, 0, 1, "Chennai Super Kings", "Mumbai Indians", "MS Dhoni", "SK Raina", "JJ Bumrah", 4, "0", "", "", ""));
+		
+		List<Score> scores = new ArrayList<>(first);
+		scores.addAll(second);
+		scores.addAll(third);
+		Season season = Season.of(scores);
+		
+		assertEquals(3, season.getMatchCount());
+		assertEquals(14, season.getMatch(0).size());
+		assertEquals(14, season.getMatch(1).size());
+		assertEquals(third, season.getMatch(2));
+	}
+	
+	@Test
+	public void manOfMatchIsWorkedOutForEveryMatchInOrder() throws Exception {
+		RandomMatches random = new RandomMatches(99L);
+		List<List<Score>> matches = new ArrayList<>();
+		List<Score> scores = new ArrayList<>();
+		while(matches.size() < 60) {
+			List<Score> match = random.nextMatch();
+			if(isScorable(match)) {
+				matches.add(match);
+				scores.addAll(match);
+			}
+		}
+		
+		Season season = Season.of(scores);
+		assertEquals(60, season.getMatchCount());
+		
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			List<Set<Player>> manOfMatch = season.getManOfMatchPerMatch(pool);
+			assertEquals(60, manOfMatch.size());
+			for(int i = 0; i < matches.size(); i++) {
+				assertEquals(matches.get(i), season.getMatch(i));
+				assertEquals("match " + i, new ScoreBoard(matches.get(i)).getManOfMatch(), manOfMatch.get(i));
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+	
+	private static boolean isScorable(List<Score> match) {
+		try {
+			new ScoreBoard(match).getManOfMatch();
+			return true;
+		} catch (ArithmeticException | NullPointerException e) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,111 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Callable;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class StandingsTimelineTest {
+
+	@Test
+	public void standingsAfterEveryBallAreThoseOfTheMatchSoFar() throws Exception {
+		RandomMatches matches = new RandomMatches(22L);
+		int defined = 0;
+		for(int m = 0; m < 30; m++) {
+			List<Score> scores = matches.nextMatch();
+			StandingsTimeline timeline = new StandingsTimeline(scores);
+			assertEquals(scores.size(), timeline.size());
+
+			for(int k = 1; k <= scores.size(); k++) {
+				String where = "match " + m + " after " + k;
+				ScoreBoard board = new ScoreBoard(scores.subList(0, k));
+				int deliveries = k;
+				assertEquals(where, rankingOutcome(board::getManOfMatch), rankingOutcome(() -> timeline.getManOfMatch(deliveries)));
+				String expected = outcome(() -> describe(board.getResult()));
+				assertEquals(where, expected, outcome(() -> describe(timeline.getResult(deliveries))));
+				if(expected.startsWith("[")) {
+					defined++;
+				}
+			}
+		}
+		assertTrue("Points were defined after " + defined + " balls", defined > 100);
+	}
+
+	@Test
+	public void findsTheDeliveriesAfterABall() throws Exception {
+		List<Score> scores = new ScoreReader("scores.txt").getScores();
+		StandingsTimeline timeline = new StandingsTimeline(scores);
+
+		assertEquals(0, timeline.deliveriesAfter(1, 0, 2));
+		assertEquals(5, timeline.deliveriesAfter(1, 0, 7));
+		assertEquals(8, timeline.deliveriesAfter(1, 1, 3));
+		assertEquals(13, timeline.deliveriesAfter(1, 99, 1));
+		assertEquals(14, timeline.deliveriesAfter(2, 0, 1));
+
+		Player khan = Player.of("Z Khan");
+		assertEquals(new ScoreBoard(scores).calculateMatchPoints(khan),
+				timeline.getResult(timeline.deliveriesAfter(2, 0, 1)).getMatchPoints(khan));
+	}
+
+	@Test
+	public void leaderChangesAreThoseOfALiveScoreBoard() throws Exception {
+		RandomMatches matches = new RandomMatches(23L);
+		for(int m = 0; m < 10; m++) {
+			List<Score> scores = matches.nextMatch();
+			List<String> expected = new ArrayList<>();
+			LiveScoreBoard live = new LiveScoreBoard();
+			live.addListener((previous, leaders, deliveries) -> expected.add(deliveries + " " + leaders));
+			scores.forEach(live::accept);
+
+			List<String> actual = new ArrayList<>();
+			for(LeaderChange change : new StandingsTimeline(scores).getLeaderChanges()) {
+				actual.add(change.getDeliveries() + " " + change.getLeaders());
+			}
+			assertEquals(expected, actual);
+		}
+	}
+
+	private static String describe(MatchResult result) {
+		TreeSet<String> manOfMatch = new TreeSet<>();
+		result.getManOfMatch().forEach(player -> manOfMatch.add(player.name()));
+		StringBuilder description = new StringBuilder(manOfMatch.toString());
+		for(Player player : result.getPlayers()) {
+			description.append(' ').append(player.name()).append('=').append(result.getMatchPoints(player))
+					.append('/').append(result.getBasePoints(player)).append('/').append(result.getBonusPoints(player));
+		}
+		return description.toString();
+	}
+
+	private static String rankingOutcome(Callable<?> call) {
+		String outcome = outcome(call);
+		if(outcome.equals(ArithmeticException.class.getName()) || outcome.equals(NullPointerException.class.getName())) {
+			return "undefined points";
+		}
+		return outcome;
+	}
+
+	private static String outcome(Callable<?> call) {
+		try {
+			Object result = call.call();
+			if(result instanceof BigDecimal) {
+				return ((BigDecimal) result).toString();
+			}
+			if(result instanceof Iterable) {
+				TreeSet<String> sorted = new TreeSet<>();
+				((Iterable<?>) result).forEach(o -> sorted.add(o.toString()));
+				return sorted.toString();
+			}
+			return String.valueOf(result);
+		} catch (Exception e) {
+			return e.getClass().getName();
+		}
+	}
+
+}
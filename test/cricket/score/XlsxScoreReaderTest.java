@@ -0,0 +1,271 @@
+package cricket.score;
+
+import static org.junit.Assert.*;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Test;
+
+import cricket.Player;
+
+public class XlsxScoreReaderTest {
+
+	private static final String WORKBOOK = "<workbook xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\""
+			+ " xmlns:r=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships\">"
+			+ "<sheets><sheet name=\"Deliveries\" sheetId=\"1\" r:id=\"rId7\"/></sheets></workbook>";
+	private static final String RELATIONSHIPS = "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+			+ "<Relationship Id=\"rId7\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet\" Target=\"worksheets/deliveries.xml\"/>"
+			+ "<Relationship Id=\"rId8\" Type=\"http://schemas.openxmlformats.org/officeDocument/2006/relationships/sharedStrings\" Target=\"/xl/strings.xml\"/>"
+			+ "</Relationships>";
+	private static final String SHARED_STRINGS = "<sst xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+			+ "<si><t>Bowler</t></si><si><t>Batsman</t></si><si><r><t>Z </t></r><r><t>Khan</t></r><rPh><t>x</t></rPh></si>"
+			+ "<si><t>BB McCullum</t></si></sst>";
+
+	@Test
+	public void readsTheShippedWorkbook() throws Exception {
+		List<Score> expected = new ScoreReader("scores.txt").getScores().subList(0, 11);
+
+		try (Stream<Score> stream = XlsxScoreReader.stream(shippedWorkbook(),
+				"Kolkata Knight Riders", "Royal Challengers BLR")) {
+			List<Score> scores = stream.collect(Collectors.toList());
+
+			assertEquals(expected.toString(), scores.toString());
+			assertEquals("Kolkata Knight Riders", scores.get(0).getBattingTeamName());
+			assertEquals("Royal Challengers BLR", scores.get(0).getBowlingTeamName());
+			assertEquals(1, scores.get(5).getOverNumber());
+			assertEquals(1, scores.get(5).getBallNumber());
+			assertEquals(new Player("BB McCullum"), scores.get(10).getDismissedPlayer().get());
+			assertSameResult(new ScoreBoard(expected), new ScoreBoard(scores));
+		}
+	}
+
+	@Test
+	public void rejectsASheetWithoutBowlingTeamsWhenOnlyOneSideBatted() throws Exception {
+		try (Stream<Score> stream = XlsxScoreReader.stream(shippedWorkbook())) {
+			stream.count();
+			fail("The bowling team was guessed");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("bowling team"));
+		}
+	}
+
+	@Test
+	public void takesTheBowlingTeamFromTheOtherInnings() throws Exception {
+		List<Score> expected = new ScoreReader("scores.txt").getScores();
+		String[] cells = new String[expected.size() + 1];
+		cells[0] = row(1, cell("A1", "inlineStr", "Innings"), cell("B1", "inlineStr", "Over and ball"),
+				cell("C1", "inlineStr", "Batting team"), cell("D1", "inlineStr", "Batsman"),
+				cell("E1", "inlineStr", "Non-striker"), cell("F1", "inlineStr", "Bowler"), cell("G1", "inlineStr", "Runs"),
+				cell("H1", "inlineStr", "Extras"), cell("I1", "inlineStr", "Kind of wicket"),
+				cell("J1", "inlineStr", "Dismissed"), cell("K1", "inlineStr", "Fielder"));
+		for(int i = 0; i < expected.size(); i++) {
+			Score score = expected.get(i);
+			int r = i + 2;
+			cells[i + 1] = row(r, cell("A" + r, null, String.valueOf(score.getInningsNumber())),
+					cell("B" + r, null, score.getOverNumber() + "." + score.getBallNumber()),
+					cell("C" + r, "inlineStr", score.getBattingTeamName()), cell("D" + r, "inlineStr", score.getBatsman().name()),
+					cell("E" + r, "inlineStr", score.getNonStriker().name()), cell("F" + r, "inlineStr", score.getBowler().name()),
+					cell("G" + r, null, String.valueOf(score.getRuns())), cell("H" + r, "inlineStr", score.getExtra()),
+					cell("I" + r, "inlineStr", score.getKindOfWicket()),
+					cell("J" + r, "inlineStr", score.getDismissedPlayer().map(Player::name).orElse("")),
+					cell("K" + r, "inlineStr", score.getAssistingPlayer().map(Player::name).orElse("")));
+		}
+
+		List<Score> scores = read(sheet(cells));
+
+		assertEquals(expected.size(), scores.size());
+		for(int i = 0; i < scores.size(); i++) {
+			assertEquals(expected.get(i).getBowlingTeamName(), scores.get(i).getBowlingTeamName());
+		}
+		assertSameResult(new ScoreBoard(expected), new ScoreBoard(scores));
+	}
+
+	@Test
+	public void mapsColumnsByTheirTitles() throws Exception {
+		String sheet = sheet(
+				row(1, cell("A1", "s", "0"), cell("B1", "inlineStr", "Extras"), cell("C1", "inlineStr", "Runs"),
+						cell("D1", "s", "1"), cell("E1", "inlineStr", "Non-striker"), cell("F1", "inlineStr", "Over and ball"),
+						cell("G1", "inlineStr", "Innings"), cell("H1", "inlineStr", "Bowling team"),
+						cell("I1", "inlineStr", "Batting team"), cell("J1", "inlineStr", "Fielder")),
+				row(2, cell("A2", "s", "2"), cell("B2", "inlineStr", "1w"), cell("C2", null, "0"), cell("D2", "s", "3"),
+						cell("E2", "inlineStr", "SC Ganguly"), cell("F2", null, "0.30000000000000004"),
+						cell("G2", null, "1"), cell("H2", "inlineStr", "Royal Challengers BLR"),
+						cell("I2", "inlineStr", "Kolkata Knight Riders")),
+				row(3),
+				row(4, cell("A4", "s", "2"), cell("B4", null, "0"), cell("C4", null, "4"), cell("D4", "s", "3"),
+						cell("E4", "inlineStr", "SC Ganguly"), cell("F4", null, "1.1000000000000001"),
+						cell("G4", null, "1"), cell("H4", "inlineStr", "Royal Challengers BLR"),
+						cell("I4", "inlineStr", "Kolkata Knight Riders"), cell("J4", "inlineStr", "Virat Kohli")));
+
+		List<Score> scores = read(sheet);
+
+		assertEquals("Empty rows are skipped", 2, scores.size());
+		Score first = scores.get(0);
+		assertEquals(0, first.getOverNumber());
+		assertEquals(3, first.getBallNumber());
+		assertEquals(new Player("Z Khan"), first.getBowler());
+		assertEquals(new Player("BB McCullum"), first.getBatsman());
+		assertEquals("Royal Challengers BLR", first.getBowlingTeamName());
+		assertEquals(1, first.getExtraRuns());
+		assertFalse(first.isDismissalDelivery());
+
+		Score second = scores.get(1);
+		assertEquals(1, second.getOverNumber());
+		assertEquals(1, second.getBallNumber());
+		assertEquals(4, second.getRuns());
+		assertEquals(new Player("Virat Kohli"), second.getAssistingPlayer().get());
+	}
+
+	@Test
+	public void matchesWholeTitlesOnly() throws Exception {
+		String header = row(1, cell("A1", "inlineStr", "Innings"), cell("B1", "inlineStr", "Over"),
+				cell("C1", "inlineStr", "Batting team"), cell("D1", "inlineStr", "Bowling team"),
+				cell("E1", "inlineStr", "Batsman"), cell("F1", "inlineStr", "Non striker"), cell("G1", "inlineStr", "Bowler"),
+				cell("H1", "inlineStr", "Runs conceded"), cell("I1", "inlineStr", "Runs"), cell("J1", "inlineStr", "Extras"));
+		String delivery = row(2, cell("A2", null, "1"), cell("B2", null, "0.1"),
+				cell("C2", "inlineStr", "Kolkata Knight Riders"), cell("D2", "inlineStr", "Royal Challengers BLR"),
+				cell("E2", "inlineStr", "BB McCullum"), cell("F2", "inlineStr", "SC Ganguly"), cell("G2", "inlineStr", "P Kumar"),
+				cell("H2", null, "9"), cell("I2", null, "4"), cell("J2", null, "0"));
+
+		List<Score> scores = read(sheet(header, delivery));
+
+		assertEquals("Runs conceded is not the runs column", 4, scores.get(0).getRuns());
+	}
+
+	@Test
+	public void rejectsAColumnWithTwoTitles() throws Exception {
+		String header = row(1, cell("A1", "inlineStr", "Innings"), cell("B1", "inlineStr", "Over"),
+				cell("C1", "inlineStr", "Batting team"), cell("D1", "inlineStr", "Batting team name"),
+				cell("E1", "inlineStr", "Batsman"), cell("F1", "inlineStr", "Non striker"), cell("G1", "inlineStr", "Bowler"),
+				cell("H1", "inlineStr", "Runs"), cell("I1", "inlineStr", "Extras"));
+		try {
+			read(sheet(header));
+			fail("Two batting team columns were taken");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("BATTING_TEAM"));
+		}
+	}
+
+	@Test
+	public void rejectsAHeaderWithoutAMandatoryColumn() throws Exception {
+		String header = row(1, cell("A1", "inlineStr", "Innings"), cell("B1", "inlineStr", "Over"),
+				cell("C1", "inlineStr", "Batting team"), cell("D1", "inlineStr", "Striker"),
+				cell("E1", "inlineStr", "Non striker"), cell("F1", "inlineStr", "Bowler"), cell("G1", "inlineStr", "Runs"),
+				cell("H1", "inlineStr", "Extras"));
+		try {
+			read(sheet(header));
+			fail("A header without a batsman was taken");
+		} catch (IllegalArgumentException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("BATSMAN"));
+		}
+	}
+
+	@Test
+	public void readsColumnsInScoreFileOrderWithoutAHeader() throws Exception {
+		String line = "2,19.6,Kolkata Knight Riders,Royal Challengers BLR,BB McCullum,SC Ganguly,P Kumar,6,0,,,";
+		String[] values = line.split(",");
+		String[] cells = new String[values.length];
+		for(int i = 0; i < values.length; i++) {
+			cells[i] = cell(null, "inlineStr", values[i]);
+		}
+
+		List<Score> scores = read(sheet(row(1, cells)));
+
+		assertEquals(1, scores.size());
+		assertEquals(Score.from(line).toString(), scores.get(0).toString());
+		assertEquals(2, scores.get(0).getInningsNumber());
+	}
+
+	/**
+	 * Compares the totals of both teams and every player's base points and, when the match can be
+	 * scored, its result.
+	 */
+	private static void assertSameResult(ScoreBoard expected, ScoreBoard actual) {
+		for(String team : new String[] { "Kolkata Knight Riders", "Royal Challengers BLR" }) {
+			assertEquals(team, expected.getTeamRuns(team), actual.getTeamRuns(team));
+			assertEquals(team, expected.getTeamBalls(team), actual.getTeamBalls(team));
+			assertEquals(team, expected.getTeamRunsGiven(team), actual.getTeamRunsGiven(team));
+			assertEquals(team, expected.getTeamBallsBowled(team), actual.getTeamBallsBowled(team));
+			assertEquals(team, expected.getTeamPlayers(team), actual.getTeamPlayers(team));
+			for(Player player : expected.getTeamPlayers(team)) {
+				assertEquals(player.name(), expected.getTeam(player), actual.getTeam(player));
+				assertEquals(player.name(), expected.calculateBaseBattingPoints(player), actual.calculateBaseBattingPoints(player));
+				assertEquals(player.name(), expected.calculateBaseBowlingPoints(player), actual.calculateBaseBowlingPoints(player));
+				assertEquals(player.name(), expected.calculateBaseFieldingPoints(player), actual.calculateBaseFieldingPoints(player));
+			}
+		}
+
+		assertEquals(expected.isScored(), actual.isScored());
+		if(!expected.isScored()) {
+			return;
+		}
+		MatchResult expectedResult = expected.getResult();
+		MatchResult result = actual.getResult();
+		assertEquals(expectedResult.getManOfMatch(), result.getManOfMatch());
+		assertEquals(expectedResult.getPlayers(), result.getPlayers());
+		for(Player player : expectedResult.getPlayers()) {
+			assertEquals(player.name(), expectedResult.getMatchPoints(player), result.getMatchPoints(player));
+			assertEquals(player.name(), expectedResult.getBasePoints(player), result.getBasePoints(player));
+			assertEquals(player.name(), expectedResult.getBonusPoints(player), result.getBonusPoints(player));
+		}
+	}
+
+	/**
+	 * The copy of the shipped workbook among the test resources, found the way scores.txt is.
+	 */
+	private static Path shippedWorkbook() throws Exception {
+		URL workbook = XlsxScoreReaderTest.class.getClassLoader().getResource("Man_of_The_Match_Data.xlsx");
+		assertNotNull("Man_of_The_Match_Data.xlsx is not on the class path", workbook);
+		return Paths.get(workbook.toURI());
+	}
+
+	private static List<Score> read(String sheet) throws Exception {
+		Path file = Files.createTempFile("scores", ".xlsx");
+		try {
+			try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+				entry(zip, "xl/workbook.xml", WORKBOOK);
+				entry(zip, "xl/_rels/workbook.xml.rels", RELATIONSHIPS);
+				entry(zip, "xl/strings.xml", SHARED_STRINGS);
+				entry(zip, "xl/worksheets/deliveries.xml", sheet);
+			}
+			try (Stream<Score> stream = XlsxScoreReader.stream(file)) {
+				return stream.collect(Collectors.toList());
+			}
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	private static void entry(ZipOutputStream zip, String name, String content) throws Exception {
+		zip.putNextEntry(new ZipEntry(name));
+		zip.write(content.getBytes(StandardCharsets.UTF_8));
+		zip.closeEntry();
+	}
+
+	private static String sheet(String... rows) {
+		return "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+				+ String.join("", rows) + "</sheetData></worksheet>";
+	}
+
+	private static String row(int number, String... cells) {
+		return "<row r=\"" + number + "\">" + String.join("", cells) + "</row>";
+	}
+
+	private static String cell(String reference, String type, String value) {
+		String attributes = (reference == null ? "" : " r=\"" + reference + "\"") + (type == null ? "" : " t=\"" + type + "\"");
+		if("inlineStr".equals(type)) {
+			return "<c" + attributes + "><is><t>" + value + "</t></is></c>";
+		}
+		return "<c" + attributes + "><v>" + value + "</v></c>";
+	}
+
+}
@@ -0,0 +1,194 @@
+package cricket.service;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Semaphore;
+
+import org.junit.Test;
+
+import cricket.PlayerRegistry;
+import cricket.score.ScoreBoard;
+import cricket.score.ScoreReader;
+
+public class ScoreServiceTest {
+
+	@Test
+	public void scoresAPostedMatch() throws Exception {
+		byte[] scores;
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("scores.txt")) {
+			scores = readAll(is);
+		}
+		String expected = ScoreService.toJson(new ScoreBoard(new ScoreReader("scores.txt").getScores()).getResult());
+
+		try (ScoreService service = start(2)) {
+			HttpURLConnection connection = post(service, scores);
+			assertEquals(200, connection.getResponseCode());
+			assertEquals("application/json; charset=utf-8", connection.getContentType());
+			String json = new String(readAll(connection.getInputStream()), StandardCharsets.UTF_8);
+			assertEquals(expected, json);
+			assertTrue(json, json.startsWith("{\"manOfMatch\":[\""));
+			assertTrue(json, json.contains("{\"name\":\"SC Ganguly\",\"matchPoints\":"));
+
+			assertEquals(200, post(service, scores).getResponseCode());
+		}
+	}
+
+	@Test
+	public void postedNamesAreNotRegistered() throws Exception {
+		String scores;
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("scores.txt")) {
+			scores = new String(readAll(is), StandardCharsets.UTF_8).replace("SC Ganguly", "Service Test Ganguly");
+		}
+		try (ScoreService service = start(1)) {
+			HttpURLConnection connection = post(service, scores.getBytes(StandardCharsets.UTF_8));
+			assertEquals(200, connection.getResponseCode());
+			String json = new String(readAll(connection.getInputStream()), StandardCharsets.UTF_8);
+			assertTrue(json, json.contains("{\"name\":\"Service Test Ganguly\",\"matchPoints\":"));
+			assertEquals(PlayerRegistry.NO_PLAYER, PlayerRegistry.find("Service Test Ganguly"));
+		}
+	}
+
+	@Test
+	public void rejectsBadRequests() throws Exception {
+		try (ScoreService service = start(2)) {
+			HttpURLConnection bad = post(service, "1,x,KKR\n".getBytes(StandardCharsets.UTF_8));
+			assertEquals(400, bad.getResponseCode());
+			assertTrue(new String(readAll(bad.getErrorStream()), StandardCharsets.UTF_8).startsWith("{\"error\":"));
+
+			HttpURLConnection undefined = post(service,
+					"1,0.1,KKR,RCB,BB McCullum,SC Ganguly,P Kumar,4,0,,,\n".getBytes(StandardCharsets.UTF_8));
+			assertEquals(422, undefined.getResponseCode());
+
+			HttpURLConnection get = (HttpURLConnection) url(service).openConnection();
+			assertEquals(405, get.getResponseCode());
+		}
+	}
+
+	@Test
+	public void rejectsBodiesOverTheLimitAndOtherPaths() throws Exception {
+		try (ScoreService service = new ScoreService(new InetSocketAddress("localhost", 0), 1, 16, 10_000)) {
+			service.start();
+			HttpURLConnection large = post(service, new byte[17]);
+			assertEquals(413, large.getResponseCode());
+
+			HttpURLConnection chunked = (HttpURLConnection) url(service).openConnection();
+			chunked.setRequestMethod("POST");
+			chunked.setDoOutput(true);
+			chunked.setChunkedStreamingMode(4);
+			try (OutputStream os = chunked.getOutputStream()) {
+				os.write(new byte[64]);
+			}
+			assertEquals(413, chunked.getResponseCode());
+
+			URL other = URI.create("http://localhost:" + service.getPort() + ScoreService.MATCHES_PATH + "XYZ").toURL();
+			HttpURLConnection notFound = (HttpURLConnection) other.openConnection();
+			assertEquals(404, notFound.getResponseCode());
+		}
+	}
+
+	@Test
+	public void turnsAwayRequestsWhenSaturated() throws Exception {
+		byte[] scores;
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("scores.txt")) {
+			scores = readAll(is);
+		}
+		Semaphore permits = new Semaphore(1);
+		try (ScoreService service = new ScoreService(new InetSocketAddress("localhost", 0), permits,
+				ScoreService.DEFAULT_MAX_BODY_BYTES, ScoreService.DEFAULT_READ_TIMEOUT_MILLIS)) {
+			service.start();
+
+			// Stands in for a match being scored.
+			permits.acquire();
+			HttpURLConnection turnedAway = post(service, scores);
+			assertEquals(429, turnedAway.getResponseCode());
+			assertEquals("1", turnedAway.getHeaderField("Retry-After"));
+
+			permits.release();
+			assertEquals(200, post(service, scores).getResponseCode());
+			// The permit is given back just after the response is sent.
+			for(int wait = 0; permits.availablePermits() == 0 && wait < 50; wait++) {
+				Thread.sleep(20);
+			}
+			assertEquals(1, permits.availablePermits());
+		}
+	}
+
+	@Test
+	public void aSlowBodyHoldsNoPermitAndIsCutOff() throws Exception {
+		byte[] scores;
+		try (InputStream is = getClass().getClassLoader().getResourceAsStream("scores.txt")) {
+			scores = readAll(is);
+		}
+		try (ScoreService service = new ScoreService(new InetSocketAddress("localhost", 0), 1,
+				ScoreService.DEFAULT_MAX_BODY_BYTES, 300);
+				Socket slow = new Socket("localhost", service.getPort())) {
+			service.start();
+			slow.setSoTimeout(5_000);
+			OutputStream body = slow.getOutputStream();
+			body.write(("POST " + ScoreService.MATCHES_PATH + " HTTP/1.1\r\nHost: localhost\r\nContent-Length: "
+					+ scores.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			body.write(scores, 0, 10);
+			body.flush();
+
+			// The only permit is still free while the slow body trickles in.
+			assertEquals(200, post(service, scores).getResponseCode());
+
+			try {
+				assertEquals(-1, slow.getInputStream().read());
+			} catch (SocketException e) {
+				// Reset by the service, which is as good as closed.
+			}
+		}
+	}
+
+	@Test
+	public void turnsEveryRequestAwayWithoutPermits() throws Exception {
+		try (ScoreService service = start(0)) {
+			HttpURLConnection connection = post(service, new byte[0]);
+			assertEquals(429, connection.getResponseCode());
+			assertEquals("1", connection.getHeaderField("Retry-After"));
+		}
+	}
+
+	private static ScoreService start(int maxConcurrent) throws Exception {
+		ScoreService service = new ScoreService(new InetSocketAddress("localhost", 0), maxConcurrent);
+		service.start();
+		return service;
+	}
+
+	private static URL url(ScoreService service) throws Exception {
+		return URI.create("http://localhost:" + service.getPort() + ScoreService.MATCHES_PATH).toURL();
+	}
+
+	private static HttpURLConnection post(ScoreService service, byte[] body) throws Exception {
+		HttpURLConnection connection = (HttpURLConnection) url(service).openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream os = connection.getOutputStream()) {
+			os.write(body);
+		}
+		return connection;
+	}
+
+	private static byte[] readAll(InputStream is) throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[4096];
+		int n;
+		while((n = is.read(buffer)) != -1) {
+			out.write(buffer, 0, n);
+		}
+		is.close();
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,45 @@
+package cricket.score;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The reductions of {@link AggregationKernel} on the incubating Vector API, a lane per delivery with
+ * the key comparison as the mask. Loaded by {@link AggregationKernel#best()} only; compile with
+ * {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorAggregationKernel implements AggregationKernel {
+
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	// Lane sums are moved into a long before they can overflow: BLOCK values of at most MAX_VALUE each fit an int.
+	private static final int BLOCK = Integer.MAX_VALUE / MAX_VALUE;
+
+	@Override
+	public long sumWhere(int[] keys, int key, int[] values, int length) {
+		long sum = 0;
+		int bound = SPECIES.loopBound(length);
+		int i = 0;
+		while(i < bound) {
+			int blockEnd = Math.min(bound, i + BLOCK * SPECIES.length());
+			IntVector lanes = IntVector.zero(SPECIES);
+			for(; i < blockEnd; i += SPECIES.length()) {
+				VectorMask<Integer> match = IntVector.fromArray(SPECIES, keys, i).compare(VectorOperators.EQ, key);
+				lanes = lanes.add(IntVector.fromArray(SPECIES, values, i), match);
+			}
+			sum += lanes.reduceLanesToLong(VectorOperators.ADD);
+		}
+		for(; i < length; i++) {
+			sum += keys[i] == key ? values[i] : 0;
+		}
+		return sum;
+	}
+
+	@Override
+	public String toString() {
+		return "vector " + SPECIES;
+	}
+
+}
@@ -0,0 +1,17 @@
+#!/bin/sh
+# Runs the aggregation tests on the kernel in this source root, which needs JDK 16 or later.
+#
+#   JUNIT=/path/to/junit-4.13.2.jar:/path/to/hamcrest-core-1.3.jar vector/test.sh
+#
+# -Dcricket.vector=true makes the tests fail, rather than quietly use the scalar loops, if the kernel
+# does not load.
+set -e
+cd "$(dirname "$0")/.."
+: "${JUNIT:?set JUNIT to the JUnit 4 and Hamcrest jars}"
+OUT="${OUT:-$(mktemp -d)}"
+rm -rf "$OUT" && mkdir -p "$OUT/main" "$OUT/vector" "$OUT/test"
+javac -nowarn -d "$OUT/main" $(find src -name '*.java')
+javac -nowarn --add-modules jdk.incubator.vector -cp "$OUT/main" -d "$OUT/vector" $(find vector -name '*.java')
+javac -nowarn -cp "$OUT/main:$JUNIT" -d "$OUT/test" $(find test -name '*.java')
+java --add-modules jdk.incubator.vector -Dcricket.vector=true -cp "$OUT/main:$OUT/vector:$OUT/test:$JUNIT" \
+	org.junit.runner.JUnitCore cricket.score.DeliveryAggregatesTest